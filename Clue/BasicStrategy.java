@@ -0,0 +1,159 @@
+/**
+ * This class is the computer's normal way of playing. It moves to a random reachable room that might still be the murder room (or toward the
+ * nearest one, if no roll could reach one), guesses a random
+ * person and weapon that might still be in the envelope (picked by how likely each one is, if the accusation threshold is below 1.0), and accuses
+ * once it knows the envelope (or once its most likely solution is at least as likely as the accusation threshold).
+ * It keeps nothing between calls, so one BasicStrategy can be shared by every seat of every game.
+ * @author Maddie Moyer
+ */
+public class BasicStrategy implements ComputerStrategy {
+
+	public static final BasicStrategy INSTANCE = new BasicStrategy();
+
+
+	//Methods
+
+	/**
+	 * Move to a random room within the dice roll distance that the seat does not already know is not the murder room.
+	 * If every room it can reach is ruled out, it stays where it is and waits for a better roll, as long as some roll could reach a room that is not.
+	 * If not even the highest roll could, it heads for the nearest one instead: it moves to the reachable room with the fewest expected turns
+	 * (see Board.getExpectedTurns) left to get to one of them. (On a board where some rooms are far apart, staying put could leave a seat stuck
+	 * for the rest of the game. On the normal board every room is within one roll of every other, so this never comes up.)
+	 * @param engine the engine running the game
+	 * @param seat the seat that is moving
+	 * @param diceRoll the number of spaces the seat can move
+	 * @return the index of the room to move to
+	 */
+	@Override
+	public int chooseRoom(ClueEngine engine, int seat, int diceRoll) {
+		GameData gameData = engine.getGameData();
+		int currentIdx = gameData.getRegistry().roomIndex(gameData.getLocation(seat));
+		//The rooms within reach (looked up in the board's table) that might still be the murder room
+		Board board = engine.getBoard();
+		long possibleRooms = engine.getKnowledge(seat).possibleEnvelopeRooms();
+		long moveToRooms = board.getReachableRooms(currentIdx, diceRoll) & possibleRooms;
+		if(moveToRooms == 0) { //Nothing new to learn within reach
+			if((board.getReachableRooms(currentIdx, Board.MAX_ROLL) & possibleRooms) != 0) {
+				return currentIdx; //A better roll could still get there, so stay
+			}
+			return closestToUnresolved(engine, seat, currentIdx, diceRoll); //No roll gets there from here, so get closer
+		}
+		int pick = gameData.getRandom().nextInt(Long.bitCount(moveToRooms)); //Pick one of them at random
+		return GameCard.nthBit(moveToRooms, pick);
+	}
+
+
+	/**
+	 * Find the reachable room that is the fewest expected turns away from a room that might still be the murder room.
+	 * @param engine the engine running the game
+	 * @param seat the seat that is moving
+	 * @param currentIdx the index of the room the seat is in
+	 * @param diceRoll the number of spaces the seat can move
+	 * @return the index of the room to move to (currentIdx if no reachable room is any closer)
+	 */
+	private static int closestToUnresolved(ClueEngine engine, int seat, int currentIdx, int diceRoll) {
+		Board board = engine.getBoard();
+		long targets = engine.getKnowledge(seat).possibleEnvelopeRooms();
+		long reachable = board.getReachableRooms(currentIdx, diceRoll) & ~(1L << currentIdx);
+		int best = currentIdx;
+		double bestTurns = turnsToNearest(board, currentIdx, targets);
+		for(long rooms = reachable; rooms != 0; rooms &= rooms - 1) {
+			int roomIdx = Long.numberOfTrailingZeros(rooms);
+			double turns = turnsToNearest(board, roomIdx, targets);
+			if(turns < bestTurns) {
+				best = roomIdx;
+				bestTurns = turns;
+			}
+		}
+		return best;
+	}
+
+
+	/**
+	 * @param board the board being played on
+	 * @param fromIdx the index of a room
+	 * @param targets room indices as bits
+	 * @return the expected number of turns from the room to the nearest of the targets
+	 */
+	private static double turnsToNearest(Board board, int fromIdx, long targets) {
+		double nearest = Double.POSITIVE_INFINITY;
+		for(long rooms = targets; rooms != 0; rooms &= rooms - 1) {
+			nearest = Math.min(nearest, board.getExpectedTurns(fromIdx, Long.numberOfTrailingZeros(rooms)));
+		}
+		return nearest;
+	}
+
+
+	/**
+	 * Guess a random person and a random weapon that might still be in the envelope.
+	 * @param engine the engine running the game
+	 * @param seat the seat that is guessing
+	 * @return {person index, weapon index}
+	 */
+	@Override
+	public int[] chooseGuess(ClueEngine engine, int seat) {
+		GameData gameData = engine.getGameData();
+		KnowledgeMatrix knowledge = engine.getKnowledge(seat);
+		CardSet envelope = knowledge.getPossible(knowledge.getEnvelope());
+		int firstWeapon = gameData.getPeople().length;
+		SolutionProbabilities odds = (engine.getAccusationThreshold() < 1.0) ? engine.probabilitiesFor(seat) : null;
+		if(odds != null) { //Pick the person and weapon by how likely each one is to be in the envelope
+			return new int[] {pickByProbability(gameData, odds, envelope, 0, firstWeapon),
+					pickByProbability(gameData, odds, envelope, firstWeapon, firstWeapon + gameData.getWeapons().length) - firstWeapon};
+		}
+		int personIdx = envelope.nthCard(0, gameData.getRandom().nextInt(knowledge.possibleEnvelopePeopleCount())); //A random person that might be the murderer
+		int weaponIdx = envelope.nthCard(firstWeapon, gameData.getRandom().nextInt(knowledge.possibleEnvelopeWeaponCount())) - firstWeapon; //A random weapon that might be the murder weapon
+		return new int[] {personIdx, weaponIdx};
+	}
+
+
+	/**
+	 * Accuse once the envelope is known. This only checks a count, so it is cheap to call every turn. If the accusation threshold is below 1.0,
+	 * also accuse as soon as the most likely solution is at least that likely (when the probabilities are exact).
+	 * @param engine the engine running the game
+	 * @param seat the seat that is deciding
+	 * @return the accusation {Person, Weapon, Room}, or null to not accuse yet
+	 */
+	@Override
+	public String[] chooseAccusation(ClueEngine engine, int seat) {
+		if(engine.getKnowledge(seat).isEnvelopeSolved()) {
+			return engine.isReadyToAccuse(seat);
+		}
+		if(engine.getAccusationThreshold() >= 1.0) {
+			return null;
+		}
+		SolutionProbabilities odds = engine.probabilitiesFor(seat);
+		if(odds == null || !odds.isExact() || odds.getMostLikelyProbability() < engine.getAccusationThreshold()) {
+			return null; //Too unlikely, or only approximate (a wrong accusation loses the game, so it waits to be sure of the odds)
+		}
+		return odds.getMostLikelySolution(); //Not certain, but likely enough to take the chance
+	}
+
+
+	/**
+	 * Pick a random card from a category, where each card's chance of being picked is its chance of being in the envelope.
+	 * @param gameData the game, for its random numbers
+	 * @param odds the solution probabilities
+	 * @param candidates the cards that might be in the envelope
+	 * @param fromId the card ID of the first card in the category
+	 * @param toId one past the card ID of the last card in the category
+	 * @return the ID of the card that was picked
+	 */
+	private static int pickByProbability(GameData gameData, SolutionProbabilities odds, CardSet candidates, int fromId, int toId) {
+		double total = 0;
+		for(int id = candidates.nextCard(fromId); id != -1 && id < toId; id = candidates.nextCard(id + 1)) {
+			total += odds.getCardProbability(id);
+		}
+		double target = gameData.getRandom().nextDouble() * total;
+		int last = candidates.nextCard(fromId);
+		for(int id = last; id != -1 && id < toId; id = candidates.nextCard(id + 1)) {
+			last = id;
+			target -= odds.getCardProbability(id);
+			if(target < 0) {
+				break;
+			}
+		}
+		return last;
+	}
+
+}
@@ -1,133 +1,241 @@
+import java.io.PrintStream;
+import java.util.HashMap;
+
 /**
- * This class sets up the board for the game Clue. It sets the distances between each room on the Clue board.
+ * This class sets up the board for the game Clue. The board is a graph: rooms are joined by corridors of some length, and some rooms are
+ * joined by secret passages (length 0). The corridors come from a GameDefinition (the classic board is GameDefinition.classic()), which works out
+ * the shortest path between every pair of rooms once with shortestPaths (Floyd-Warshall). The board keeps them in one flat array, so looking a
+ * distance up is a single array read.
+ * It also works out, for every pair of rooms, how many turns it takes on average to get from one to the other when each turn's move is a roll
+ * of two dice (see getExpectedTurns), so a computer can plan a few turns ahead.
+ * Nothing changes after the board is set up, so one Board can be shared by many games at the same time.
  * @author Maddie Moyer
  */
 public class Board {
 
-	private Room[] rooms;
-    private int[][] distances;
+	public static final int MAX_ROLL = 12; //The highest number two six-sided dice can roll
+	public static final int MAX_ROOMS = 64; //The rooms a move can reach are kept as the bits of a long
+	public static final int NO_PATH = Integer.MAX_VALUE / 2; //The distance between two rooms with no corridor between them (half of MAX_VALUE so adding two never overflows)
+	private static final double[] ROLL_CHANCE = new double[MAX_ROLL + 1]; //The chance of rolling each total with two dice (1/36 for 2, up to 6/36 for 7)
+	private static final double CONVERGED = 1e-9; //Expected turns are worked out again until no value changes by more than this
+
+	static {
+		for (int roll = 2; roll <= MAX_ROLL; roll++) {
+			ROLL_CHANCE[roll] = (6 - Math.abs(roll - 7)) / 36.0;
+		}
+	}
+
+	private final Room[] rooms;
+    private final int[] distances; //The distance from room i to room j is at i * rooms.length + j
+    private final HashMap<String, Integer> roomIndexes; //The index of each room in the rooms array, looked up by name
+    private final long[] reachableRooms; //For each room and dice roll, the rooms that can be reached as bits (bit j is room j). Index is room * (MAX_ROLL + 1) + roll.
+    private final double[] expectedTurns; //The expected number of turns from room i to room j at i * rooms.length + j
 
     
     /**
-     * Constructor
-     * @param rooms An array containing the rooms on the Clue board
+     * Constructor. Sets up the board of a game definition (GameDefinition.classic() for the classic Clue board).
+     * @param definition the game definition with the rooms and the distances between them
      */
-    public Board(Room[] rooms) {
-        this.rooms = rooms;
-        this.distances = new int[rooms.length][rooms.length];
-        setupDistancesCourtyard();
-        setupDistancesGarageAndGameRoom();
-        setupDistancesRemaining();
+    public Board(GameDefinition definition) {
+        this.rooms = definition.getRooms();
+        this.distances = new int[rooms.length * rooms.length];
+        this.roomIndexes = new HashMap<String, Integer>();
+        for (int i = 0; i < rooms.length; i++) {
+        	roomIndexes.put(rooms[i].getName(), i);
+        }
+        for (int i = 0; i < rooms.length; i++) { //A definition's distances are already shortest paths
+            for (int j = 0; j < rooms.length; j++) {
+                distances[i * rooms.length + j] = definition.getDistance(i, j);
+            }
+        }
+        this.reachableRooms = new long[rooms.length * (MAX_ROLL + 1)];
+        setupReachableRooms();
+        this.expectedTurns = new double[rooms.length * rooms.length];
+        setupExpectedTurns();
     }
 
-    
+
     /**
-     * Sets the distances between the Courtyard and all of the other rooms on the Clue board.
+     * Constructor for boards that work out their own distances (for example, TileBoard).
+     * @param rooms An array containing the rooms on the board
+     * @param distances the shortest distance from room i to room j at i * rooms.length + j. It is copied.
      */
-    private void setupDistancesCourtyard() {
-        // How far each room is from each other (how many spaces)
-        setDistance("Courtyard", "Garage", 5); //The courtyard is 5 spaces from the garage
-        setDistance("Courtyard", "Game Room", 6);
-        setDistance("Courtyard", "Bedroom", 10);
-        setDistance("Courtyard", "Bathroom", 9);
-        setDistance("Courtyard", "Office", 8);
-        setDistance("Courtyard", "Kitchen", 8);
-        setDistance("Courtyard", "Dining Room", 6);
-        setDistance("Courtyard", "Living Room", 5);
+    protected Board(Room[] rooms, int[] distances) {
+        this.rooms = rooms;
+        this.distances = distances.clone();
+        this.roomIndexes = new HashMap<String, Integer>();
+        for (int i = 0; i < rooms.length; i++) {
+        	roomIndexes.put(rooms[i].getName(), i);
+        }
+        this.reachableRooms = new long[rooms.length * (MAX_ROLL + 1)];
+        setupReachableRooms();
+        this.expectedTurns = new double[rooms.length * rooms.length];
+        setupExpectedTurns();
     }
-    
+
     
     /**
-     * Sets the distances between the Garage and all other rooms as well as the Game Room and all other rooms.
+     * Replace the corridor lengths with the length of the shortest path between every pair of rooms (Floyd-Warshall).
+     * Going through room k is tried for every pair, for every k, so this takes rooms^3 steps, but it is only done once per board.
+     * @param distances the corridor length from room i to room j at i * rooms + j (NO_PATH if there is no corridor). Changed in place.
+     * @param rooms the number of rooms
+     * @throws IllegalArgumentException if some room cannot be reached from another
      */
-    private void setupDistancesGarageAndGameRoom() {
-    	setDistance("Garage", "Game Room", 4);
-        setDistance("Garage", "Bedroom", 9);
-        setDistance("Garage", "Bathroom", 9);
-        setDistance("Garage", "Office", 9);
-        setDistance("Garage", "Kitchen", 0);
-        setDistance("Garage", "Dining Room", 9);
-        setDistance("Garage", "Living Room", 9);
-        
-        setDistance("Game Room", "Bedroom", 7);
-        setDistance("Game Room", "Bathroom", 7);
-        setDistance("Game Room", "Office", 7);
-        setDistance("Game Room", "Kitchen", 10);
-        setDistance("Game Room", "Dining Room", 6);
-        setDistance("Game Room", "Living Room", 9);       
+    public static void shortestPaths(int[] distances, int rooms) {
+        for (int i = 0; i < rooms; i++) {
+            distances[i * rooms + i] = 0; //Every room is 0 spaces from itself
+        }
+        for (int k = 0; k < rooms; k++) {
+            for (int i = 0; i < rooms; i++) {
+                int throughK = distances[i * rooms + k];
+                if (throughK == NO_PATH) {
+                    continue;
+                }
+                for (int j = 0; j < rooms; j++) {
+                    int distance = throughK + distances[k * rooms + j];
+                    if (distance < distances[i * rooms + j]) {
+                        distances[i * rooms + j] = distance;
+                    }
+                }
+            }
+        }
+        for (int distance : distances) {
+            if (distance >= NO_PATH) {
+                throw new IllegalArgumentException("Every room needs a path to every other room");
+            }
+        }
     }
-    
-    
+
+
     /**
-     * Sets the distances between the rest of the rooms on the Clue board.
+     * Works out, for every room and every dice roll from 0 to MAX_ROLL, which rooms can be reached. The board never changes,
+     * so this is only done once and moving only has to look the answer up.
      */
-    private void setupDistancesRemaining() {
-    	setDistance("Bedroom", "Bathroom", 4);
-        setDistance("Bedroom", "Office", 5);
-        setDistance("Bedroom", "Kitchen", 9);
-        setDistance("Bedroom", "Dining Room", 8);
-        setDistance("Bedroom", "Living Room", 0);
-        
-        setDistance("Bathroom", "Office", 3);
-        setDistance("Bathroom", "Kitchen", 8);
-        setDistance("Bathroom", "Dining Room", 7);
-        setDistance("Bathroom", "Living Room", 10);
-        
-        setDistance("Office", "Kitchen", 7);
-        setDistance("Office", "Dining Room", 6);
-        setDistance("Office", "Living Room", 9);
-        
-        setDistance("Kitchen", "Dining Room", 4);
-        setDistance("Kitchen", "Living Room", 7);
-        
-        setDistance("Dining Room", "Living Room", 5);
+    private void setupReachableRooms() {
+    	for (int i = 0; i < rooms.length; i++) {
+    		for (int roll = 0; roll <= MAX_ROLL; roll++) {
+    			long reachable = 1L << i; //You can always stay in the room you are in
+    			for (int j = 0; j < rooms.length; j++) {
+    				if (distances[i * rooms.length + j] <= roll) {
+    					reachable |= 1L << j;
+    				}
+    			}
+    			reachableRooms[i * (MAX_ROLL + 1) + roll] = reachable;
+    		}
+    	}
     }
-
+    
     
     /**
-     * Takes in two rooms and the distance between them and adds that information to an integer array (distances).
-     * @param roomA A String representing a room
-     * @param roomB A String representing another room
-     * @param dist The distance (number of spaces) between roomA and roomB
+     * Works out the expected number of turns to get from every room to every other room, moving as well as possible each turn after seeing the roll
+     * (value iteration). For a target room, a turn from room i costs 1 plus, for each roll, that roll's chance times the smallest expected turns
+     * left among the rooms the roll reaches. That is worked out for every room again and again until nothing changes.
+     * Rooms that can never reach the target (every way out is longer than MAX_ROLL) get Double.POSITIVE_INFINITY.
      */
-    private void setDistance(String roomA, String roomB, int dist) {
-    	//Set the distance between two rooms
-    	try {
-    		int i = getIndex(roomA); //The index of roomA in the rooms array (created in GameData.java)
-    		int j = getIndex(roomB); //The index of roomB in the rooms array
-    		distances[i][j] = dist; //Put the distance between two rooms at the row of roomA's index and the column of roomB's index. Easier to access later this way.
-    		distances[j][i] = dist;
-    	}catch(Exception e) {
-    		System.out.println("At least of your two inputted rooms is not in the rooms array. Try again with a room that is in the array. ");
-    	}
-        
+    private void setupExpectedTurns() {
+        int n = rooms.length;
+        double[] turns = new double[n];
+        for (int target = 0; target < n; target++) {
+            //The rooms that can reach the target at all, found by going backwards from it one turn at a time
+            long canReach = 1L << target;
+            boolean grew = true;
+            while (grew) {
+                grew = false;
+                for (int i = 0; i < n; i++) {
+                    if ((canReach & (1L << i)) == 0 && (getReachableRooms(i, MAX_ROLL) & canReach) != 0) {
+                        canReach |= 1L << i;
+                        grew = true;
+                    }
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                turns[i] = ((canReach & (1L << i)) != 0) ? 0 : Double.POSITIVE_INFINITY;
+            }
+            double change = Double.POSITIVE_INFINITY;
+            while (change > CONVERGED) {
+                change = 0;
+                for (int i = 0; i < n; i++) {
+                    if (i == target || (canReach & (1L << i)) == 0) {
+                        continue;
+                    }
+                    double expected = 1;
+                    for (int roll = 2; roll <= MAX_ROLL; roll++) {
+                        double best = Double.POSITIVE_INFINITY;
+                        for (long bits = getReachableRooms(i, roll); bits != 0; bits &= bits - 1) {
+                            best = Math.min(best, turns[Long.numberOfTrailingZeros(bits)]);
+                        }
+                        expected += ROLL_CHANCE[roll] * best;
+                    }
+                    change = Math.max(change, Math.abs(expected - turns[i]));
+                    turns[i] = expected; //Using the new value right away (Gauss-Seidel) makes it settle faster
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                expectedTurns[i * n + target] = turns[i];
+            }
+        }
     }
-
+    
     
     /**
-     * This method finds the index in the rooms array (created in GameData.java) of a specific room. It is used to set distances in the distances array.
+     * This method finds the index in the rooms array (created in GameData.java) of a specific room. It is used to look distances up by name.
      * @param roomName The name of a room on the Clue game board.
      * @return the index of the room in the rooms array
      */
-    private int getIndex(String roomName) {
-    	for(int i = 0; i < rooms.length; i++) { //Cycle through the rooms in the rooms array
-            if(rooms[i].getName().equals(roomName)) {
-            	return i;
-            }
-        }
-        return -1; //If the inputted room is not one of the rooms, it doesn't have an index, so return -1
+    public int getIndex(String roomName) {
+    	Integer index = roomIndexes.get(roomName);
+    	if(index == null) {
+    		return -1; //If the inputted room is not one of the rooms, it doesn't have an index, so return -1
+    	}
+    	return index;
     }
     
     
     /**
-     * This method gives you the distance (set in the setDistance method) between two rooms on the Clue board.
+     * This method gives you the shortest distance (worked out from the corridors and secret passages) between two rooms on the Clue board.
      * @param roomA A String representing a room
      * @param roomB A String representing another room
      * @return the distance (number of spaces on the board) between roomA and roomB.
      */
     public int getDistance(String roomA, String roomB) {
     	//Get the distance between two rooms
-        return distances[getIndex(roomA)][getIndex(roomB)];
+        return distances[getIndex(roomA) * rooms.length + getIndex(roomB)];
+    }
+    
+    
+    /**
+     * This method gives you the distance between two rooms using their indexes in the rooms array, so no Strings have to be compared.
+     * @param roomA the index of a room in the rooms array
+     * @param roomB the index of another room in the rooms array
+     * @return the distance (number of spaces on the board) between roomA and roomB.
+     */
+    public int getDistance(int roomA, int roomB) {
+        return distances[roomA * rooms.length + roomB];
+    }
+
+    
+    /**
+     * This method gives you every room that can be reached from a room with a dice roll (including staying in the same room).
+     * It is looked up in a table made when the board was set up, so nothing is calculated or created.
+     * @param roomIdx the index of the room you are in
+     * @param diceRoll the number of spaces you can move. Rolls above MAX_ROLL are treated as MAX_ROLL.
+     * @return the reachable rooms as bits, where bit j is 1 if the room at index j in the rooms array can be reached
+     */
+    public long getReachableRooms(int roomIdx, int diceRoll) {
+    	int roll = Math.max(0, Math.min(diceRoll, MAX_ROLL));
+    	return reachableRooms[roomIdx * (MAX_ROLL + 1) + roll];
+    }
+
+    
+    /**
+     * This method gives you the expected number of turns to get from one room to another, if every turn you roll two dice and move to the
+     * reachable room that leaves the fewest turns to go. It is looked up in a table made when the board was set up.
+     * @param fromIdx the index of the room you are in
+     * @param toIdx the index of the room you want to get to
+     * @return the expected number of turns (0 if the rooms are the same, Double.POSITIVE_INFINITY if it can never be reached)
+     */
+    public double getExpectedTurns(int fromIdx, int toIdx) {
+        return expectedTurns[fromIdx * rooms.length + toIdx];
     }
 
     
@@ -136,12 +244,22 @@ public class Board {
      * @param room A String representing a room name. You want to find the distances between this room and all other rooms.
      */
     public void printDistancesFrom(String room) {
+    	printDistancesFrom(room, System.out);
+    }
+
+
+    /**
+     * Prints out the distances from a room to every other room on the board to a stream (for example, a network client's connection).
+     * @param room A String representing a room name. You want to find the distances between this room and all other rooms.
+     * @param out where to print
+     */
+    public void printDistancesFrom(String room, PrintStream out) {
     	//Input a room and print out how far every other room is from that room
         int index = getIndex(room);
-        System.out.println("Room distances from " + room + ":");
+        out.println("Room distances from " + room + ":");
         for (int j = 0; j < rooms.length; j++) {
             if (j != index) {
-                System.out.println("- " + rooms[j] + ": " + distances[index][j]);
+                out.println("- " + rooms[j] + ": " + distances[index * rooms.length + j]);
             }
         }
     }
@@ -0,0 +1,196 @@
+import java.util.HashMap;
+
+/**
+ * This class gives every person, weapon, and room in Clue a card number (ID). The people come first, then the weapons, then the rooms,
+ * so the IDs (0 to 20 in classic Clue) match the rows of a game card. A name can be turned into its ID with one HashMap lookup.
+ * A CardRegistry never changes after it is built, so one registry is shared by every game.
+ * @author Maddie Moyer
+ */
+public class CardRegistry {
+
+	private final Person[] people;
+	private final Weapon[] weapons;
+	private final Room[] rooms;
+	private final String[] names; //The name of each card, indexed by ID
+	private final HashMap<String, Integer> ids; //The ID of each card, looked up by name
+
+
+	/**
+	 * Constructor
+	 * @param people all of the people in the game
+	 * @param weapons all of the weapons in the game
+	 * @param rooms all of the rooms in the game
+	 */
+	public CardRegistry(Person[] people, Weapon[] weapons, Room[] rooms) {
+		this.people = people;
+		this.weapons = weapons;
+		this.rooms = rooms;
+		this.names = new String[people.length + weapons.length + rooms.length];
+		this.ids = new HashMap<String, Integer>();
+
+		int id = 0;
+		for(Person person : people) {
+			addCard(id, person.getName());
+			id++;
+		}
+		for(Weapon weapon : weapons) {
+			addCard(id, weapon.getName());
+			id++;
+		}
+		for(Room room : rooms) {
+			addCard(id, room.getName());
+			id++;
+		}
+	}
+
+
+	/**
+	 * Add a card's name to the lookup tables.
+	 * @param id the ID of the card
+	 * @param name the name of the card
+	 */
+	private void addCard(int id, String name) {
+		names[id] = name;
+		ids.put(name, id);
+	}
+
+
+	//Getters
+
+	/**
+	 * @return the people. This array is shared, so do not change it.
+	 */
+	public Person[] getPeople() {
+		return people;
+	}
+
+	/**
+	 * @return the weapons. This array is shared, so do not change it.
+	 */
+	public Weapon[] getWeapons() {
+		return weapons;
+	}
+
+	/**
+	 * @return the rooms. This array is shared, so do not change it.
+	 */
+	public Room[] getRooms() {
+		return rooms;
+	}
+
+	/**
+	 * @return the total number of cards (people + weapons + rooms)
+	 */
+	public int getCardCount() {
+		return names.length;
+	}
+
+
+	//Methods
+
+	/**
+	 * @param name the name of a person, weapon, or room
+	 * @return the ID of the card with that name, or -1 if there is no card with that name
+	 */
+	public int idOf(String name) {
+		Integer id = ids.get(name);
+		if(id == null) {
+			return -1;
+		}
+		return id;
+	}
+
+	/**
+	 * @param id the ID of a card
+	 * @return the name of the card
+	 */
+	public String nameOf(int id) {
+		return names[id];
+	}
+
+	/**
+	 * @param personIdx the index of a person in the people array
+	 * @return the ID of that person
+	 */
+	public int personId(int personIdx) {
+		return personIdx;
+	}
+
+	/**
+	 * @param weaponIdx the index of a weapon in the weapons array
+	 * @return the ID of that weapon
+	 */
+	public int weaponId(int weaponIdx) {
+		return people.length + weaponIdx;
+	}
+
+	/**
+	 * @param roomIdx the index of a room in the rooms array
+	 * @return the ID of that room
+	 */
+	public int roomId(int roomIdx) {
+		return people.length + weapons.length + roomIdx;
+	}
+
+	/**
+	 * @param id the ID of a card
+	 * @return true if the card is a person
+	 */
+	public boolean isPerson(int id) {
+		return id >= 0 && id < people.length;
+	}
+
+	/**
+	 * @param id the ID of a card
+	 * @return true if the card is a weapon
+	 */
+	public boolean isWeapon(int id) {
+		return id >= people.length && id < people.length + weapons.length;
+	}
+
+	/**
+	 * @param id the ID of a card
+	 * @return true if the card is a room
+	 */
+	public boolean isRoom(int id) {
+		return id >= people.length + weapons.length && id < names.length;
+	}
+
+	/**
+	 * @param roomName the name of a room
+	 * @return the index of the room in the rooms array, or -1 if there is no room with that name
+	 */
+	public int roomIndex(String roomName) {
+		int id = idOf(roomName);
+		if(!isRoom(id)) {
+			return -1;
+		}
+		return id - people.length - weapons.length;
+	}
+
+	/**
+	 * @param room a room
+	 * @return the index of the room in the rooms array, or -1 if it is not one of the rooms. A room that knows its index and is
+	 * at that index here is answered without looking up its name, since this is called every time a seat moves.
+	 */
+	public int roomIndex(Room room) {
+		int roomIdx = room.getIndex();
+		if(roomIdx >= 0 && roomIdx < rooms.length && rooms[roomIdx] == room) {
+			return roomIdx;
+		}
+		return roomIndex(room.getName());
+	}
+
+	/**
+	 * @param roomName the name of a room
+	 * @return the Room with that name, or null if there is no room with that name
+	 */
+	public Room findRoom(String roomName) {
+		int roomIdx = roomIndex(roomName);
+		if(roomIdx == -1) {
+			return null;
+		}
+		return rooms[roomIdx];
+	}
+
+}
@@ -0,0 +1,414 @@
+/**
+ * This class is a set of cards kept as bits, where bit i is 1 if the card with ID i (see CardRegistry) is in the set. The bits are split over
+ * as many longs as the deck needs (64 cards to a long), so a deck can have any number of cards, and adding, removing, or checking a card
+ * never loops. Counting the cards, or putting two sets together, goes through one long per 64 cards.
+ * Hands, game cards, guesses, and what each seat knows are all kept as CardSets. A CardSet can be changed, so methods that hand out one
+ * they keep say so.
+ * @author Maddie Moyer
+ */
+public class CardSet {
+
+	private final int cardCount; //The number of cards in the deck (IDs 0 to cardCount - 1)
+	private final long[] words; //Card i is bit i % 64 of words[i / 64]
+	private final long lastWordMask; //The bits of the last long that are cards of the deck
+
+
+	/**
+	 * Constructor. Makes an empty set.
+	 * @param cardCount the number of cards in the deck
+	 */
+	public CardSet(int cardCount) {
+		this.cardCount = cardCount;
+		this.words = new long[wordsFor(cardCount)];
+		this.lastWordMask = -1L >>> (64 * words.length - cardCount);
+	}
+
+
+	/**
+	 * Constructor. Makes a copy that can be changed without changing the original.
+	 * @param other the set to copy
+	 */
+	public CardSet(CardSet other) {
+		this.cardCount = other.cardCount;
+		this.words = other.words.clone();
+		this.lastWordMask = other.lastWordMask;
+	}
+
+
+	/**
+	 * @param cardCount the number of cards in the deck
+	 * @param from the first card ID in the set
+	 * @param to one past the last card ID in the set
+	 * @return a set of every card from one ID up to (not including) another, for example every weapon
+	 */
+	public static CardSet range(int cardCount, int from, int to) {
+		CardSet set = new CardSet(cardCount);
+		for(int id = from; id < to; id++) {
+			set.add(id);
+		}
+		return set;
+	}
+
+
+	/**
+	 * @param cardCount the number of cards in the deck
+	 * @param ids card IDs. -1 (not a card) is left out.
+	 * @return a set of the cards
+	 */
+	public static CardSet of(int cardCount, int... ids) {
+		CardSet set = new CardSet(cardCount);
+		for(int id : ids) {
+			if(id != -1) {
+				set.add(id);
+			}
+		}
+		return set;
+	}
+
+
+	/**
+	 * @param cardCount the number of cards in a deck
+	 * @return the number of longs a set of that deck is kept in
+	 */
+	public static int wordsFor(int cardCount) {
+		return (cardCount + 63) >>> 6;
+	}
+
+
+	//Getters
+
+	/**
+	 * @return the number of cards in the deck
+	 */
+	public int getCardCount() {
+		return cardCount;
+	}
+
+	/**
+	 * @return the number of longs the set is kept in
+	 */
+	public int getWordCount() {
+		return words.length;
+	}
+
+	/**
+	 * @param i a number from 0 to getWordCount() - 1
+	 * @return cards 64 * i to 64 * i + 63, as the bits of a long (for saving the set)
+	 */
+	public long getWord(int i) {
+		return words[i];
+	}
+
+	/**
+	 * @param i a number from 0 to getWordCount() - 1
+	 * @param bits cards 64 * i to 64 * i + 63, as the bits of a long (from getWord). Bits past the last card of the deck are left out.
+	 */
+	public void setWord(int i, long bits) {
+		words[i] = (i == words.length - 1) ? bits & lastWordMask : bits;
+	}
+
+	/**
+	 * @param i a number from 0 to getWordCount() - 1
+	 * @param bits cards 64 * i to 64 * i + 63 to add to the set, as the bits of a long (for example, from another set's getWord)
+	 */
+	public void addWord(int i, long bits) {
+		setWord(i, words[i] | bits);
+	}
+
+	/**
+	 * @param i a number from 0 to getWordCount() - 1
+	 * @param bits cards 64 * i to 64 * i + 63 to take out of the set, as the bits of a long
+	 */
+	public void removeWord(int i, long bits) {
+		words[i] &= ~bits;
+	}
+
+
+	//Methods
+
+	/**
+	 * @param id the ID of a card
+	 * @return true if the card is in the set
+	 */
+	public boolean contains(int id) {
+		return (words[id >>> 6] & (1L << id)) != 0; //A long shifts by id % 64
+	}
+
+
+	/**
+	 * @param id the ID of a card to add to the set
+	 */
+	public void add(int id) {
+		words[id >>> 6] |= 1L << id;
+	}
+
+
+	/**
+	 * @param id the ID of a card to take out of the set
+	 */
+	public void remove(int id) {
+		words[id >>> 6] &= ~(1L << id);
+	}
+
+
+	/**
+	 * @param other cards to add to the set
+	 */
+	public void addAll(CardSet other) {
+		for(int i = 0; i < words.length; i++) {
+			words[i] |= other.words[i];
+		}
+	}
+
+
+	/**
+	 * @param other cards to take out of the set
+	 */
+	public void removeAll(CardSet other) {
+		for(int i = 0; i < words.length; i++) {
+			words[i] &= ~other.words[i];
+		}
+	}
+
+
+	/**
+	 * @param other the cards to keep. Every other card is taken out of the set.
+	 */
+	public void retainAll(CardSet other) {
+		for(int i = 0; i < words.length; i++) {
+			words[i] &= other.words[i];
+		}
+	}
+
+
+	/**
+	 * Make this set hold the same cards as another set.
+	 * @param other the set to copy
+	 */
+	public void set(CardSet other) {
+		System.arraycopy(other.words, 0, words, 0, words.length);
+	}
+
+
+	/**
+	 * Take every card out of the set.
+	 */
+	public void clear() {
+		for(int i = 0; i < words.length; i++) {
+			words[i] = 0L;
+		}
+	}
+
+
+	/**
+	 * @return true if the set has no cards
+	 */
+	public boolean isEmpty() {
+		for(long word : words) {
+			if(word != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	/**
+	 * @return the number of cards in the set
+	 */
+	public int size() {
+		int size = 0;
+		for(long word : words) {
+			size += Long.bitCount(word);
+		}
+		return size;
+	}
+
+
+	/**
+	 * @param from the first card ID to count
+	 * @param to one past the last card ID to count
+	 * @return the number of cards in the set from one ID up to (not including) another, for example the number of weapons
+	 */
+	public int count(int from, int to) {
+		if(from >= to) {
+			return 0;
+		}
+		int first = from >>> 6;
+		int last = (to - 1) >>> 6;
+		long firstMask = -1L << from; //The bits from "from" up, in the first word
+		long lastMask = -1L >>> (63 - ((to - 1) & 63)); //The bits up to "to - 1", in the last word
+		if(first == last) {
+			return Long.bitCount(words[first] & firstMask & lastMask);
+		}
+		int count = Long.bitCount(words[first] & firstMask);
+		for(int i = first + 1; i < last; i++) {
+			count += Long.bitCount(words[i]);
+		}
+		return count + Long.bitCount(words[last] & lastMask);
+	}
+
+
+	/**
+	 * @param other another set
+	 * @return true if some card is in both sets
+	 */
+	public boolean intersects(CardSet other) {
+		for(int i = 0; i < words.length; i++) {
+			if((words[i] & other.words[i]) != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+
+	/**
+	 * @param other another set
+	 * @return the number of cards in both sets
+	 */
+	public int countCommon(CardSet other) {
+		int count = 0;
+		for(int i = 0; i < words.length; i++) {
+			count += Long.bitCount(words[i] & other.words[i]);
+		}
+		return count;
+	}
+
+
+	/**
+	 * @param other another set
+	 * @return the lowest ID of a card in both sets, or -1 if there is none
+	 */
+	public int firstCommon(CardSet other) {
+		for(int i = 0; i < words.length; i++) {
+			long both = words[i] & other.words[i];
+			if(both != 0) {
+				return 64 * i + Long.numberOfTrailingZeros(both);
+			}
+		}
+		return -1;
+	}
+
+
+	/**
+	 * Go through the cards in the set in ID order: for(int id = set.nextCard(0); id != -1; id = set.nextCard(id + 1))
+	 * @param from the card ID to start looking at
+	 * @return the lowest ID at or after from of a card in the set, or -1 if there is none
+	 */
+	public int nextCard(int from) {
+		int i = from >>> 6;
+		if(i >= words.length) {
+			return -1;
+		}
+		long word = words[i] & (-1L << from);
+		while(word == 0) {
+			if(++i == words.length) {
+				return -1;
+			}
+			word = words[i];
+		}
+		return 64 * i + Long.numberOfTrailingZeros(word);
+	}
+
+
+	/**
+	 * Find the nth card in the set at or after some ID (counting from 0). Used to pick a random card, for example a random weapon.
+	 * Whole longs are skipped by counting their bits, so this does not go through the cards one at a time.
+	 * @param from the card ID to start counting at
+	 * @param n a number from 0 to (the number of cards at or after from) - 1
+	 * @return the ID of that card, or -1 if the set does not have that many cards at or after from
+	 */
+	public int nthCard(int from, int n) {
+		int i = from >>> 6;
+		if(i >= words.length) {
+			return -1;
+		}
+		long word = words[i] & (-1L << from);
+		while(true) {
+			int bits = Long.bitCount(word);
+			if(n < bits) {
+				for(int skip = 0; skip < n; skip++) {
+					word &= word - 1; //Clear the lowest card until we get to the one we want
+				}
+				return 64 * i + Long.numberOfTrailingZeros(word);
+			}
+			n -= bits;
+			if(++i == words.length) {
+				return -1;
+			}
+			word = words[i];
+		}
+	}
+
+
+	/**
+	 * @param from the card ID of the first bit
+	 * @param count how many cards to take, at most 64
+	 * @return the cards from one ID on, as the bits of a long where bit j is card from + j (for example, the rooms as bits of their index)
+	 */
+	public long bits(int from, int count) {
+		if(count == 0) {
+			return 0L;
+		}
+		int i = from >>> 6;
+		int shift = from & 63;
+		long bits = words[i] >>> shift;
+		if(shift != 0 && i + 1 < words.length) {
+			bits |= words[i + 1] << (64 - shift);
+		}
+		return (count == 64) ? bits : bits & ((1L << count) - 1);
+	}
+
+
+	/**
+	 * @param obj another object
+	 * @return true if obj is a CardSet with the same cards
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if(!(obj instanceof CardSet)) {
+			return false;
+		}
+		CardSet other = (CardSet) obj;
+		if(other.cardCount != cardCount) {
+			return false;
+		}
+		for(int i = 0; i < words.length; i++) {
+			if(words[i] != other.words[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	/**
+	 * @return a hash of the cards in the set
+	 */
+	@Override
+	public int hashCode() {
+		long hash = cardCount;
+		for(long word : words) {
+			hash = hash * 31 + word;
+		}
+		return (int) (hash ^ (hash >>> 32));
+	}
+
+
+	/**
+	 * @return the card IDs in the set, for example [0, 7, 14]
+	 */
+	@Override
+	public String toString() {
+		StringBuilder text = new StringBuilder("[");
+		for(int id = nextCard(0); id != -1; id = nextCard(id + 1)) {
+			if(text.length() > 1) {
+				text.append(", ");
+			}
+			text.append(id);
+		}
+		return text.append(']').toString();
+	}
+
+}
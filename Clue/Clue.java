@@ -1,49 +1,231 @@
-
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
 import java.util.Scanner;
+import java.util.SplittableRandom;
+import java.util.function.BooleanSupplier;
 
 /**
- * This class goes through an entire game of Clue, where the user (player) is playing against the computer.
+ * This class goes through an entire game of Clue, where the user (player) is playing against the computer, or against several computers
+ * sitting around the table after them (seat 1, 2, and so on).
  * @author Maddie Moyer
  */
 public class Clue {
 
-	public static GameData gameData = new GameData();
-	public static Board board = new Board(gameData.getRooms());
+	private ClueEngine engine; //Runs the rules of the game. This class only handles the console input and output.
+	private GameData gameData;
+	private Board board;
+	private PrintStream out; //Where the game is printed (the console, or a network client's connection)
+	private GameRenderer renderer; //Draws the game card and distance tables to out
+	private int turn; //The number of times the player and the computer have both had a turn (the position in gameLoop)
+	private int seats; //The number of seats. The player is seat 0 and the computers are the rest.
+
+	
+	/**
+	 * Constructor. Sets up a new game of Clue with its own cards and board, printed to the console.
+	 */
+	public Clue() {
+		this(new ClueEngine(), System.out);
+	}
+	
+	/**
+	 * Constructor
+	 * @param engine the engine running the game
+	 * @param out where to print the game
+	 */
+	public Clue(ClueEngine engine, PrintStream out) {
+		this.engine = engine;
+		this.gameData = engine.getGameData();
+		this.board = engine.getBoard();
+		this.out = out;
+		this.renderer = new GameRenderer(gameData.getRegistry(), board, out);
+		this.turn = 0;
+		this.seats = engine.getSeatCount();
+	}
 
 	/**
-	 * Run a game of Clue
-	 * @param args the variables needed to run a game of Clue
+	 * Run a game of Clue. The output is buffered and written out each time the game waits for the player to type something.
+	 * @param args optional: "-diff" to redraw the game card as only the rows crossed off since it was last shown,
+	 * "-game" followed by a game definition file (text or compiled catalog, see GameDefinition) to play a different version of Clue,
+	 * "-tiles" followed by a tile grid file (see TileBoard) to play on a board of tiles,
+	 * "-seats" followed by the number of seats (2 to 6, default 2) to play against more than one computer,
+	 * and "-strategy" followed by how the computers play: "basic" (the default), "infogain" (see InformationGainStrategy),
+	 * "route" (see RoutePlanningStrategy), or "ismcts" (see IsmctsStrategy). Anything else prints how to run the game instead.
+	 * @throws IOException if the game definition file or tile grid file cannot be read
 	 */
-	public static void main(String[] args) {
+	public static void main(String[] args) throws IOException {
 
-		Scanner sc = new Scanner(System.in);
+		boolean diff = false;
+		GameDefinition definition = GameDefinition.classic();
+		Path tiles = null;
+		int seats = 2;
+		String strategy = "basic";
+		for(int i = 0; i < args.length; i++) {
+			boolean hasValue = i + 1 < args.length;
+			if(args[i].equals("-diff")) {
+				diff = true;
+			}else if(args[i].equals("-game") && hasValue) {
+				definition = GameDefinition.read(Path.of(args[++i]));
+			}else if(args[i].equals("-tiles") && hasValue) {
+				tiles = Path.of(args[++i]);
+			}else if(args[i].equals("-seats") && hasValue) {
+				try {
+					seats = Integer.parseInt(args[++i]);
+				}catch(NumberFormatException e) {
+					seats = -1; //Not a number, so it is out of range below
+				}
+				if(seats < 2 || seats > GameData.MAX_SEATS) {
+					printUsage("The number of seats has to be 2 to " + GameData.MAX_SEATS + ", not " + args[i]);
+					return;
+				}
+			}else if(args[i].equals("-strategy") && hasValue) {
+				strategy = args[++i];
+				if(!ComputerStrategy.NAMES.contains(strategy)) {
+					printUsage("There is no strategy called " + strategy);
+					return;
+				}
+			}else {
+				printUsage("Unknown option " + args[i] + (args[i].startsWith("-") && !hasValue ? " (or it is missing its value)" : ""));
+				return;
+			}
+		}
+		PrintStream out = new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 1 << 16), false);
+		Scanner sc = new Scanner(new FlushOnReadInputStream(System.in, out));
+		GameData gameData = new GameData(definition, seats, new SplittableRandom());
+		Board board = (tiles == null) ? new Board(definition) : TileBoard.read(tiles, definition.getRooms());
+		ClueEngine engine = new ClueEngine(gameData, board, new GameListener() {});
+		for(int seat = ClueEngine.COMPUTER; seat < seats; seat++) {
+			engine.setStrategy(seat, ComputerStrategy.named(strategy));
+		}
+		Clue clue = new Clue(engine, out);
+		clue.getRenderer().setRedrawChangesOnly(diff);
 		
-		beginGameSpiel(sc);
-		gameLoop(sc);
+		clue.beginGameSpiel(sc);
+		clue.gameLoop(sc);
+		out.flush();
 		
 	}
+
+
+	/**
+	 * Print what was wrong with the command line and how to run the game.
+	 * @param problem what was wrong
+	 */
+	private static void printUsage(String problem) {
+		System.out.println(problem);
+		System.out.println("Usage: java Clue [-diff] [-game definition file] [-tiles tile grid file] [-seats 2 to " + GameData.MAX_SEATS + "]"
+				+ " [-strategy " + String.join(" | ", ComputerStrategy.NAMES) + "]");
+	}
+	
 	
+	/**
+	 * @return the number of times the player and the computer have both had a turn
+	 */
+	public int getTurn() {
+		return turn;
+	}
 	
 	/**
-	 * A game of Clue. Loops through the player's and the computer's turns and stops when one accuses.
+	 * @param turn the number of times the player and the computer have both had a turn (for a game restored from a GameSnapshot)
+	 */
+	public void setTurn(int turn) {
+		this.turn = turn;
+	}
+	
+	/**
+	 * @return the renderer that draws the game card and distance tables
+	 */
+	public GameRenderer getRenderer() {
+		return renderer;
+	}
+	
+	/**
+	 * @return the engine running the game
+	 */
+	public ClueEngine getEngine() {
+		return engine;
+	}
+	
+	
+	/**
+	 * A game of Clue. Loops through the player's and the computers' turns and stops when one accuses and the game is over.
+	 * If the player chooses to accuse and then changes their mind, the game goes on in this same loop (not a new call), so a player who
+	 * keeps changing their mind cannot use up the stack.
 	 * @param sc
 	 */
-	public static void gameLoop(Scanner sc) {
-		boolean gameEnded = false;
-		int choice = beginPlayerTurnSpiel(sc);
-		while(choice != 2) { // 2 is the sentinel value - continue in the loop until the player wants to accuse
-			playerTurn(sc);
-			computerTurn(sc);
-			if(gameData.getDidComputerAccuse()) { //End the game if the computer accused
-				gameEnded = true;
-				break;
+	public void gameLoop(Scanner sc) {
+		playTurns(sc, () -> false, true);
+	}
+
+
+	/**
+	 * A game of Clue that can stop to be parked while the player is away. At the start of each of the player's turns, once the turn has been
+	 * printed, park is asked whether to stop. If it says yes, the loop returns right there, before anything is read, so the game can be saved
+	 * with GameSnapshot (which saves the turn) and thrown away. Bring it back with GameSnapshot.restoreClue and call resumeGameLoop.
+	 * @param sc where the player's input comes from
+	 * @param park asked at the start of each of the player's turns: true to stop and park the game (for example, the player has been idle)
+	 * @return true if the game is over, false if it stopped to be parked
+	 */
+	public boolean gameLoop(Scanner sc, BooleanSupplier park) {
+		return playTurns(sc, park, true);
+	}
+
+
+	/**
+	 * Carry on a game that stopped to be parked (see gameLoop(Scanner, BooleanSupplier)), after it has been restored. The player already saw
+	 * the start of their turn before the game was parked, so it is not printed again, and their answer is read right away.
+	 * @param sc where the player's input comes from
+	 * @param park asked at the start of each of the player's turns after this one: true to stop and park the game again
+	 * @return true if the game is over, false if it stopped to be parked again
+	 */
+	public boolean resumeGameLoop(Scanner sc, BooleanSupplier park) {
+		return playTurns(sc, park, false);
+	}
+
+
+	/**
+	 * Loop through the player's and the computers' turns until the game is over or park says to stop.
+	 * @param sc where the player's input comes from
+	 * @param park asked at the start of each of the player's turns: true to stop and park the game
+	 * @param printTurn false to skip printing the start of the first turn (it was printed before the game was parked)
+	 * @return true if the game is over, false if it stopped to be parked
+	 */
+	private boolean playTurns(Scanner sc, BooleanSupplier park, boolean printTurn) {
+		while(true) {
+			if(printTurn) {
+				printPlayerTurnSpiel();
+			}
+			printTurn = true;
+			if(park.getAsBoolean()) {
+				return false;
+			}
+			int choice = readPlayerTurnChoice(sc);
+			while(choice != 2) { // 2 is the sentinel value - continue in the loop until the player wants to accuse
+				playerTurn(sc);
+				for(int seat = ClueEngine.COMPUTER; seat < seats && !engine.isGameOver(); seat++) {
+					if(!engine.isEliminated(seat)) { //A computer that accused wrongly does not take turns anymore
+						computerTurn(sc, seat);
+					}
+				}
+				if(engine.isGameOver()) { //End the game if a computer accused and the game is over
+					return true;
+				}
+				turn++;
+				printPlayerTurnSpiel();
+				if(park.getAsBoolean()) {
+					return false;
+				}
+				choice = readPlayerTurnChoice(sc);
+			}
+			//The player can accuse, since the computer did not already accuse and end the game
+			renderer.printGameCard(gameData.getPlayerGameCardBits());
+			if(playerAccuse(sc)) {
+				return true;
 			}
-			choice = beginPlayerTurnSpiel(sc); //choice variable is set and returned in this method
 		}
-		if(!gameEnded) { //The player can accuse if the computer did not already accuse and end the game
-			gameData.printGameCard(gameData.getPlayerGameCard());
-			playerAccuse(sc);
-		}	
 	}
 	
 	
@@ -51,28 +233,32 @@ public class Clue {
 	 * The sequence of events occuring during the player's turn.
 	 * @param sc a Scanner
 	 */
-	public static void playerTurn(Scanner sc) {
-		int diceRoll = diceRoll();
+	public void playerTurn(Scanner sc) {
+		GameEvents.Turn event = new GameEvents.Turn();
+		event.begin();
+		Room from = gameData.getPlayerLocation();
+		int diceRoll = engine.diceRoll(ClueEngine.PLAYER);
 		
-		System.out.println("You are in the " + gameData.getPlayerLocation());
+		out.println("You are in the " + gameData.getPlayerLocation());
 			
-		System.out.println("Press ENTER to roll the dice");
+		out.println("Press ENTER to roll the dice");
 		sc.nextLine();  //Scanner waits for player to press ENTER to move on
-		System.out.println("You rolled a: " + diceRoll);
-		board.printDistancesFrom(gameData.getPlayerLocation().toString());
-		System.out.print("Would you like to move to a new room or stay in the " + gameData.getPlayerLocation() + "? Enter \"Move\" or \"Stay\": ");
+		out.println("You rolled a: " + diceRoll);
+		renderer.printDistancesFrom(gameData.getPlayerLocation().toString());
+		out.print("Would you like to move to a new room or stay in the " + gameData.getPlayerLocation() + "? Enter \"Move\" or \"Stay\": ");
 		String moveOrStay = sc.nextLine();
 			
 		if(moveOrStay.equalsIgnoreCase("Move")) {
 			movePlayerRoom(sc, diceRoll);
 		}else if(moveOrStay.equalsIgnoreCase("Stay")) {
-			System.out.println("\nYou are staying in the " + gameData.getPlayerLocation());
+			out.println("\nYou are staying in the " + gameData.getPlayerLocation());
 		}else {
-			System.out.println("That is not one of the options. You will stay in your current room.");	
+			out.println("That is not one of the options. You will stay in your current room.");	
 		}
 			
 		String[] playerGuess = playerMakeAGuess(sc);
 		computerShowPlayerACard(sc, playerGuess);		
+		recordTurn(event, ClueEngine.PLAYER, diceRoll, from, false);
 	}
 	
 	
@@ -80,28 +266,63 @@ public class Clue {
 	 * The sequence of events occuring during the computer's turn.
 	 * @param sc a Scanner
 	 */
-	public static void computerTurn(Scanner sc) {
-		int diceRoll = diceRoll();
+	public void computerTurn(Scanner sc) {
+		computerTurn(sc, ClueEngine.COMPUTER);
+	}
+	
+	
+	/**
+	 * The sequence of events occuring during one computer's turn.
+	 * @param sc a Scanner
+	 * @param seat the computer's seat
+	 */
+	public void computerTurn(Scanner sc, int seat) {
+		GameEvents.Turn event = new GameEvents.Turn();
+		event.begin();
+		Room from = gameData.getLocation(seat);
+		int diceRoll = engine.diceRoll(seat);
+		String name = seatName(seat);
 		
-		System.out.println("\nIt is the computer's turn.");
-		System.out.print("Press ENTER as you continue through the computer's turn.");
+		out.println("\nIt is " + name + "'s turn.");
+		out.print("Press ENTER as you continue through " + name + "'s turn.");
 		sc.nextLine();
-		System.out.println("The computer is in the " + gameData.getComputerLocation());
+		out.println(capitalize(name) + " is in the " + gameData.getLocation(seat));
 		sc.nextLine();
-		computerAccuse(sc);
-		if(gameData.getDidComputerAccuse()) { //If the computer accused, the game is over
+		computerAccuse(sc, seat);
+		boolean accused = engine.isGameOver() || engine.isEliminated(seat);
+		if(accused) { //If the computer accused, the game is over (or the computer is out of it)
 			//Do nothing. Game is over and code has ended (in other methods)
 		}else { //If the computer did not accuse, continue on with the turn
-			System.out.println("The computer rolled a: " + diceRoll);
-			board.printDistancesFrom(gameData.getComputerLocation().toString());
+			out.println(capitalize(name) + " rolled a: " + diceRoll);
+			renderer.printDistancesFrom(gameData.getLocation(seat).toString());
 			sc.nextLine();
-			moveComputerRoom(diceRoll);
+			moveComputerRoom(seat, diceRoll);
 			sc.nextLine();
-			String[] computerGuess = computerMakeAGuess();
-			System.out.println("The computer is guessing: \"" + computerGuess[0] + "\" in the \"" + computerGuess[2] + "\" with the \"" + computerGuess[1] + "\""); //Person in the room with the weapon
+			String[] computerGuess = engine.makeAGuess(seat);
+			out.println(capitalize(name) + " is guessing: \"" + computerGuess[0] + "\" in the \"" + computerGuess[2] + "\" with the \"" + computerGuess[1] + "\""); //Person in the room with the weapon
 			sc.nextLine();
-			playerShowComputerACard(sc, computerGuess);
+			showComputerACard(sc, seat, computerGuess);
 		}
+		recordTurn(event, seat, accused ? 0 : diceRoll, from, accused);
+	}
+	
+	
+	/**
+	 * Record a turn for a flight recording, if one wants it (see GameEvents). The turn's length includes the time spent waiting for the player.
+	 * @param event the event, begun when the turn started
+	 * @param seat the seat whose turn it was
+	 * @param diceRoll what the seat rolled, or 0 if it accused instead
+	 * @param from the room the seat started the turn in
+	 * @param accused true if the seat accused
+	 */
+	private void recordTurn(GameEvents.Turn event, int seat, int diceRoll, Room from, boolean accused) {
+		GameEvents.record(event, e -> {
+			e.seat = seat;
+			e.diceRoll = diceRoll;
+			e.fromRoom = from.getName();
+			e.toRoom = gameData.getLocation(seat).getName();
+			e.accused = accused;
+		});
 	}
 	
 	
@@ -110,25 +331,24 @@ public class Clue {
 	 * @param sc a Scanner
 	 * @param diceRoll A random number from 2 to 12 representing the roll of two six-sided dice. The number of spaces the player can move.
 	 */
-	public static void movePlayerRoom(Scanner sc, int diceRoll) {
-		System.out.print("You chose \"Move\". Which room would you like to move to (remember, you rolled a " + diceRoll + "): ");
-		String newRoom = sc.nextLine();
-		System.out.println();
-		Room newLocation = new Room(newRoom); //Convert the new room from a String to a Room variable
-		int distBetweenRooms = board.getDistance(gameData.getPlayerLocation().toString(), newRoom);
-		if(distBetweenRooms <= diceRoll) {
-			if(newRoom.equals(gameData.getPlayerLocation().toString())) { //If you chose "MOVE" but are actually staying in the same place
-				System.out.println("You are staying in the " + newLocation);
-			}else {
-				System.out.println("You have moved to the " + newLocation);
-				gameData.setPlayerLocation(newLocation);
+	public void movePlayerRoom(Scanner sc, int diceRoll) {
+		Room oldLocation = gameData.getPlayerLocation();
+		while(true) { //Keep asking until the player picks a room they can reach
+			out.print("You chose \"Move\". Which room would you like to move to (remember, you rolled a " + diceRoll + "): ");
+			String newRoom = sc.nextLine();
+			out.println();
+			if(engine.movePlayerRoom(newRoom, diceRoll)) {
+				break;
 			}
-		}else {
-			System.out.println("The " + newLocation + " is further than " + diceRoll + " spaces away from the " + gameData.getPlayerLocation() + ". You cannot move there.");
-			System.out.println("Here are the moves you are allowed to make: ");
+			out.println("The " + newRoom + " is further than " + diceRoll + " spaces away from the " + oldLocation + ". You cannot move there.");
+			out.println("Here are the moves you are allowed to make: ");
 			playerPossibleRoomsToMoveTo(diceRoll);
-			System.out.println("\nPlease choose one of these options and try again. ");
-			movePlayerRoom(sc, diceRoll);
+			out.println("\nPlease choose one of these options and try again. ");
+		}
+		if(gameData.getPlayerLocation() == oldLocation) { //If you chose "MOVE" but are actually staying in the same place
+			out.println("You are staying in the " + oldLocation);
+		}else {
+			out.println("You have moved to the " + gameData.getPlayerLocation());
 		}
 	}
 	
@@ -137,25 +357,24 @@ public class Clue {
 	 * The process of the computer moving to a new room on the board (or staying in the same room) after rolling the dice.
 	 * @param diceRoll A random number from 2 to 12 representing the roll of two six-sided dice. The number of spaces the computer can move.
 	 */
-	public static void moveComputerRoom(int diceRoll) {
+	public void moveComputerRoom(int diceRoll) {
+		moveComputerRoom(ClueEngine.COMPUTER, diceRoll);
+	}
+	
+	
+	/**
+	 * The process of one computer moving to a new room on the board (or staying in the same room) after rolling the dice.
+	 * @param seat the computer's seat
+	 * @param diceRoll A random number from 2 to 12 representing the roll of two six-sided dice. The number of spaces the computer can move.
+	 */
+	public void moveComputerRoom(int seat, int diceRoll) {
 		//The computer will move to a random room (that is within the dice roll distance) that it does not already have marked off on its game card
-		Room[] possibleRoomsArr = computerPossibleRoomsToMoveTo(diceRoll); //These are the rooms that the computer is allowed to move to (determined by the dice roll)
-		if(possibleRoomsArr.length == 1) { //If there is only 1 possible room in the array, the room must be the room the computer is already in
-			System.out.println("The computer is staying in the " + gameData.getComputerLocation()); //The computer has to stay in that room
-		}else { //If the computer has multiple room options
-			Room[] moveToArr = new Room[possibleRoomsArr.length]; //A new array that will have the possible rooms that are unmarked on the computer's game card
-			int idx = 0; //Index to add rooms to moveToArr
-			for(Room room : possibleRoomsArr) {
-				if(!(gameData.findMark(gameData.getComputerGameCard(), room.toString()).equals("X"))) {
-					//If the room is not marked off on the computer's game card, add it to a new array
-					moveToArr[idx] = room;
-				}
-			}
-			moveToArr = removeNullFromArray(moveToArr); //Remove any null entries from the array
-			int randomNum = (int)(Math.random() * moveToArr.length); //Randomly generate an index from the moveToArr
-			Room computerNewLocation = moveToArr[randomNum];
-			gameData.setComputerLocation(computerNewLocation); //The computer moves to that room
-			System.out.println("The computer has moved to the " + computerNewLocation);
+		Room oldLocation = gameData.getLocation(seat);
+		Room computerNewLocation = engine.moveRoom(seat, diceRoll);
+		if(computerNewLocation == oldLocation) {
+			out.println(capitalize(seatName(seat)) + " is staying in the " + oldLocation);
+		}else {
+			out.println(capitalize(seatName(seat)) + " has moved to the " + computerNewLocation);
 		}	
 	}
 	
@@ -165,184 +384,164 @@ public class Clue {
 	 * @param sc a Scanner
 	 * @return a String array containing the details of the player's guess (the person, weapon, and room)
 	 */
-	public static String[] playerMakeAGuess(Scanner sc) {
-		System.out.println("Now, type in your guess. Don't forget to consult your game card above!: ");
-		System.out.println("Room : " + gameData.getPlayerLocation());
-		System.out.print("Person: ");
+	public String[] playerMakeAGuess(Scanner sc) {
+		out.println("Now, type in your guess. Don't forget to consult your game card above!: ");
+		out.println("Room : " + gameData.getPlayerLocation());
+		out.print("Person: ");
 		String guessedPerson = sc.nextLine();
-		System.out.print("Weapon: ");
+		out.print("Weapon: ");
 		String guessedWeapon = sc.nextLine();
-		String[] guessArray = new String[] {guessedPerson, guessedWeapon, gameData.getPlayerLocation().toString()};
-		return guessArray; // {Person, Weapon, Room}
+		return engine.playerMakeAGuess(guessedPerson, guessedWeapon); // {Person, Weapon, Room}
 	}
 	
 	
 	/**
-	 * The process of the computer making a guess at the end of its turn.
-	 * @return a String array containing the details of the computer's guess (the person, weapon, and room)
+	 * The process of the player showing the computer a card after the computer makes a guess
+	 * @param sc a Scanner
+	 * @param computerGuess a String array containing the details of the computer's guess (person, weapon, and room)
 	 */
-	public static String[] computerMakeAGuess() {
-		Room roomGuess = gameData.getComputerLocation();
-		Person[] personGuessesArr = new Person[gameData.getPeople().length];
-		Weapon[] weaponGuessesArr = new Weapon[gameData.getWeapons().length];
-		int idx = 0;
-		//Add the people that the computer has unmarked to an array
-		for(Person person : gameData.getPeople()) {
-			if(!(gameData.findMark(gameData.getComputerGameCard(), person.toString()).equals("X"))) {
-				personGuessesArr[idx] = person;
-			}
-		}
-		//Add the weapons that the computer has unmarked to an array
-		idx = 0; //reset index
-		for(Weapon weapon : gameData.getWeapons()) {
-			if(!(gameData.findMark(gameData.getComputerGameCard(), weapon.toString()).equals("X"))) {
-				weaponGuessesArr[idx] = weapon;
-			}
-		}
-		personGuessesArr = removeNullFromArray(personGuessesArr);
-		weaponGuessesArr = removeNullFromArray(weaponGuessesArr);
-		int randomPersonIdx = (int)(Math.random() * personGuessesArr.length); //Generate a random index in personGuessesArr
-		int randomWeaponIdx = (int)(Math.random() * weaponGuessesArr.length); //Generate a random index in weaponGuessesArr
-		Person personGuess = personGuessesArr[randomPersonIdx];
-		Weapon weaponGuess = weaponGuessesArr[randomWeaponIdx];
-		
-		String[] guessesArray = {personGuess.toString(), weaponGuess.toString(), roomGuess.toString()};
-		return guessesArray;
+	public void playerShowComputerACard(Scanner sc, String[] computerGuess) {
+		playerShowComputerACard(sc, ClueEngine.COMPUTER, computerGuess);
 	}
 	
 	
 	/**
-	 * The process of the player showing the computer a card after the computer makes a guess
+	 * The process of the player showing a card to one of the computers after it makes a guess
 	 * @param sc a Scanner
+	 * @param seat the seat of the computer that guessed
 	 * @param computerGuess a String array containing the details of the computer's guess (person, weapon, and room)
+	 * @return true if the player showed a card, false if they had none of the guessed cards
 	 */
-	public static void playerShowComputerACard(Scanner sc, String[] computerGuess) {
-		gameData.printPlayerCards();
-		String[] cardsPlayerHasArr = new String[computerGuess.length];
-		int idx = 0;
-		for(String card : gameData.getPlayerCards()) { //Check if the player has any of the cards that the computer guessed
-			for(String guess : computerGuess) {
-				if(guess.equals(card)) {
-					cardsPlayerHasArr[idx] = guess;
-					idx++;
-				}
-			}
-		}
-		cardsPlayerHasArr = removeNullFromArray(cardsPlayerHasArr);
+	public boolean playerShowComputerACard(Scanner sc, int seat, String[] computerGuess) {
+		String name = seatName(seat);
+		CardSet guessBits = engine.guessBits(computerGuess);
+		gameData.printPlayerCards(out);
+		String[] cardsPlayerHasArr = engine.cardsPlayerCanShow(computerGuess); //Check if the player has any of the cards that the computer guessed
 		if(cardsPlayerHasArr.length == 0) {
-			gameData.setComputerGuessedCorrectly(true); //If the player has none of the cards, then the computer guessed everything correctly
-			System.out.println("You do not have any of those cards. You show the computer nothing.");
+			engine.playerShowCard(seat, guessBits, -1);
+			out.println("You do not have any of those cards. You show " + name + " nothing.");
+			return false;
 		}else if(cardsPlayerHasArr.length == 1) {
-			System.out.println("You have: " + cardsPlayerHasArr[0]);
-			System.out.println("You show the computer: " + cardsPlayerHasArr[0]);
+			engine.playerShowCard(seat, guessBits, gameData.getRegistry().idOf(cardsPlayerHasArr[0]));
+			out.println("You have: " + cardsPlayerHasArr[0]);
+			out.println("You show " + name + ": " + cardsPlayerHasArr[0]);
 		}else {
-			System.out.print("You have: ");
+			out.print("You have: ");
 			for(String card : cardsPlayerHasArr) {
-				System.out.print(card + ", ");
+				out.print(card + ", ");
 			}
-			System.out.print("\nWhich card would you like to show to the computer? Please ENTER card name: ");
+			out.print("\nWhich card would you like to show to " + name + "? Please ENTER card name: ");
 			String cardShown = sc.nextLine();
-			gameData.markCard(gameData.getComputerGameCard(), cardShown);
-			System.out.println("You have shown the computer: " + cardShown + "\n");
+			int cardId = gameData.getRegistry().idOf(cardShown);
+			while(cardId == -1 || !engine.playerShowCard(seat, guessBits, cardId)) { //Keep asking until the player picks one of the cards they have
+				out.print("That is not one of the cards you can show. Please ENTER card name: ");
+				cardShown = sc.nextLine();
+				cardId = gameData.getRegistry().idOf(cardShown);
+			}
+			out.println("You have shown " + name + ": " + cardShown + "\n");
 		}
+		return true;
 	}
 	
 	
 	/**
-	 * The process of the computer showing the player a card after the player makes a guess.
+	 * After a computer makes a guess, ask the seats after it, going clockwise, to show it a card until one of them does.
+	 * When it is the player's turn to answer, the player picks the card.
 	 * @param sc a Scanner
-	 * @param playerGuess a String array containing the details of the player's guess (person, weapon, and room)
+	 * @param seat the seat of the computer that guessed
+	 * @param computerGuess a String array containing the details of the computer's guess (person, weapon, and room)
 	 */
-	public static void computerShowPlayerACard(Scanner sc, String[] playerGuess) {
-		String[] computerHasThese = new String[3];
-		int idx = 0;
-		
-		for(String card : gameData.getComputerCards()) {
-			for(String guess : playerGuess) {
-				if(guess.equals(card)) {
-					computerHasThese[idx] = guess;
-					idx++;
+	public void showComputerACard(Scanner sc, int seat, String[] computerGuess) {
+		CardSet guessBits = engine.guessBits(computerGuess);
+		for(int shower = engine.nextSeat(seat); shower != seat; shower = engine.nextSeat(shower)) {
+			if(shower == ClueEngine.PLAYER) {
+				if(playerShowComputerACard(sc, seat, computerGuess)) {
+					return;
 				}
+			}else if(engine.computerShowCard(shower, seat, guessBits) != -1) { //Timed and recorded like any other refutation
+				out.println(capitalize(seatName(shower)) + " shows " + seatName(seat) + " a card.");
+				return;
+			}else {
+				out.println(capitalize(seatName(shower)) + " does not have any of those cards.");
 			}
 		}
-		computerHasThese = removeNullFromArray(computerHasThese);
-		if(computerHasThese.length == 0) {
-			System.out.println("The computer does not have any of those cards. \n");
-		}else {
-			int randomNum = (int)(Math.random() * computerHasThese.length); //Generate a random number between 0 and the length of the array minus 1
-			String compCard = computerHasThese[randomNum];
-			System.out.println("The computer is showing you: " + compCard);
-			System.out.println("Press ENTER to cross off the card on your Game Card.");
-			sc.nextLine();
-			gameData.markCard(gameData.getPlayerGameCard(), compCard);
-			gameData.printGameCard(gameData.getPlayerGameCard());
-		}
 	}
 	
 	
 	/**
-	 * Prints out the rooms that the player is allowed to move to (the rooms that are less than or equal to the dice roll number of spaces away)
-	 * @param diceRoll A random number from 2 to 12 representing the roll of two six-sided dice. The number of spaces the player can move.
+	 * The process of the computers showing the player a card after the player makes a guess. They are asked one at a time, going clockwise, until one shows a card.
+	 * @param sc a Scanner
+	 * @param playerGuess a String array containing the details of the player's guess (person, weapon, and room)
 	 */
-	public static void playerPossibleRoomsToMoveTo(int diceRoll) {
-		//Prints out the rooms that the player is allowed to move to (determined by the dice roll)
-		Room currentLocation = gameData.getPlayerLocation();		
-		System.out.println("1. You can stay in the " + currentLocation);
-		
-		int num = 2; //Numbered list for the possible rooms the player can move to. 1 is stay in current room, so start num = 2.
-		for(Room room : gameData.getRooms()) {
-			int dist = board.getDistance(currentLocation.getName(), room.getName()); //need to use .getName() because the rooms need to be Strings in this method
-			if((dist <= diceRoll) && !room.equals(currentLocation)) { 
-				System.out.println(num + ". You can move to the " + room.getName());
-				num++;
+	public void computerShowPlayerACard(Scanner sc, String[] playerGuess) {
+		CardSet guessBits = engine.guessBits(playerGuess);
+		for(int seat = ClueEngine.COMPUTER; seat < seats; seat++) {
+			int cardId = engine.computerShowCard(seat, ClueEngine.PLAYER, guessBits); //The computer picks a random card it has from the guess
+			if(cardId == -1) {
+				out.println(capitalize(seatName(seat)) + " does not have any of those cards. \n");
+			}else {
+				out.println(capitalize(seatName(seat)) + " is showing you: " + gameData.getRegistry().nameOf(cardId));
+				out.println("Press ENTER to cross off the card on your Game Card.");
+				sc.nextLine();
+				renderer.printGameCard(gameData.getPlayerGameCardBits());
+				return;
 			}
 		}
 	}
 	
 	
 	/**
-	 * Uses the computer's dice roll to determine which rooms the computer can move to (compares the dice roll to the distances between the current room and the other rooms)
-	 * @param diceRoll A random number from 2 to 12 representing the roll of two six-sided dice. The number of spaces the computer can move.
-	 * @return a Room array containing all of the possible rooms that the computer can move to (determined by the dice roll)
+	 * Prints out the rooms that the player is allowed to move to (the rooms that are less than or equal to the dice roll number of spaces away)
+	 * @param diceRoll A random number from 2 to 12 representing the roll of two six-sided dice. The number of spaces the player can move.
 	 */
-	public static Room[] computerPossibleRoomsToMoveTo(int diceRoll) {
-		//Creates an array that contains the rooms that the computer is allowed to move to (determined by the dice roll)
-		Room currentLocation = gameData.getComputerLocation();
-		Room[] possibleRoomsArr = new Room[gameData.getRooms().length];
-		possibleRoomsArr[0] = currentLocation;
+	public void playerPossibleRoomsToMoveTo(int diceRoll) {
+		//Prints out the rooms that the player is allowed to move to (determined by the dice roll)
+		Room[] possibleRoomsArr = engine.playerPossibleRoomsToMoveTo(diceRoll); //Index 0 is the room the player is already in
+		out.println("1. You can stay in the " + possibleRoomsArr[0]);
 		
-		int idx = 1; //Index to add possible rooms to the possibleRoomsArr. Already added the current location so start idx at 1
-		for(Room room : gameData.getRooms()) {
-			int dist = board.getDistance(currentLocation.getName(), room.getName()); //need to use .getName() because the rooms need to be Strings in this method
-			if((dist <= diceRoll) && !room.equals(currentLocation)) { 
-				possibleRoomsArr[idx] = room;
-				idx++;
-			}
+		for(int i = 1; i < possibleRoomsArr.length; i++) { //Numbered list for the possible rooms the player can move to. 1 is stay in current room, so start at 2.
+			out.println((i + 1) + ". You can move to the " + possibleRoomsArr[i].getName());
 		}
-		possibleRoomsArr = removeNullFromArray(possibleRoomsArr); //Get rid of any null entries at the end of the array (spots that were not filled)
-		return possibleRoomsArr;
 	}
-
+	
 	
 	/**
 	 * The spiel each time at the beginning of the player's (user's) turn
 	 * @param sc a Scanner
 	 * @return an integer. 1 means that the player wants to continue the game and 2 means that the player wants to make an accusation.
 	 */
-	public static int beginPlayerTurnSpiel(Scanner sc) {
+	public int beginPlayerTurnSpiel(Scanner sc) {
+		printPlayerTurnSpiel();
+		return readPlayerTurnChoice(sc);
+	}
+
+
+	/**
+	 * Print the spiel at the beginning of the player's turn, up to the question of whether they want to roll or accuse.
+	 */
+	private void printPlayerTurnSpiel() {
 		//Stuff to print out at the beginning of the player's turn every time
-		System.out.println("It is your turn! \n");
-		System.out.println("Here are your cards: ");
-		gameData.printPlayerCards();
-		System.out.println();
-		gameData.printGameCard(gameData.getPlayerGameCard());
-		System.out.println("\nWould you like to: ");
-		System.out.println(" 1. Roll the dice and continue the game OR");
-		System.out.println(" 2. Make an accusation");
-		System.out.print("Type \"1\" to continue or \"2\" to make your accusation: ");
+		out.println("It is your turn! \n");
+		out.println("Here are your cards: ");
+		gameData.printPlayerCards(out);
+		out.println();
+		renderer.printGameCard(gameData.getPlayerGameCardBits());
+		out.println("\nWould you like to: ");
+		out.println(" 1. Roll the dice and continue the game OR");
+		out.println(" 2. Make an accusation");
+		out.print("Type \"1\" to continue or \"2\" to make your accusation: ");
+	}
+
+
+	/**
+	 * Read whether the player wants to roll or accuse, after printPlayerTurnSpiel.
+	 * @param sc a Scanner
+	 * @return an integer. 1 means that the player wants to continue the game and 2 means that the player wants to make an accusation.
+	 */
+	private int readPlayerTurnChoice(Scanner sc) {
 		int choice = sc.nextInt();
 		sc.nextLine(); //clear leftover newline that comes from scanning ints or doubles
-		System.out.println();
+		out.println();
 		return choice;
 	}
 	
@@ -351,13 +550,13 @@ public class Clue {
 	 * The spiel given to introduce the game before it starts.
 	 * @param sc a Scanner
 	 */
-	public static void beginGameSpiel(Scanner sc) {
-		System.out.println("Welcome to Clue!");
-		System.out.println("The goal of the game is to solve a murder. You need to figure out the person, weapon, and room.");
-		System.out.println("This game is case-sensitive, so when you type in words, please always capitalize the first letter!");
-		System.out.println("Also, always double check your spelling.");
-		System.out.println("Thank you! \n");
-		System.out.println("Press ENTER to begin the game.");
+	public void beginGameSpiel(Scanner sc) {
+		out.println("Welcome to Clue!");
+		out.println("The goal of the game is to solve a murder. You need to figure out the person, weapon, and room.");
+		out.println("This game is case-sensitive, so when you type in words, please always capitalize the first letter!");
+		out.println("Also, always double check your spelling.");
+		out.println("Thank you! \n");
+		out.println("Press ENTER to begin the game.");
 		sc.nextLine();
 	}
 	
@@ -365,26 +564,28 @@ public class Clue {
 	/**
 	 * The sequence of events that plays out when the player (user) decides to make an accusation
 	 * @param sc a Scanner
+	 * @return true if the player accused, or false if they chose not to after all (the caller goes on with the game)
 	 */
-	public static void playerAccuse(Scanner sc) {
-		System.out.println("You have chosen to make an accusation.");
-		System.out.println("Remember, once you accuse, the game is over.");
-		System.out.print("Are you ready to make your accusation? (Yes/No): ");
+	public boolean playerAccuse(Scanner sc) {
+		out.println("You have chosen to make an accusation.");
+		out.println("Remember, once you accuse, the game is over.");
+		out.print("Are you ready to make your accusation? (Yes/No): ");
 		String answer = sc.nextLine();
 		if(answer.equalsIgnoreCase("Yes")) { //Player does want to make an accusation
-			System.out.println("\nPlease type in your accusation.");
-			System.out.print("Person: ");
+			out.println("\nPlease type in your accusation.");
+			out.print("Person: ");
 			String person = sc.nextLine();
-			System.out.print("Weapon: ");
+			out.print("Weapon: ");
 			String weapon = sc.nextLine();
-			System.out.print("Room: ");
+			out.print("Room: ");
 			String room = sc.nextLine();
-			System.out.println("\nPress ENTER to reveal the details of the murder...");
+			out.println("\nPress ENTER to reveal the details of the murder...");
 			sc.nextLine();
 			checkPlayerAccusation(person, weapon, room);
+			return true;
 		}else { //Player does not want to make an accusation
-			System.out.println("\nYou have chosen not to make an accusation. Continue on with the game. \n");
-			gameLoop(sc); //Go back through the game loop until the player want to actually make an accusation (or the computer)
+			out.println("\nYou have chosen not to make an accusation. Continue on with the game. \n");
+			return false; //gameLoop goes on until the player want to actually make an accusation (or the computer)
 		}
 	}
 	
@@ -393,36 +594,51 @@ public class Clue {
 	 * The sequence of events that plays out when the computer wants to make an accusation.
 	 * @param sc a Scanner
 	 */
-	public static void computerAccuse(Scanner sc) {
-		//First, check if the computer's last guess was fully correct. If it was, computer will accuse
-		if(gameData.isComputerGuessedCorrectly()) {
-			computerIsMakingCorrectAccusation(sc);
-			
-		}else if(doesArrayContainNull(isComputerReadyToAccuse())){ //If the computer is not ready to accuse (does not have all but 1 element from each category unmarked)
+	public void computerAccuse(Scanner sc) {
+		computerAccuse(sc, ClueEngine.COMPUTER);
+	}
+	
+	
+	/**
+	 * The sequence of events that plays out when one of the computers wants to make an accusation.
+	 * @param sc a Scanner
+	 * @param seat the computer's seat
+	 */
+	public void computerAccuse(Scanner sc, int seat) {
+		//The computer accuses if its last guess was fully correct or if it has all but 1 element from each category marked off
+		String[] accusation = engine.accusationFor(seat);
+		String name = seatName(seat);
+		if(accusation == null){ //If the computer is not ready to accuse
 			//Do nothing. Continue on with the game.
 			
-		}else { //If the computer is ready to accuse (the array from isComputerReadyToAccuse() does not contain any nulls)
-			if(isComputerAccusationCorrect(isComputerReadyToAccuse())) { 
-				computerIsMakingCorrectAccusation(sc);	
+		}else { //If the computer is ready to accuse
+			if(engine.isAccusationCorrect(accusation[0], accusation[1], accusation[2])) { 
+				computerIsMakingCorrectAccusation(sc, seat);	
 			}else { //If the computer's accusation was incorrect. This should not happen but I have it as a precaution.
-				String person = isComputerReadyToAccuse()[0];
-				String weapon = isComputerReadyToAccuse()[1];
-				String room = isComputerReadyToAccuse()[2];
-				System.out.println("The computer is accusing: " + person + " in the " + room + " with the " + weapon + "\n");
-				System.out.println("Press ENTER to see if the computer is correct.");
+				String person = accusation[0];
+				String weapon = accusation[1];
+				String room = accusation[2];
+				engine.accuse(seat, person, weapon, room);
+				out.println(capitalize(name) + " is accusing: " + person + " in the " + room + " with the " + weapon + "\n");
+				out.println("Press ENTER to see if " + name + " is correct.");
 				sc.nextLine();
-				System.out.println("The computer's guess was INCORRECT.");
-				System.out.println("The computer has lost, so you have won!");
-				System.out.print("Would you like to 1. Reveal the murder details and end the game, or 2. Make an accusation as well? Type 1 or 2:");
+				out.println(capitalize(name) + "'s guess was INCORRECT.");
+				if(!engine.isGameOver()) { //Other computers are still playing
+					out.println(capitalize(name) + " is out of the game, but will still show cards.");
+					return;
+				}
+				out.println(capitalize(name) + " has lost, so you have won!");
+				out.print("Would you like to 1. Reveal the murder details and end the game, or 2. Make an accusation as well? Type 1 or 2:");
 				int choice = sc.nextInt();
 				sc.nextLine();
 				if(choice == 1) {
-					gameData.printMurderDetails();
+					gameData.printMurderDetails(out);
 				}else {
-					gameData.printGameCard(gameData.getPlayerGameCard());
-					playerAccuse(sc);
+					renderer.printGameCard(gameData.getPlayerGameCardBits());
+					if(!playerAccuse(sc)) { //Every computer is out, so there is no game left to go on with
+						gameData.printMurderDetails(out);
+					}
 				}
-				gameData.setDidComputerAccuse(true);
 			}
 		}
 	}
@@ -434,24 +650,18 @@ public class Clue {
 	 * @param weapon a String of the weapon the player is accusing for the murder
 	 * @param room a String of the room the player is accusing for the murder location
 	 */
-	public static void checkPlayerAccusation(String person, String weapon, String room) {
-		Person accusedPerson = new Person(person);
-		Weapon accusedWeapon = new Weapon(weapon);
-		Room accusedRoom = new Room(room);
-		
-		Person murderPerson = gameData.getMurderPerson();
-		Weapon murderWeapon = gameData.getMurderWeapon();
-		Room murderRoom = gameData.getMurderRoom();
+	public void checkPlayerAccusation(String person, String weapon, String room) {
+		boolean correct = engine.accuse(ClueEngine.PLAYER, person, weapon, room);
 		
-		gameData.printMurderDetails();
+		gameData.printMurderDetails(out);
 		
-		if(accusedPerson.equals(murderPerson) && accusedWeapon.equals(murderWeapon) && accusedRoom.equals(murderRoom)) {
-			System.out.println("Congratulations! You correctly solved the murder! You win!!!!");
-			System.out.println("GAME OVER");
+		if(correct) {
+			out.println("Congratulations! You correctly solved the murder! You win!!!!");
+			out.println("GAME OVER");
 		}else {
-			System.out.println("Your accusation was incorrect. You did not solve the murder.");
-			System.out.println("You lose  :-( ");
-			System.out.println("GAME OVER");
+			out.println("Your accusation was incorrect. You did not solve the murder.");
+			out.println("You lose  :-( ");
+			out.println("GAME OVER");
 		}
 	}
 	
@@ -460,215 +670,48 @@ public class Clue {
 	 * The computer makes a correct accusation and wins the game. Prints off a series of messages showing this sequence.
 	 * @param sc a Scanner
 	 */
-	public static void computerIsMakingCorrectAccusation(Scanner sc) {
-		//Prints out the computer's accusation (which is correct in this method) and says that the computer has won.
-		System.out.println("The computer has decided to make an accusation.");
-		sc.nextLine(); //Player must press enter to continue on
-		System.out.println("The computer is accusing: " + gameData.getMurderPerson() + " in the " + gameData.getMurderRoom() + " with the " + gameData.getMurderWeapon() + "\n");
-		System.out.println("Press ENTER to see if the computer is correct.");
-		sc.nextLine();
-		gameData.printMurderDetails();
-		System.out.println("The computer guessed correctly!");
-		System.out.println("The computer has won. \n");
-		System.out.println("GAME OVER");
-		gameData.setDidComputerAccuse(true);
-	}
-	
-	
-	/**
-	 * Check if the computer's 1 unmarked person, 1 unmarked weapon, and 1 unmarked room match the murder details.
-	 * @param accusationArray an array containing 1 person, 1 weapon, and 1 room.
-	 * @return true if the accusation array matches the murder details, false if not.
-	 */
-	public static boolean isComputerAccusationCorrect(String[] accusationArray) {
-		String person = accusationArray[0]; //I formatted accusationArray so that the person is in index 0,
-		String weapon = accusationArray[1]; //the weapon is in index 1, 
-		String room = accusationArray[2]; //and the room is in index 2
-		
-		Person accusedPerson = new Person(person);
-		Weapon accusedWeapon = new Weapon(weapon);
-		Room accusedRoom = new Room(room);
-		
-		Person murderPerson = gameData.getMurderPerson();
-		Weapon murderWeapon = gameData.getMurderWeapon();
-		Room murderRoom = gameData.getMurderRoom();
-		
-		if(accusedPerson.equals(murderPerson) && accusedWeapon.equals(murderWeapon) && accusedRoom.equals(murderRoom) && !doesArrayContainNull(accusationArray)) {
-			//The computer's accusation is the same as the murder details determined at the beginning of the game (computer is correct)
-			return true;
-		}
-		return false; //Computer's guess was incorrect
-	}
-	
-	
-	/**
-	 * If the computer has everything on its game card marked off besides 1 person, 1 weapon, and 1 room, create an array containing those three elements. If not, create a null array.
-	 * @return an array containing the computer's 1 unmarked person, 1 unmarked weapon, and 1 unmarked room, or an array full of nulls if that criteria was not met.
-	 */
-	public static String[] isComputerReadyToAccuse() {
-		//If the computer has everything marked off except for 1 person, 1 weapon, and 1 room, it is ready to accuse
-		String[] accusationArray = new String[3]; //An array to contain the computer's unmarked person, weapon, and room
-		int personIdx = -1; //Used to index the unmarked person (changed to a valid number later)
-		int weaponIdx = -1; //Used to index the unmarked weapon (changed to a valid number later)
-		int roomIdx = -1; //Used to index the unmarked room (changed to a valid number later)
-		int pCount = 0; //Used to count the number of unmarked people
-		int wCount = 0; //Used to count the number of unmarked weapons
-		int rCount = 0; //Used to count the number of unmarked rooms
-		
-		for(int i = 0; i < gameData.getPeople().length; i++) {
-			String person = gameData.getPeople()[i].toString();
-			if(gameData.findMark(gameData.getComputerGameCard(), person).equals("") ){ //If the person is unmarked
-				personIdx = i; 
-				pCount++; 
-			}
-		}
-		for(int j = 0; j < gameData.getWeapons().length; j++) {
-			String weapon = gameData.getWeapons()[j].toString();
-			if(gameData.findMark(gameData.getComputerGameCard(), weapon).equals("") ){ //If the weapon is unmarked
-				weaponIdx = j;
-				wCount++; 
-			}
-		}
-		for(int k = 0; k < gameData.getRooms().length; k++) {
-			String room = gameData.getRooms()[k].toString();
-			if(gameData.findMark(gameData.getComputerGameCard(), room).equals("") ){ //If the room is unmarked
-				roomIdx = k;
-				rCount++;
-			}
-		}
-		if( (pCount == 1) && (wCount == 1) && (rCount == 1) ) { //If the computer has everything marked except for 1 thing from each category
-			accusationArray[0] = gameData.getPeople()[personIdx].toString(); //Add unmarked person to array
-			accusationArray[1] = gameData.getWeapons()[weaponIdx].toString(); //Add unmarked weapon to array
-			accusationArray[2] = gameData.getRooms()[roomIdx].toString(); //Add unmarked room to array
-		}
-		return accusationArray; //If array is full of nulls, then the computer is not ready to accuse
+	public void computerIsMakingCorrectAccusation(Scanner sc) {
+		computerIsMakingCorrectAccusation(sc, ClueEngine.COMPUTER);
 	}
 	
 	
 	/**
-	 * Roll two six-sided dice.
-	 * @return a random integer between 2 and 12 (as if you rolled two six-sided dice)
-	 */
-	public static int diceRoll() {
-		// Generates a random number between 2 and 12 (rolling 2 six-sided dice)
-		int min = 2;
-		int max = 12;
-		
-		int diceRoll = (int)(Math.random() * (max - min + 1)) + min; //Generates a random number from 2 to 12
-		return diceRoll;
-	}
-	
-	
-	/**
-	 * Remove any null values from a String array and resize the array
-	 * @param arr a String array
-	 * @return arr, but without the nulls and resized
-	 */
-	public static String[] removeNullFromArray(String[] arr) {
-		int length = 0;
-		for(String element : arr) {
-			if(element != null) {
-				length++;
-			}
-		}
-		String[] newArray = new String[length];
-		int idx = 0;
-		for(String element : arr) {
-			if(element != null) {
-				newArray[idx] = element;
-				idx++;
-			}
-		}
-		return newArray;
-	}
-	
-	
-	/**
-	 * Remove any null values from a Person array and resize the array
-	 * @param arr a Person array
-	 * @return arr, but without the nulls and resized
-	 */
-	public static Person[] removeNullFromArray(Person[] arr) {
-		int length = 0;
-		for(Person element : arr) {
-			if(element != null) {
-				length++;
-			}
-		}
-		Person[] newArray = new Person[length];
-		int idx = 0;
-		for(Person element : arr) {
-			if(element != null) {
-				newArray[idx] = element;
-				idx++;
-			}
-		}
-		return newArray;
-	}
-	
-	
-	/**
-	 * Remove any null values from a Weapon array and resize the array
-	 * @param arr a Weapon array
-	 * @return arr, but without the nulls and resized
+	 * One of the computers makes a correct accusation and wins the game. Prints off a series of messages showing this sequence.
+	 * @param sc a Scanner
+	 * @param seat the computer's seat
 	 */
-	public static Weapon[] removeNullFromArray(Weapon[] arr) {
-		int length = 0;
-		for(Weapon element : arr) {
-			if(element != null) {
-				length++;
-			}
-		}
-		Weapon[] newArray = new Weapon[length];
-		int idx = 0;
-		for(Weapon element : arr) {
-			if(element != null) {
-				newArray[idx] = element;
-				idx++;
-			}
-		}
-		return newArray;
+	public void computerIsMakingCorrectAccusation(Scanner sc, int seat) {
+		//Prints out the computer's accusation (which is correct in this method) and says that the computer has won.
+		String name = capitalize(seatName(seat));
+		out.println(name + " has decided to make an accusation.");
+		sc.nextLine(); //Player must press enter to continue on
+		out.println(name + " is accusing: " + gameData.getMurderPerson() + " in the " + gameData.getMurderRoom() + " with the " + gameData.getMurderWeapon() + "\n");
+		out.println("Press ENTER to see if " + seatName(seat) + " is correct.");
+		sc.nextLine();
+		gameData.printMurderDetails(out);
+		out.println(name + " guessed correctly!");
+		out.println(name + " has won. \n");
+		out.println("GAME OVER");
+		engine.accuse(seat, gameData.getMurderPerson().getName(), gameData.getMurderWeapon().getName(), gameData.getMurderRoom().getName());
 	}
 	
 	
 	/**
-	 * Remove any null values from a Room array and resize the array
-	 * @param arr a Room array
-	 * @return arr, but without the nulls and resized
+	 * @param seat a computer's seat
+	 * @return what to call the computer in a sentence: "the computer" if there is only one, otherwise "computer 1", "computer 2", and so on
 	 */
-	public static Room[] removeNullFromArray(Room[] arr) {
-		int length = 0;
-		for(Room element : arr) {
-			if(element != null) {
-				length++;
-			}
-		}
-		Room[] newArray = new Room[length];
-		int idx = 0;
-		for(Room element : arr) {
-			if(element != null) {
-				newArray[idx] = element;
-				idx++;
-			}
-		}
-		return newArray;
+	private String seatName(int seat) {
+		return (seats == 2) ? "the computer" : "computer " + seat;
 	}
 	
 	
 	/**
-	 * Check if there are any nulls in a String array.
-	 * @param arr a String array
-	 * @return true if the array contains any nulls, false if there are no nulls in the array
+	 * @param text some text
+	 * @return the text with its first letter capitalized, for the start of a sentence
 	 */
-	public static boolean doesArrayContainNull(String[] arr) {
-		for(int i = 0; i < arr.length; i++) {
-			if(arr[i] == null) {
-				return true;
-			}
-		}
-		return false;
+	private static String capitalize(String text) {
+		return Character.toUpperCase(text.charAt(0)) + text.substring(1);
 	}
 	
 	
 }
-
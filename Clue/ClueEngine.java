@@ -0,0 +1,995 @@
+import java.util.Arrays;
+
+/**
+ * This class runs the rules of a game of Clue without a Scanner or the console. Every move, guess, card shown, and accusation is
+ * passed in as a method call, and the result comes back as a return value (and is also sent to a GameListener).
+ * The console game in Clue.java is one client of this class.
+ * Seats take turns clockwise (seat 0, 1, 2, ...). When a seat guesses, the seats after it are asked in turn until one can show a card,
+ * and every other seat watching learns from who showed a card and who could not. A seat that accuses wrongly is out of the game
+ * (it still shows cards), and the last seat left wins.
+ * @author Maddie Moyer
+ */
+public class ClueEngine {
+
+	public static final int PLAYER = 0; //The seat of the player (user)
+	public static final int COMPUTER = 1; //The seat of the computer
+	public static final long DEFAULT_PROBABILITY_BUDGET_NANOS = 50_000_000L; //Most time to spend working out solution probabilities on one turn (50 ms)
+
+	private GameData gameData;
+	private CardRegistry registry;
+	private Board board;
+	private GameListener listener;
+
+	private String[] lastComputerGuess; //The computer's most recent guess {Person, Weapon, Room}
+	private KnowledgeMatrix[] knowledge; //What each seat knows about where every card is
+	private OpponentModel[] opponentModels; //What each seat suspects about the other seats' hands
+	private boolean gameOver;
+	private boolean[] eliminated; //For each seat, true once it has made a wrong accusation
+	private int winner;
+	private boolean lastAccusationCorrect;
+
+	private double accusationThreshold; //Seats accuse once their most likely solution is at least this likely (1.0 means only when certain)
+	private long probabilityBudgetNanos;
+	private SolutionProbabilities[] probabilities; //The most recent solution probabilities for each seat
+	private int[] probabilitiesVersion; //The KnowledgeMatrix version each seat's probabilities were worked out from
+	private Metrics metrics; //Where to record how long each phase of a turn takes, or null to not record it
+	private ComputerStrategy[] strategies; //How each seat moves, guesses, and accuses when the engine plays it
+
+
+	/**
+	 * Constructor. Sets up a brand new game with newly dealt cards.
+	 */
+	public ClueEngine() {
+		this(new GameData(), new GameListener() {});
+	}
+
+
+	/**
+	 * Constructor. Sets up a brand new game whose cards and random choices all come from a seed, so it can be played again exactly.
+	 * @param seed the seed for the game's random numbers
+	 */
+	public ClueEngine(long seed) {
+		this(new GameData(seed), new GameListener() {});
+	}
+
+
+	/**
+	 * Constructor
+	 * @param gameData the game data (cards, game cards, locations) of the game to run
+	 * @param listener a listener that is told about everything that happens during the game
+	 */
+	public ClueEngine(GameData gameData, GameListener listener) {
+		this(gameData, new Board(gameData.getDefinition()), listener);
+	}
+
+
+	/**
+	 * Constructor
+	 * @param gameData the game data (cards, game cards, locations) of the game to run
+	 * @param board the board to play on. A board never changes once it is set up, so many games can share one.
+	 * @param listener a listener that is told about everything that happens during the game
+	 */
+	public ClueEngine(GameData gameData, Board board, GameListener listener) {
+		this.gameData = gameData;
+		this.registry = gameData.getRegistry();
+		this.board = board;
+		int seats = gameData.getSeatCount();
+		int[] handSizes = new int[seats];
+		for(int seat = 0; seat < seats; seat++) {
+			handSizes[seat] = gameData.getHand(seat).size();
+		}
+		this.knowledge = new KnowledgeMatrix[seats];
+		for(int seat = 0; seat < seats; seat++) {
+			knowledge[seat] = new KnowledgeMatrix(registry, handSizes, seat, gameData.getHand(seat));
+		}
+		this.opponentModels = new OpponentModel[seats];
+		for(int seat = 0; seat < seats; seat++) {
+			opponentModels[seat] = new OpponentModel(seats, registry.getCardCount(), seat);
+		}
+		this.listener = listener;
+		this.gameOver = false;
+		this.eliminated = new boolean[seats];
+		this.winner = -1; //Nobody has won yet
+		this.accusationThreshold = 1.0;
+		this.probabilityBudgetNanos = DEFAULT_PROBABILITY_BUDGET_NANOS;
+		this.probabilities = new SolutionProbabilities[seats];
+		this.probabilitiesVersion = new int[seats];
+		Arrays.fill(probabilitiesVersion, -1);
+		this.strategies = new ComputerStrategy[seats];
+		Arrays.fill(strategies, BasicStrategy.INSTANCE);
+		listener.gameStarted(gameData);
+	}
+
+
+
+	//Getters and Setters
+
+	/**
+	 * @return the gameData
+	 */
+	public GameData getGameData() {
+		return gameData;
+	}
+
+	/**
+	 * @return the board
+	 */
+	public Board getBoard() {
+		return board;
+	}
+
+	/**
+	 * @param listener the listener to set
+	 */
+	public void setListener(GameListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * @param seat a seat
+	 * @return the strategy the seat plays with when the engine moves, guesses, or accuses for it
+	 */
+	public ComputerStrategy getStrategy(int seat) {
+		return strategies[seat];
+	}
+
+	/**
+	 * @param seat a seat
+	 * @param strategy the strategy the seat plays with when the engine moves, guesses, or accuses for it (BasicStrategy.INSTANCE by default)
+	 */
+	public void setStrategy(int seat, ComputerStrategy strategy) {
+		this.strategies[seat] = strategy;
+	}
+
+	/**
+	 * @param metrics where to record how long the dice roll, movement, suggestion, refutation, and accusation check of each turn take
+	 * (it can be shared by many games), or null to not record them
+	 */
+	public void setMetrics(Metrics metrics) {
+		this.metrics = metrics;
+	}
+
+	/**
+	 * @return the computer's most recent guess, or null if the computer has not guessed yet
+	 */
+	public String[] getLastComputerGuess() {
+		return lastComputerGuess;
+	}
+
+	/**
+	 * @param seat a seat
+	 * @return everything that seat knows about where the cards are
+	 */
+	public KnowledgeMatrix getKnowledge(int seat) {
+		return knowledge[seat];
+	}
+
+	/**
+	 * @param seat a seat
+	 * @return what that seat suspects (but does not know for certain) about the other seats' hands
+	 */
+	public OpponentModel getOpponentModel(int seat) {
+		return opponentModels[seat];
+	}
+
+	/**
+	 * @return the number of seats in the game
+	 */
+	public int getSeatCount() {
+		return knowledge.length;
+	}
+
+	/**
+	 * @return true once somebody has made a correct accusation, every seat but one has accused wrongly, or the game was stopped
+	 */
+	public boolean isGameOver() {
+		return gameOver;
+	}
+
+	/**
+	 * @param seat a seat
+	 * @return true if the seat made a wrong accusation and is out of the game
+	 */
+	public boolean isEliminated(int seat) {
+		return eliminated[seat];
+	}
+
+	/**
+	 * Put a seat back out of the game (or in it), for a game brought back from a GameSnapshot.
+	 * @param seat a seat
+	 * @param eliminated true if the seat made a wrong accusation and is out of the game
+	 */
+	public void setEliminated(int seat, boolean eliminated) {
+		this.eliminated[seat] = eliminated;
+	}
+
+	/**
+	 * @return true if the most recent accusation was correct (false if it was wrong or nobody has accused yet)
+	 */
+	public boolean wasLastAccusationCorrect() {
+		return lastAccusationCorrect;
+	}
+
+	/**
+	 * @return the seat that won the game, or -1 if the game is not over yet (or was stopped without a winner)
+	 */
+	public int getWinner() {
+		return winner;
+	}
+
+	/**
+	 * Put back how the game stands, for a game brought back from a GameSnapshot.
+	 * @param gameOver true if the game is over
+	 * @param winner the seat that won, or -1 if nobody has
+	 * @param lastAccusationCorrect true if the most recent accusation was correct
+	 */
+	public void setResult(boolean gameOver, int winner, boolean lastAccusationCorrect) {
+		this.gameOver = gameOver;
+		this.winner = winner;
+		this.lastAccusationCorrect = lastAccusationCorrect;
+	}
+
+	/**
+	 * @return how likely the most likely solution has to be before a seat accuses
+	 */
+	public double getAccusationThreshold() {
+		return accusationThreshold;
+	}
+
+	/**
+	 * Below 1.0 the computer also uses the exact solution probabilities to pick its guesses.
+	 * @param accusationThreshold how likely the most likely solution has to be before a seat accuses (1.0 means only when certain)
+	 */
+	public void setAccusationThreshold(double accusationThreshold) {
+		this.accusationThreshold = accusationThreshold;
+	}
+
+	/**
+	 * @param probabilityBudgetNanos the most time to spend working out solution probabilities on one turn, in nanoseconds
+	 */
+	public void setProbabilityBudgetNanos(long probabilityBudgetNanos) {
+		this.probabilityBudgetNanos = probabilityBudgetNanos;
+	}
+
+
+	//Methods
+
+	/**
+	 * Roll two six-sided dice for a seat.
+	 * @param seat the seat that is rolling
+	 * @return a random integer between 2 and 12 (as if you rolled two six-sided dice)
+	 */
+	public int diceRoll(int seat) {
+		long start = startTimer();
+		int min = 2;
+		int max = 12;
+
+		int diceRoll = gameData.getRandom().nextInt(min, max + 1); //Generates a random number from 2 to 12
+		listener.diceRolled(seat, diceRoll);
+		if(metrics != null) {
+			metrics.diceRoll.recordSince(start);
+		}
+		return diceRoll;
+	}
+
+
+	/**
+	 * Find the room on the board with a specific name.
+	 * @param roomName the name of a room
+	 * @return the Room with that name, or null if there is no room with that name
+	 */
+	public Room findRoom(String roomName) {
+		return registry.findRoom(roomName);
+	}
+
+
+	/**
+	 * Move the player to a new room (or keep them in the same room) after they roll the dice.
+	 * @param roomName the name of the room the player wants to move to
+	 * @param diceRoll the number of spaces the player can move
+	 * @return true if the player is now in that room, false if the room does not exist or is further than diceRoll spaces away
+	 */
+	public boolean movePlayerRoom(String roomName, int diceRoll) {
+		long start = startTimer();
+		Room currentLocation = gameData.getPlayerLocation();
+		int newRoomIdx = registry.roomIndex(roomName);
+		boolean allowed = newRoomIdx != -1 && board.getDistance(registry.roomIndex(currentLocation), newRoomIdx) <= diceRoll; //False if the player is not allowed to move there
+		if(allowed && gameData.getRooms()[newRoomIdx] != currentLocation) {
+			Room newLocation = gameData.getRooms()[newRoomIdx];
+			gameData.setPlayerLocation(newLocation);
+			listener.moved(PLAYER, currentLocation, newLocation);
+		}
+		if(metrics != null) {
+			metrics.movement.recordSince(start);
+		}
+		return allowed;
+	}
+
+
+	/**
+	 * The computer moves to a room within the dice roll distance, chosen by its strategy. With the normal strategy, that is a random room
+	 * that it does not already have marked off on its game card (and if every room it can reach is marked off, the computer stays where it is).
+	 * @param diceRoll the number of spaces the computer can move
+	 * @return the room the computer is in after moving
+	 */
+	public Room moveComputerRoom(int diceRoll) {
+		return moveRoom(COMPUTER, diceRoll);
+	}
+
+
+	/**
+	 * A seat moves to the room (within the dice roll distance) that its strategy chooses.
+	 * This is how the computer moves, and it lets the player's seat be played the same way (for example, when two computers play each other).
+	 * @param seat the seat that is moving
+	 * @param diceRoll the number of spaces the seat can move
+	 * @return the room the seat is in after moving
+	 * @throws IllegalStateException if the strategy picks a room that cannot be reached with the roll
+	 */
+	public Room moveRoom(int seat, int diceRoll) {
+		long start = startTimer();
+		Room currentLocation = locationOf(seat);
+		int currentIdx = registry.roomIndex(currentLocation);
+		int newIdx = strategies[seat].chooseRoom(this, seat, diceRoll);
+		if(newIdx != currentIdx && (board.getReachableRooms(currentIdx, diceRoll) & (1L << newIdx)) == 0) {
+			throw new IllegalStateException("The " + gameData.getRooms()[newIdx] + " cannot be reached from the " + currentLocation + " with a " + diceRoll);
+		}
+		Room newLocation = gameData.getRooms()[newIdx];
+		if(newLocation != currentLocation) {
+			gameData.setLocation(seat, newLocation);
+			listener.moved(seat, currentLocation, newLocation);
+		}
+		if(metrics != null) {
+			metrics.movement.recordSince(start);
+		}
+		return newLocation;
+	}
+
+
+	/**
+	 * Find the rooms that the player is allowed to move to (the rooms that are less than or equal to the dice roll number of spaces away).
+	 * @param diceRoll the number of spaces the player can move
+	 * @return a Room array where index 0 is the player's current room, followed by every other room they can reach
+	 */
+	public Room[] playerPossibleRoomsToMoveTo(int diceRoll) {
+		return possibleRoomsToMoveTo(gameData.getPlayerLocation(), diceRoll);
+	}
+
+
+	/**
+	 * Find the rooms that the computer is allowed to move to (the rooms that are less than or equal to the dice roll number of spaces away).
+	 * @param diceRoll the number of spaces the computer can move
+	 * @return a Room array where index 0 is the computer's current room, followed by every other room it can reach
+	 */
+	public Room[] computerPossibleRoomsToMoveTo(int diceRoll) {
+		return possibleRoomsToMoveTo(gameData.getComputerLocation(), diceRoll);
+	}
+
+
+	/**
+	 * Compare the dice roll to the distances between the current room and the other rooms.
+	 * @param currentLocation the room the seat is currently in
+	 * @param diceRoll the number of spaces the seat can move
+	 * @return a Room array where index 0 is currentLocation, followed by every other room within diceRoll spaces
+	 */
+	private Room[] possibleRoomsToMoveTo(Room currentLocation, int diceRoll) {
+		Room[] possibleRoomsArr = new Room[gameData.getRooms().length];
+		possibleRoomsArr[0] = currentLocation;
+
+		int currentIdx = registry.roomIndex(currentLocation);
+		long reachable = board.getReachableRooms(currentIdx, diceRoll) & ~(1L << currentIdx); //Every room within reach except the current one
+		int idx = 1; //Already added the current location so start idx at 1
+		while(reachable != 0) {
+			possibleRoomsArr[idx] = gameData.getRooms()[Long.numberOfTrailingZeros(reachable)];
+			reachable &= reachable - 1; //Move on to the next room
+			idx++;
+		}
+		return removeNullFromArray(possibleRoomsArr); //Get rid of any spots that were not filled
+	}
+
+
+	/**
+	 * The player makes a guess in the room they are currently in.
+	 * @param person the person the player is guessing
+	 * @param weapon the weapon the player is guessing
+	 * @return a String array containing the details of the player's guess {Person, Weapon, Room}
+	 */
+	public String[] playerMakeAGuess(String person, String weapon) {
+		GameEvents.Suggestion event = new GameEvents.Suggestion();
+		event.begin();
+		long start = startTimer();
+		String[] guessArray = new String[] {person, weapon, gameData.getPlayerLocation().toString()};
+		listener.guessMade(PLAYER, guessArray);
+		if(metrics != null) {
+			metrics.suggestion.recordSince(start);
+		}
+		GameEvents.record(event, e -> {
+			e.seat = PLAYER;
+			e.person = registry.idOf(person);
+			e.weapon = registry.idOf(weapon);
+			e.room = registry.idOf(guessArray[2]);
+			e.candidatePeople = -1;
+			e.candidateWeapons = -1;
+		});
+		return guessArray;
+	}
+
+
+	/**
+	 * The computer makes a guess in the room it is currently in, using a random unmarked person and a random unmarked weapon.
+	 * @return a String array containing the details of the computer's guess {Person, Weapon, Room}
+	 */
+	public String[] computerMakeAGuess() {
+		return makeAGuess(COMPUTER);
+	}
+
+
+	/**
+	 * A seat makes a guess in the room it is currently in, using the person and weapon its strategy chooses
+	 * (with the normal strategy, a random person and a random weapon that might still be in the envelope).
+	 * @param seat the seat that is guessing
+	 * @return a String array containing the details of the guess {Person, Weapon, Room}
+	 */
+	public String[] makeAGuess(int seat) {
+		GameEvents.Suggestion event = new GameEvents.Suggestion();
+		event.begin();
+		long start = startTimer();
+		Room roomGuess = locationOf(seat);
+		int[] choice = strategies[seat].chooseGuess(this, seat);
+		int personIdx = choice[0];
+		int weaponIdx = choice[1];
+		Person personGuess = gameData.getPeople()[personIdx];
+		Weapon weaponGuess = gameData.getWeapons()[weaponIdx];
+
+		String[] guessArray = new String[] {personGuess.toString(), weaponGuess.toString(), roomGuess.toString()};
+		if(seat == COMPUTER) {
+			lastComputerGuess = guessArray;
+		}
+		listener.guessMade(seat, guessArray);
+		if(metrics != null) {
+			metrics.suggestion.recordSince(start);
+		}
+		GameEvents.record(event, e -> {
+			e.seat = seat;
+			e.person = registry.personId(personIdx);
+			e.weapon = registry.weaponId(weaponIdx);
+			e.room = registry.roomId(registry.roomIndex(roomGuess));
+			e.candidatePeople = knowledge[seat].possibleEnvelopePeopleCount(); //What the seat had to choose from (nothing has been learned since it chose)
+			e.candidateWeapons = knowledge[seat].possibleEnvelopeWeaponCount();
+		});
+		return guessArray;
+	}
+
+
+	/**
+	 * Find the cards the player has that the computer guessed.
+	 * @param computerGuess a String array containing the details of the computer's guess {Person, Weapon, Room}
+	 * @return a String array of the player's cards that are in the guess (empty if the player has none of them)
+	 */
+	public String[] cardsPlayerCanShow(String[] computerGuess) {
+		return cardNames(cardsPlayerCanShow(guessBits(computerGuess)));
+	}
+
+
+	/**
+	 * Find the cards the player has that the computer guessed, using card IDs.
+	 * @param guessBits the guessed cards (see guessBits)
+	 * @return the guessed cards that the player has, as a new set (empty if the player has none of them)
+	 */
+	public CardSet cardsPlayerCanShow(CardSet guessBits) {
+		CardSet canShow = new CardSet(guessBits);
+		canShow.retainAll(gameData.getPlayerHand());
+		return canShow;
+	}
+
+
+	/**
+	 * The player shows the computer a card after the computer makes a guess.
+	 * @param computerGuess a String array containing the details of the computer's guess {Person, Weapon, Room}
+	 * @param cardShown the card the player is showing, or null if the player has none of the guessed cards
+	 * @return true if the card was shown, false if the player is not allowed to show that card
+	 */
+	public boolean playerShowComputerACard(String[] computerGuess, String cardShown) {
+		int cardId = (cardShown == null) ? -1 : registry.idOf(cardShown);
+		if(cardShown != null && cardId == -1) {
+			return false; //Not a real card
+		}
+		return playerShowComputerACard(guessBits(computerGuess), cardId);
+	}
+
+
+	/**
+	 * The player shows the computer a card after the computer makes a guess, using card IDs.
+	 * @param guessBits the computer's guess (see guessBits)
+	 * @param cardId the ID of the card the player is showing, or -1 if the player has none of the guessed cards
+	 * @return true if the card was shown, false if the player is not allowed to show that card
+	 */
+	public boolean playerShowComputerACard(CardSet guessBits, int cardId) {
+		return playerShowCard(COMPUTER, guessBits, cardId);
+	}
+
+
+	/**
+	 * The player shows a card to a seat that made a guess, using card IDs.
+	 * @param guesser the seat that made the guess
+	 * @param guessBits the guess (see guessBits)
+	 * @param cardId the ID of the card the player is showing, or -1 if the player has none of the guessed cards
+	 * @return true if the card was shown, false if the player is not allowed to show that card
+	 */
+	public boolean playerShowCard(int guesser, CardSet guessBits, int cardId) {
+		GameEvents.Refutation event = new GameEvents.Refutation();
+		event.begin();
+		long start = startTimer();
+		CardSet hand = gameData.getPlayerHand();
+		boolean allowed = (cardId == -1) ? !hand.intersects(guessBits) : hand.contains(cardId) && guessBits.contains(cardId); //The player has to show a card they have that was guessed, if they have one
+		if(allowed) {
+			showCard(PLAYER, guesser, guessBits, cardId);
+		}
+		if(metrics != null) {
+			metrics.refutation.recordSince(start);
+		}
+		commitRefutation(event, guesser, (cardId == -1) ? -1 : PLAYER, cardId, 1);
+		return allowed;
+	}
+
+
+	/**
+	 * The computer shows the player a random card from the player's guess (if it has any) and the player crosses it off their game card.
+	 * @param playerGuess a String array containing the details of the player's guess {Person, Weapon, Room}
+	 * @return the card the computer showed, or null if the computer does not have any of the guessed cards
+	 */
+	public String computerShowPlayerACard(String[] playerGuess) {
+		int cardId = computerShowPlayerACard(guessBits(playerGuess));
+		return (cardId == -1) ? null : registry.nameOf(cardId);
+	}
+
+
+	/**
+	 * The computer shows the player a random card from the player's guess (if it has any), using card IDs.
+	 * @param guessBits the player's guess (see guessBits)
+	 * @return the ID of the card the computer showed, or -1 if the computer does not have any of the guessed cards
+	 */
+	public int computerShowPlayerACard(CardSet guessBits) {
+		return computerShowCard(COMPUTER, PLAYER, guessBits);
+	}
+
+
+	/**
+	 * One computer seat shows a random card from another seat's guess (if it has any), like showCard, but timed like refute: it is recorded in the
+	 * metrics and as a refutation event. Use this when the seats are asked one at a time (like on the console) instead of all at once with refute.
+	 * @param shower the computer seat that is showing a card
+	 * @param guesser the seat that made the guess
+	 * @param guessBits the guess (see guessBits)
+	 * @return the ID of the card that was shown, or -1 if the shower does not have any of the guessed cards
+	 */
+	public int computerShowCard(int shower, int guesser, CardSet guessBits) {
+		GameEvents.Refutation event = new GameEvents.Refutation();
+		event.begin();
+		long start = startTimer();
+		int cardId = showCard(shower, guesser, guessBits);
+		if(metrics != null) {
+			metrics.refutation.recordSince(start);
+		}
+		commitRefutation(event, guesser, (cardId == -1) ? -1 : shower, cardId, 1);
+		return cardId;
+	}
+
+
+	/**
+	 * A seat shows a random card from another seat's guess (if it has any), and the guesser crosses it off their game card.
+	 * If the shower has none of the cards, the guesser's guess could not be answered.
+	 * @param shower the seat that is showing a card
+	 * @param guesser the seat that made the guess
+	 * @param guessBits the guess (see guessBits)
+	 * @return the ID of the card that was shown, or -1 if the shower does not have any of the guessed cards
+	 */
+	public int showCard(int shower, int guesser, CardSet guessBits) {
+		CardSet hand = handOf(shower);
+		int hasThese = hand.countCommon(guessBits);
+		int cardId = -1;
+		if(hasThese != 0) {
+			int pick = gameData.getRandom().nextInt(hasThese);
+			for(cardId = guessBits.nextCard(0); !hand.contains(cardId) || pick-- > 0; cardId = guessBits.nextCard(cardId + 1)) {
+				//Skip the guessed cards the shower does not have, and the ones it has until we get to the one that was picked
+			}
+		}
+		return showCard(shower, guesser, guessBits, cardId);
+	}
+
+
+	/**
+	 * Ask the seats after the guesser, clockwise, to show a card from the guess until one of them can (each one picks a random card if it has more than one).
+	 * @param guesser the seat that made the guess
+	 * @param guessBits the guess (see guessBits)
+	 * @return the seat that showed a card, or -1 if nobody could
+	 */
+	public int refute(int guesser, CardSet guessBits) {
+		GameEvents.Refutation event = new GameEvents.Refutation();
+		event.begin();
+		long start = startTimer();
+		int shower = nextSeat(guesser);
+		int asked = 1;
+		int cardId;
+		while((cardId = showCard(shower, guesser, guessBits)) == -1 && nextSeat(shower) != guesser) {
+			shower = nextSeat(shower);
+			asked++;
+		}
+		if(metrics != null) {
+			metrics.refutation.recordSince(start);
+		}
+		if(cardId == -1) {
+			shower = -1; //Nobody could show a card
+		}
+		commitRefutation(event, guesser, shower, cardId, asked);
+		return shower;
+	}
+
+
+	/**
+	 * A seat shows a particular card from another seat's guess, and the guesser crosses it off their game card.
+	 * This makes no random choices, so a game can be replayed from its recorded events (see GameLogReader).
+	 * If the shower is the last seat before the guesser and has none of the cards, nobody could answer the guess.
+	 * @param shower the seat that is showing a card
+	 * @param guesser the seat that made the guess
+	 * @param guessBits the guess (see guessBits)
+	 * @param cardId the ID of the card that is shown, or -1 if the shower does not have any of the guessed cards
+	 * @return cardId
+	 */
+	public int showCard(int shower, int guesser, CardSet guessBits, int cardId) {
+		if(cardId != -1) {
+			gameCardOf(guesser).mark(cardId);
+		}else if(guesser == COMPUTER && nextSeat(shower) == guesser) {
+			gameData.setComputerGuessedCorrectly(true); //Nobody had any of the cards, so the computer guessed everything correctly
+		}
+		learnFromGuess(guesser, shower, guessBits, cardId);
+		listener.cardShown(guesser, shower, (cardId == -1) ? null : registry.nameOf(cardId));
+		return cardId;
+	}
+
+
+	/**
+	 * Fill in and record a refutation event, if a flight recording wants it.
+	 * @param event the event, begun when the seats started being asked
+	 * @param guesser the seat that made the guess
+	 * @param shower the seat that showed a card, or -1 if nobody did
+	 * @param cardId the ID of the card that was shown, or -1 if none was
+	 * @param seatsAsked how many seats were asked
+	 */
+	private static void commitRefutation(GameEvents.Refutation event, int guesser, int shower, int cardId, int seatsAsked) {
+		GameEvents.record(event, e -> {
+			e.guesser = guesser;
+			e.shower = shower;
+			e.card = cardId;
+			e.seatsAsked = seatsAsked;
+		});
+	}
+
+
+	/**
+	 * Tell every seat's knowledge what happened when a seat was asked to show a card, and cross off on the computer seats' game cards anything they now know is not in the envelope.
+	 * The guesser saw the card. The other seats only saw whether a card was shown, so they learn that the shower has at least one of the cards (or none of them).
+	 * Each seat's opponent model is told about the guess (when the first seat is asked) and the guesser's about which card it was shown.
+	 * @param guesser the seat that made the guess
+	 * @param shower the seat that was asked to show a card
+	 * @param guessBits the guess
+	 * @param cardId the ID of the card that was shown, or -1 if no card was shown
+	 */
+	private void learnFromGuess(int guesser, int shower, CardSet guessBits, int cardId) {
+		boolean firstAsked = shower == nextSeat(guesser);
+		for(int seat = 0; seat < knowledge.length; seat++) {
+			if(firstAsked) {
+				opponentModels[seat].guessed(guesser, guessBits);
+			}
+			if(seat == shower) {
+				continue; //The shower learns nothing new
+			}
+			if(cardId == -1) {
+				knowledge[seat].doesNotHold(shower, guessBits);
+			}else if(seat == guesser) {
+				knowledge[seat].holds(shower, cardId);
+				opponentModels[seat].shown(shower, cardId, guessBits);
+			}else {
+				knowledge[seat].holdsOneOf(shower, guessBits);
+			}
+			if(seat != PLAYER) {
+				gameCardOf(seat).markAllExcept(knowledge[seat].getPossibleEnvelope());
+			}
+		}
+	}
+
+
+	/**
+	 * Turn a guess into a set of card IDs. Names that are not cards are left out.
+	 * @param guess a String array containing a guess {Person, Weapon, Room}
+	 * @return the guessed cards
+	 */
+	public CardSet guessBits(String[] guess) {
+		CardSet bits = new CardSet(registry.getCardCount());
+		for(String card : guess) {
+			int id = registry.idOf(card);
+			if(id != -1) {
+				bits.add(id);
+			}
+		}
+		return bits;
+	}
+
+
+	/**
+	 * Turn a set of cards back into their names.
+	 * @param cards the cards
+	 * @return a String array with the name of each card, in ID order
+	 */
+	private String[] cardNames(CardSet cards) {
+		String[] names = new String[cards.size()];
+		int i = 0;
+		for(int id = cards.nextCard(0); id != -1; id = cards.nextCard(id + 1)) {
+			names[i++] = registry.nameOf(id);
+		}
+		return names;
+	}
+
+
+	/**
+	 * If the computer has everything on its game card marked off besides 1 person, 1 weapon, and 1 room, create an array containing those three elements. If not, create a null array.
+	 * @return an array containing the computer's 1 unmarked person, 1 unmarked weapon, and 1 unmarked room, or an array full of nulls if that criteria was not met.
+	 */
+	public String[] isComputerReadyToAccuse() {
+		return isReadyToAccuse(COMPUTER);
+	}
+
+
+	/**
+	 * If a seat knows the person, weapon, and room in the envelope, create an array containing those three elements. If not, create a null array.
+	 * @param seat the seat to check
+	 * @return an array containing the person, weapon, and room the seat knows are in the envelope, or an array full of nulls if it does not know them yet.
+	 */
+	public String[] isReadyToAccuse(int seat) {
+		String[] accusationArray = new String[3]; //An array to contain the person, weapon, and room
+		if(knowledge[seat].isEnvelopeSolved()) {
+			CardSet envelope = knowledge[seat].getEnvelopeCards(); //Exactly one person, one weapon, and one room, in ID order
+			int id = -1;
+			for(int i = 0; i < 3; i++) {
+				id = envelope.nextCard(id + 1);
+				accusationArray[i] = registry.nameOf(id);
+			}
+		}
+		return accusationArray; //If array is full of nulls, then the seat is not ready to accuse
+	}
+
+
+	/**
+	 * Decide whether the computer wants to accuse at the start of its turn. It accuses once it knows the person, weapon, and room in the envelope.
+	 * @return the accusation {Person, Weapon, Room} the computer wants to make, or null if it is not ready to accuse
+	 */
+	public String[] computerAccusation() {
+		return accusationFor(COMPUTER);
+	}
+
+
+	/**
+	 * Decide whether a seat wants to accuse at the start of its turn, using its strategy. With the normal strategy the seat accuses once the envelope is known
+	 * (or, if the accusation threshold is below 1.0, as soon as its most likely solution is at least that likely).
+	 * @param seat the seat that is deciding
+	 * @return the accusation {Person, Weapon, Room} the seat wants to make, or null if it is not ready to accuse
+	 */
+	public String[] accusationFor(int seat) {
+		GameEvents.AccusationCheck event = new GameEvents.AccusationCheck();
+		event.begin();
+		long start = startTimer();
+		String[] accusation = strategies[seat].chooseAccusation(this, seat);
+		if(metrics != null) {
+			metrics.accusationCheck.recordSince(start);
+		}
+		GameEvents.record(event, e -> {
+			e.seat = seat;
+			e.candidateSolutions = (long) knowledge[seat].possibleEnvelopePeopleCount()
+					* knowledge[seat].possibleEnvelopeWeaponCount() * Long.bitCount(knowledge[seat].possibleEnvelopeRooms());
+			e.ready = accusation != null;
+		});
+		return accusation;
+	}
+
+
+	/**
+	 * Work out the exact solution probabilities for a seat. They are only worked out again when the seat has learned something new.
+	 * @param seat the seat
+	 * @return the seat's solution probabilities, or null if they could not be worked out within the time budget
+	 */
+	public SolutionProbabilities probabilitiesFor(int seat) {
+		int version = knowledge[seat].getVersion();
+		if(probabilitiesVersion[seat] != version) {
+			probabilities[seat] = SolutionProbabilities.compute(registry, knowledge[seat], probabilityBudgetNanos);
+			probabilitiesVersion[seat] = version;
+		}
+		return probabilities[seat];
+	}
+
+
+	/**
+	 * Play a whole turn for a seat the way the computer plays: accuse if ready, otherwise roll the dice, move, guess, and have the seats after it show a card.
+	 * Nobody has to press ENTER or pick a card, so two seats played this way make a complete computer-vs-computer game.
+	 * @param seat the seat whose turn it is
+	 */
+	public void playAutoTurn(int seat) {
+		GameEvents.Turn event = new GameEvents.Turn();
+		event.begin();
+		Room from = locationOf(seat);
+		String[] accusation = accusationFor(seat);
+		int diceRoll = 0;
+		if(accusation != null) {
+			accuse(seat, accusation[0], accusation[1], accusation[2]); //The seat's turn ends once it accuses
+		}else {
+			diceRoll = diceRoll(seat);
+			moveRoom(seat, diceRoll);
+			String[] guess = makeAGuess(seat);
+			refute(seat, guessBits(guess));
+		}
+		int rolled = diceRoll;
+		GameEvents.record(event, e -> {
+			e.seat = seat;
+			e.diceRoll = rolled;
+			e.fromRoom = from.getName();
+			e.toRoom = locationOf(seat).getName();
+			e.accused = accusation != null;
+		});
+	}
+
+
+	/**
+	 * @return the time right now in nanoseconds if metrics are being recorded, otherwise 0 (so nothing is timed when nobody is looking)
+	 */
+	private long startTimer() {
+		return (metrics == null) ? 0L : System.nanoTime();
+	}
+
+	/**
+	 * @param seat a seat
+	 * @return the seat's game card
+	 */
+	private GameCard gameCardOf(int seat) {
+		return gameData.getGameCard(seat);
+	}
+
+	/**
+	 * @param seat a seat
+	 * @return the room the seat is in
+	 */
+	private Room locationOf(int seat) {
+		return gameData.getLocation(seat);
+	}
+
+	/**
+	 * @param seat a seat
+	 * @return the cards the seat was dealt
+	 */
+	private CardSet handOf(int seat) {
+		return gameData.getHand(seat);
+	}
+
+	/**
+	 * @param seat a seat
+	 * @return the seat to its left (the next one to take a turn, or to be asked for a card)
+	 */
+	public int nextSeat(int seat) {
+		return (seat + 1 == knowledge.length) ? 0 : seat + 1;
+	}
+
+	/**
+	 * @param seat a seat
+	 * @return the next seat after it that is still in the game (seat itself if nobody else is)
+	 */
+	public int nextActiveSeat(int seat) {
+		int next = nextSeat(seat);
+		while(eliminated[next] && next != seat) {
+			next = nextSeat(next);
+		}
+		return next;
+	}
+
+	/**
+	 * @param seat a seat in a two-player game
+	 * @return the other seat
+	 */
+	public static int otherSeat(int seat) {
+		return (seat == PLAYER) ? COMPUTER : PLAYER;
+	}
+
+
+	/**
+	 * Check if an accusation matches the murder details.
+	 * @param person the name of the person being accused
+	 * @param weapon the name of the weapon being accused
+	 * @param room the name of the room being accused
+	 * @return true if all three match the murder details, false if not
+	 */
+	public boolean isAccusationCorrect(String person, String weapon, String room) {
+		return gameData.getMurderPerson().getName().equals(person)
+				&& gameData.getMurderWeapon().getName().equals(weapon)
+				&& gameData.getMurderRoom().getName().equals(room);
+	}
+
+
+	/**
+	 * Make an accusation. A correct accusation wins and ends the game. An incorrect one puts the seat out of the game; once only one
+	 * seat is left (with two seats, right away), that seat wins and the game is over.
+	 * @param seat the seat making the accusation
+	 * @param person the name of the person being accused
+	 * @param weapon the name of the weapon being accused
+	 * @param room the name of the room being accused
+	 * @return true if the accusation was correct, false if not
+	 */
+	public boolean accuse(int seat, String person, String weapon, String room) {
+		GameEvents.Accusation event = new GameEvents.Accusation();
+		event.begin();
+		boolean correct = isAccusationCorrect(person, weapon, room);
+		lastAccusationCorrect = correct;
+		if(correct) {
+			winner = seat;
+			gameOver = true;
+		}else {
+			eliminated[seat] = true;
+			int left = nextActiveSeat(seat);
+			if(eliminated[left] || nextActiveSeat(left) == left) { //Nobody else, or only one seat, is still in the game
+				if(winner == -1) {
+					winner = left;
+				}
+				gameOver = true;
+			}
+		}
+		if(seat == COMPUTER) {
+			gameData.setDidComputerAccuse(true);
+		}
+		listener.accusationMade(seat, new String[] {person, weapon, room}, correct);
+		if(gameOver) {
+			listener.gameEnded(winner);
+		}
+		boolean over = gameOver;
+		GameEvents.record(event, e -> {
+			e.seat = seat;
+			e.person = registry.idOf(person);
+			e.weapon = registry.idOf(weapon);
+			e.room = registry.idOf(room);
+			e.correct = correct;
+			e.gameOver = over;
+		});
+		return correct;
+	}
+
+
+	/**
+	 * End a game that nobody has won yet, for example one that has gone on for too many turns. Nobody wins, and listeners are told the game
+	 * ended so they can finish up (a GameLog.Recorder writes out what it has). Stopping a game that is already over does nothing.
+	 */
+	public void stopGame() {
+		if(!gameOver) {
+			gameOver = true;
+			listener.gameEnded(winner);
+		}
+	}
+
+
+	/**
+	 * Remove any null values from an array and resize the array
+	 * @param <T> the type of the elements (String, Person, Weapon, Room, ...)
+	 * @param arr an array
+	 * @return arr, but without the nulls and resized (an array of the same type as arr)
+	 */
+	public static <T> T[] removeNullFromArray(T[] arr) {
+		int length = 0;
+		for(T element : arr) {
+			if(element != null) {
+				length++;
+			}
+		}
+		T[] newArray = Arrays.copyOf(arr, length); //Makes an array of the same type, which is then filled in
+		int idx = 0;
+		for(T element : arr) {
+			if(element != null) {
+				newArray[idx] = element;
+				idx++;
+			}
+		}
+		return newArray;
+	}
+
+}
@@ -0,0 +1,56 @@
+import java.util.List;
+
+/**
+ * This interface makes the decisions a computer seat makes on its turn: which room to move to, which person and weapon to guess,
+ * and whether to accuse. ClueEngine asks the seat's strategy and then carries out the decision (telling the listener, recording metrics, and so on).
+ * BasicStrategy is the computer's normal way of playing, and IsmctsStrategy searches ahead for stronger play.
+ * @author Maddie Moyer
+ */
+public interface ComputerStrategy {
+
+	List<String> NAMES = List.of("basic", "infogain", "route", "ismcts"); //The strategies that can be picked by name (see named)
+
+
+	/**
+	 * Decide which room to move to after rolling the dice.
+	 * @param engine the engine running the game (for the seat's knowledge, the board, and the game's random numbers)
+	 * @param seat the seat that is moving
+	 * @param diceRoll the number of spaces the seat can move
+	 * @return the index of the room to move to. It must be one of board.getReachableRooms(current room, diceRoll), which includes staying put.
+	 */
+	int chooseRoom(ClueEngine engine, int seat, int diceRoll);
+
+	/**
+	 * Decide which person and weapon to guess along with the room the seat is in.
+	 * @param engine the engine running the game
+	 * @param seat the seat that is guessing
+	 * @return {person index, weapon index} in the people and weapons arrays
+	 */
+	int[] chooseGuess(ClueEngine engine, int seat);
+
+	/**
+	 * Decide whether to accuse at the start of the seat's turn.
+	 * @param engine the engine running the game
+	 * @param seat the seat that is deciding
+	 * @return the accusation {Person, Weapon, Room}, or null to not accuse yet
+	 */
+	String[] chooseAccusation(ClueEngine engine, int seat);
+
+	/**
+	 * Make a strategy from its name, as it is typed on the command line.
+	 * @param name "basic" (see BasicStrategy), "infogain" (see InformationGainStrategy), "route" (see RoutePlanningStrategy), or "ismcts" (see IsmctsStrategy)
+	 * @return the strategy. Every call makes a new IsmctsStrategy, because it remembers its planned guess and so cannot be shared by seats.
+	 * The others keep nothing between calls and are shared.
+	 * @throws IllegalArgumentException if there is no strategy with that name
+	 */
+	static ComputerStrategy named(String name) {
+		switch(name) {
+			case "basic": return BasicStrategy.INSTANCE;
+			case "infogain": return InformationGainStrategy.INSTANCE;
+			case "route": return RoutePlanningStrategy.INSTANCE;
+			case "ismcts": return new IsmctsStrategy();
+			default: throw new IllegalArgumentException("There is no strategy called " + name + " (use one of " + NAMES + ")");
+		}
+	}
+
+}
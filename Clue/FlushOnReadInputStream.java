@@ -0,0 +1,55 @@
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+
+/**
+ * An input stream that flushes a game's buffered output before it waits for input, so the player sees each prompt
+ * without every print being written out on its own. The console game and every GameServer session read through one of these.
+ * @author Maddie Moyer
+ */
+public class FlushOnReadInputStream extends FilterInputStream {
+
+	private final PrintStream out;
+
+
+	/**
+	 * Constructor
+	 * @param in where the player's input comes from
+	 * @param out the game's output, flushed before each read
+	 */
+	public FlushOnReadInputStream(InputStream in, PrintStream out) {
+		super(in);
+		this.out = out;
+	}
+
+
+	//Methods
+
+	/**
+	 * Flush the output, then read one byte.
+	 * @return the byte, or -1 at the end of the input
+	 * @throws IOException if the input cannot be read
+	 */
+	@Override
+	public int read() throws IOException {
+		out.flush();
+		return super.read();
+	}
+
+
+	/**
+	 * Flush the output, then read up to len bytes.
+	 * @param b where to put the bytes
+	 * @param off where in b to start putting them
+	 * @param len the most bytes to read
+	 * @return the number of bytes read, or -1 at the end of the input
+	 * @throws IOException if the input cannot be read
+	 */
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		out.flush();
+		return super.read(b, off, len);
+	}
+
+}
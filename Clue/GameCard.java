@@ -0,0 +1,249 @@
+/**
+ * This class is a game card that keeps one bit for every person, weapon, and room (1 means the element is crossed off).
+ * The people come first, then the weapons, then the rooms, the same order as the rows of the String[][] game card.
+ * The bits are kept in a CardSet, so a game card can have any number of rows. Checking a mark does not loop or create any objects,
+ * and counting the unmarked elements in a category goes through one long per 64 rows.
+ * @author Maddie Moyer
+ */
+public class GameCard {
+
+	private final int peopleCount;
+	private final int weaponCount;
+	private final int roomCount;
+
+	private final CardSet marks; //Card i is in the set if it is crossed off
+	private final CardSet unmarked; //Every card that is not crossed off, so a random unmarked one can be found without going through the rows
+	private final String[][] view; //The same game card as a double String array (name, "X" or ""). Kept up to date by mark().
+
+
+	/**
+	 * Constructor
+	 * @param peopleCount the number of people in the game
+	 * @param weaponCount the number of weapons in the game
+	 * @param roomCount the number of rooms in the game
+	 * @param view a double String array game card with a row for each person, weapon, and room (in that order), kept up to date as cards are marked
+	 */
+	public GameCard(int peopleCount, int weaponCount, int roomCount, String[][] view) {
+		this.peopleCount = peopleCount;
+		this.weaponCount = weaponCount;
+		this.roomCount = roomCount;
+		int cardCount = peopleCount + weaponCount + roomCount;
+		this.marks = new CardSet(cardCount);
+		this.unmarked = CardSet.range(cardCount, 0, cardCount);
+		this.view = view;
+	}
+
+
+	//Getters
+
+	/**
+	 * @return the marks, where card i is in the set if it is crossed off. This set is kept up to date as cards are marked, so do not change it.
+	 */
+	public CardSet getMarks() {
+		return marks;
+	}
+
+	/**
+	 * @return the game card as a double String array (name, "X" or "")
+	 */
+	public String[][] getView() {
+		return view;
+	}
+
+
+	//Methods
+
+	/**
+	 * @param personIdx the index of a person in the people array
+	 * @return the card number of that person on the game card
+	 */
+	public int personCard(int personIdx) {
+		return personIdx;
+	}
+
+	/**
+	 * @param weaponIdx the index of a weapon in the weapons array
+	 * @return the card number of that weapon on the game card
+	 */
+	public int weaponCard(int weaponIdx) {
+		return peopleCount + weaponIdx;
+	}
+
+	/**
+	 * @param roomIdx the index of a room in the rooms array
+	 * @return the card number of that room on the game card
+	 */
+	public int roomCard(int roomIdx) {
+		return peopleCount + weaponCount + roomIdx;
+	}
+
+
+	/**
+	 * Cross off a card on the game card.
+	 * @param card the card number (use personCard, weaponCard, or roomCard to get it)
+	 */
+	public void mark(int card) {
+		marks.add(card);
+		unmarked.remove(card);
+		if(view != null) {
+			view[card][1] = "X";
+		}
+	}
+
+
+	/**
+	 * Cross off several cards on the game card at once.
+	 * @param cards the cards to cross off, by card number
+	 */
+	public void markAll(CardSet cards) {
+		for(int i = 0; i < marks.getWordCount(); i++) {
+			markWord(i, cards.getWord(i));
+		}
+	}
+
+
+	/**
+	 * Cross off every card except some (for example, every card except the ones that might be in the envelope).
+	 * @param cards the cards to leave as they are, by card number
+	 */
+	public void markAllExcept(CardSet cards) {
+		for(int i = 0; i < marks.getWordCount(); i++) {
+			markWord(i, unmarked.getWord(i) & ~cards.getWord(i));
+		}
+	}
+
+
+	/**
+	 * Cross off the cards in one long of the marks.
+	 * @param i which long (cards 64 * i to 64 * i + 63)
+	 * @param cards the cards to cross off, as bits of that long
+	 */
+	private void markWord(int i, long cards) {
+		long newMarks = cards & ~marks.getWord(i);
+		marks.addWord(i, newMarks);
+		unmarked.removeWord(i, newMarks);
+		while(view != null && newMarks != 0) { //Only the rows that were not already crossed off need an X
+			view[64 * i + Long.numberOfTrailingZeros(newMarks)][1] = "X";
+			newMarks &= newMarks - 1;
+		}
+	}
+
+
+	/**
+	 * @param card the card number (use personCard, weaponCard, or roomCard to get it)
+	 * @return true if the card is crossed off
+	 */
+	public boolean isMarked(int card) {
+		return marks.contains(card);
+	}
+
+
+	/**
+	 * @return the number of people that are not crossed off
+	 */
+	public int unmarkedPeopleCount() {
+		return unmarked.count(0, peopleCount);
+	}
+
+	/**
+	 * @return the number of weapons that are not crossed off
+	 */
+	public int unmarkedWeaponCount() {
+		return unmarked.count(peopleCount, peopleCount + weaponCount);
+	}
+
+	/**
+	 * @return the number of rooms that are not crossed off
+	 */
+	public int unmarkedRoomCount() {
+		return unmarked.count(peopleCount + weaponCount, peopleCount + weaponCount + roomCount);
+	}
+
+
+	/**
+	 * @return the rooms that are not crossed off as bits, where bit j is 1 if the room at index j in the rooms array is unmarked
+	 * (a board has at most Board.MAX_ROOMS rooms, so they fit in a long)
+	 */
+	public long getUnmarkedRooms() {
+		return unmarked.bits(peopleCount + weaponCount, roomCount);
+	}
+
+
+	/**
+	 * @return the index (in the people array) of the only person that is not crossed off, or -1 if there is not exactly one
+	 */
+	public int singleUnmarkedPerson() {
+		return single(0, peopleCount);
+	}
+
+	/**
+	 * @return the index (in the weapons array) of the only weapon that is not crossed off, or -1 if there is not exactly one
+	 */
+	public int singleUnmarkedWeapon() {
+		return single(peopleCount, weaponCount);
+	}
+
+	/**
+	 * @return the index (in the rooms array) of the only room that is not crossed off, or -1 if there is not exactly one
+	 */
+	public int singleUnmarkedRoom() {
+		return single(peopleCount + weaponCount, roomCount);
+	}
+
+
+	/**
+	 * Find the nth person that is not crossed off (counting from 0). Used to pick a random unmarked person.
+	 * @param n a number from 0 to unmarkedPeopleCount() - 1
+	 * @return the index of that person in the people array
+	 */
+	public int nthUnmarkedPerson(int n) {
+		return unmarked.nthCard(0, n);
+	}
+
+	/**
+	 * Find the nth weapon that is not crossed off (counting from 0). Used to pick a random unmarked weapon.
+	 * @param n a number from 0 to unmarkedWeaponCount() - 1
+	 * @return the index of that weapon in the weapons array
+	 */
+	public int nthUnmarkedWeapon(int n) {
+		return unmarked.nthCard(peopleCount, n) - peopleCount;
+	}
+
+
+	/**
+	 * Find the nth element in a set of elements stored as bits (counting from 0). Used to pick a random element.
+	 * @param elements the elements as bits, for example rooms where bit j is the room at index j in the rooms array
+	 * @param n a number from 0 to Long.bitCount(elements) - 1
+	 * @return the index of that element
+	 */
+	public static int nthBit(long elements, int n) {
+		return nth(elements, n);
+	}
+
+
+	/**
+	 * @param offset the card number of the first element in a category
+	 * @param size the number of elements in the category
+	 * @return the index in the category of the only unmarked element, or -1 if there is not exactly one
+	 */
+	private int single(int offset, int size) {
+		if(unmarked.count(offset, offset + size) != 1) {
+			return -1;
+		}
+		return unmarked.nextCard(offset) - offset;
+	}
+
+
+	/**
+	 * @param bits a set of bits
+	 * @param n which bit to find (0 is the lowest)
+	 * @return the position of the nth lowest bit
+	 */
+	private static int nth(long bits, int n) {
+		for(int i = 0; i < n; i++) {
+			bits &= bits - 1; //Clear the lowest bit
+		}
+		return Long.numberOfTrailingZeros(bits);
+	}
+
+}
@@ -1,118 +1,218 @@
+import java.io.PrintStream;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
 /**
  * This class contains all of the game data for Clue. That involves the cards, the game card, location, and other things involved in the setup of the game.
+ * A game has 2 to MAX_SEATS seats. Seat 0 is the player and seat 1 is the computer; any other seats are played by the computer too.
  * @author Maddie Moyer
  */
 public class GameData {
 
-	private static Person[] people;
-	private static Weapon[] weapons;
-	private static Room[] rooms;
-	private String[][] playerGameCard;
-	private String[][] computerGameCard;
+	public static final int MAX_SEATS = 6; //The most players a game of Clue has
+
+	// The people, weapons, and rooms come from the game definition, which is shared by every game played with it (they are never changed)
+	private final GameDefinition definition;
+	private final CardRegistry registry;
+	private final Person[] people;
+	private final Weapon[] weapons;
+	private final Room[] rooms;
+	
+	private final int seatCount;
+	private GameCard[] gameCards; //Each seat's game card
 	
-	private static Person murderPerson;
-	private static Weapon murderWeapon;
-	private static Room murderRoom;
+	private Person murderPerson;
+	private Weapon murderWeapon;
+	private Room murderRoom;
 	
-	private static String[] startingCards; // Cards to be passed out to the players (all cards except for the 3 murder info cards)
-	private static String[] playerCards; 
-	private static String[] computerCards;
+	private String[] startingCards; // Cards to be passed out to the players (all cards except for the 3 murder info cards)
+	private String[][] seatCards; //The cards dealt to each seat
+	private CardSet[] hands; //Card i is in hands[seat] if the seat was dealt the card with ID i
 	
-	private Room playerLocation;
-	private Room computerLocation;
+	private Room[] locations; //The room each seat is in
 	
 	private boolean computerGuessedCorrectly;
 	private boolean didComputerAccuse;
 	
+	private final RandomGenerator random; //Every random choice in this game comes from here, so a game can be replayed from its seed
+	
 	
 	/**
-	 * Constructor
+	 * Constructor. Every GameData is its own game, so many games can be set up and played at the same time.
 	 */
 	public GameData() {
-		people = initPeople(); //An array of all of the people
-		weapons = initWeapons(); //An array of all of the weapons
-		rooms = initRooms(); //An array of all of the rooms
-		playerGameCard = new String[people.length + weapons.length + rooms.length][2];
-		computerGameCard = new String[people.length + weapons.length + rooms.length][2];
-		
-		buildGameCard(playerGameCard); //Set up the player's game card
-		buildGameCard(computerGameCard); //Set up the computer's game card
+		this(new SplittableRandom());
+	}
+	
+	
+	/**
+	 * Constructor. Two games made with the same seed deal the same cards and make the same random choices.
+	 * @param seed the seed for the game's random numbers
+	 */
+	public GameData(long seed) {
+		this(new SplittableRandom(seed));
+	}
+	
+	
+	/**
+	 * Constructor. Deals a game of classic Clue.
+	 * @param random where the game gets its random numbers from. It should only be used by this game.
+	 */
+	public GameData(RandomGenerator random) {
+		this(GameDefinition.classic(), random);
+	}
+	
+	
+	/**
+	 * Constructor. Deals a two-player game of any version of Clue.
+	 * @param definition the people, weapons, and rooms of the game
+	 * @param random where the game gets its random numbers from. It should only be used by this game.
+	 */
+	public GameData(GameDefinition definition, RandomGenerator random) {
+		this(definition, 2, random);
+	}
+	
+	
+	/**
+	 * Constructor. Deals a game of any version of Clue to any number of seats. The cards are dealt one at a time around the table,
+	 * starting with the player, so when they do not divide evenly the first seats get one more card.
+	 * @param definition the people, weapons, and rooms of the game
+	 * @param seats the number of seats (2 to MAX_SEATS)
+	 * @param random where the game gets its random numbers from. It should only be used by this game.
+	 * @throws IllegalArgumentException if the number of seats is not 2 to MAX_SEATS
+	 */
+	public GameData(GameDefinition definition, int seats, RandomGenerator random) {
+		if(seats < 2 || seats > MAX_SEATS) {
+			throw new IllegalArgumentException("A game needs 2 to " + MAX_SEATS + " seats");
+		}
+		GameEvents.GameStart event = new GameEvents.GameStart(); //Times the deal for a flight recording
+		event.begin();
+		this.seatCount = seats;
+		this.definition = definition;
+		this.registry = definition.getRegistry();
+		this.people = registry.getPeople();
+		this.weapons = registry.getWeapons();
+		this.rooms = registry.getRooms();
+		this.random = random;
+		setUpGameCards();
 		
 		chooseMurderDetails(); //Pick random murder person, weapon, and room at setup
 		
-		startingCards = new String[(people.length - 1) + (weapons.length - 1) + (rooms.length - 1)]; // 18 cards
+		startingCards = new String[(people.length - 1) + (weapons.length - 1) + (rooms.length - 1)]; // 18 cards in classic Clue
 		startingCardsArr();
 		
-		playerCards = new String[startingCards.length / 2]; // 9 cards (combination of people, weapons, and rooms)
-		computerCards = new String[startingCards.length / 2]; // 9 Cards
+		seatCards = new String[seats][];
+		for(int seat = 0; seat < seats; seat++) {
+			seatCards[seat] = new String[(startingCards.length - seat + seats - 1) / seats]; // 9 cards each with two seats (combination of people, weapons, and rooms)
+		}
 		chooseStartingCards();
-		
-		crossOffStartingCardElements(playerCards, playerGameCard);
-		crossOffStartingCardElements(computerCards, computerGameCard);
-		
-		playerLocation = getRooms()[0]; //The courtyard is the starting location of the player
-		computerLocation = getRooms()[0]; //The courtyard is also the starting location of the computer
-		
-		this.computerGuessedCorrectly = false; //A variable to set in case the computer somehow makes a completely correct guess
-		this.didComputerAccuse = false; //Change to true after the computer accuses to signal the end of the game
-		
+		setUpHands();
+		GameEvents.record(event, e -> {
+			e.seats = seats;
+			e.murderPerson = registry.idOf(murderPerson.getName());
+			e.murderWeapon = registry.idOf(murderWeapon.getName());
+			e.murderRoom = registry.idOf(murderRoom.getName());
+			e.cardsDealt = startingCards.length;
+		});
 	}
-
+	
 	
 	/**
-	 * Initialize all of the people (suspects) in Clue using the Person class.
-	 * @return an array of the Person class containing all of the people (suspects) in the game.
+	 * Constructor. Sets up a two-player game of classic Clue that was already dealt (for example, one read back from a GameSnapshot) instead of dealing a new one.
+	 * @param murderPersonIdx the index of the murder person in the people array
+	 * @param murderWeaponIdx the index of the murder weapon in the weapons array
+	 * @param murderRoomIdx the index of the murder room in the rooms array
+	 * @param playerHand the cards dealt to the player (see getPlayerHand)
+	 * @param computerHand the cards dealt to the computer (see getComputerHand)
+	 * @param random where the game gets its random numbers from from now on
 	 */
-	private Person[] initPeople() {
-		Person green = new Person("Green");
-		Person mustard = new Person("Mustard");
-		Person peacock = new Person("Peacock");
-		Person plum = new Person("Plum");
-		Person scarlet = new Person("Scarlet");
-		Person white = new Person("White");
-		
-		Person[] peopleArr = new Person[] {green, mustard, peacock, plum, scarlet, white};
-		return peopleArr;
+	public GameData(int murderPersonIdx, int murderWeaponIdx, int murderRoomIdx, CardSet playerHand, CardSet computerHand, RandomGenerator random) {
+		this(murderPersonIdx, murderWeaponIdx, murderRoomIdx, new CardSet[] {playerHand, computerHand}, random);
 	}
 	
 	
 	/**
-	 * Initialize all of the weapons in Clue using the Weapon class.
-	 * @return an array of the Weapon class containing all of the weapons in the game.
+	 * Constructor. Sets up a game of classic Clue that was already dealt (for example, one read back from a GameLog) instead of dealing a new one.
+	 * @param murderPersonIdx the index of the murder person in the people array
+	 * @param murderWeaponIdx the index of the murder weapon in the weapons array
+	 * @param murderRoomIdx the index of the murder room in the rooms array
+	 * @param hands the cards dealt to each seat (see getHand)
+	 * @param random where the game gets its random numbers from from now on
+	 * @throws IllegalArgumentException if the number of hands is not 2 to MAX_SEATS
 	 */
-	private Weapon[] initWeapons() {
-		Weapon candlestick = new Weapon("Candlestick");
-		Weapon knife = new Weapon("Knife");
-		Weapon leadPipe = new Weapon("Lead Pipe");
-		Weapon pistol = new Weapon("Pistol");
-		Weapon rope = new Weapon("Rope");
-		Weapon wrench = new Weapon("Wrench");
-		
-		Weapon[] weaponsArr = new Weapon[] {candlestick, knife, leadPipe, pistol, rope, wrench};
-		return weaponsArr;
+	public GameData(int murderPersonIdx, int murderWeaponIdx, int murderRoomIdx, CardSet[] hands, RandomGenerator random) {
+		this(GameDefinition.classic(), murderPersonIdx, murderWeaponIdx, murderRoomIdx, hands, random);
 	}
 	
 	
 	/**
-	 * Initialize all of the rooms on the Clue board using the Room class.
-	 * @return an array of the Room class containing all of the rooms on the Clue board
+	 * Constructor. Sets up a game of any version of Clue that was already dealt (for example, one read back from a GameLog) instead of dealing a new one.
+	 * @param definition the people, weapons, and rooms of the game
+	 * @param murderPersonIdx the index of the murder person in the people array
+	 * @param murderWeaponIdx the index of the murder weapon in the weapons array
+	 * @param murderRoomIdx the index of the murder room in the rooms array
+	 * @param hands the cards dealt to each seat (see getHand)
+	 * @param random where the game gets its random numbers from from now on
+	 * @throws IllegalArgumentException if the number of hands is not 2 to MAX_SEATS
 	 */
-	private Room[] initRooms() {
-		Room courtyard = new Room("Courtyard");
-		Room garage = new Room("Garage");
-		Room gameRoom = new Room("Game Room");
-		Room bedroom = new Room("Bedroom");
-		Room bathroom = new Room("Bathroom");
-		Room office = new Room("Office");
-		Room kitchen = new Room("Kitchen");
-		Room diningRoom = new Room("Dining Room");
-		Room livingRoom = new Room("Living Room");
+	public GameData(GameDefinition definition, int murderPersonIdx, int murderWeaponIdx, int murderRoomIdx, CardSet[] hands, RandomGenerator random) {
+		if(hands.length < 2 || hands.length > MAX_SEATS) {
+			throw new IllegalArgumentException("A game needs 2 to " + MAX_SEATS + " seats");
+		}
+		this.seatCount = hands.length;
+		this.definition = definition;
+		this.registry = definition.getRegistry();
+		this.people = registry.getPeople();
+		this.weapons = registry.getWeapons();
+		this.rooms = registry.getRooms();
+		this.random = random;
+		setUpGameCards();
 		
-		Room[] roomsArr = new Room[] {courtyard, garage, gameRoom, bedroom, bathroom, office, kitchen, diningRoom, livingRoom};
-		return roomsArr;
+		murderPerson = people[murderPersonIdx];
+		murderWeapon = weapons[murderWeaponIdx];
+		murderRoom = rooms[murderRoomIdx];
+		
+		startingCards = new String[(people.length - 1) + (weapons.length - 1) + (rooms.length - 1)]; // 18 cards in classic Clue
+		startingCardsArr();
+		
+		seatCards = new String[hands.length][];
+		for(int seat = 0; seat < hands.length; seat++) {
+			seatCards[seat] = cardNames(hands[seat]);
+		}
+		setUpHands();
+	}
+	
+	
+	/**
+	 * Set up a blank game card for every seat.
+	 */
+	private void setUpGameCards() {
+		gameCards = new GameCard[seatCount];
+		for(int seat = 0; seat < seatCount; seat++) {
+			String[][] view = new String[people.length + weapons.length + rooms.length][2];
+			buildGameCard(view); //Set up the seat's game card
+			gameCards[seat] = new GameCard(people.length, weapons.length, rooms.length, view);
+		}
 	}
 	
 	
+	/**
+	 * Once every seat's cards are dealt, work out the hands as bits, cross the cards off each game card, and put every seat in the starting room.
+	 */
+	private void setUpHands() {
+		hands = new CardSet[seatCount];
+		locations = new Room[seatCount];
+		for(int seat = 0; seat < seatCount; seat++) {
+			hands[seat] = handBits(seatCards[seat]);
+			crossOffStartingCardElements(seatCards[seat], gameCards[seat].getView());
+			locations[seat] = getRooms()[0]; //The courtyard is the starting location of every seat
+		}
+		
+		this.computerGuessedCorrectly = false; //A variable to set in case the computer somehow makes a completely correct guess
+		this.didComputerAccuse = false; //Change to true after the computer accuses to signal the end of the game
+	}
+
+	
 	/**
 	 * Build the game card, which is a double String array where the first column contains the people, weapons, and rooms, and the second column contains spaces to mark off the elements.
 	 * @param gameCard The player/computer's game card. A double String array.
@@ -151,27 +251,52 @@ public class GameData {
 	
 	
 	/**
-	 * Uses the array of numbers 0 to 17 in a random order created in the startingCardRandomNumGenerator() method to set the player's and the computer's cards.
-	 * The player's cards are determined by the indices in the first half of the random num array and the computer's the second half. Index the startingCards array.
+	 * Uses the array of numbers 0 to 17 in a random order created in the startingCardRandomNumGenerator() method to deal every seat's cards.
+	 * The cards are dealt one at a time around the table, like a real deal: shuffled card i goes to seat i % (number of seats).
 	 */
-	public static void chooseStartingCards() {
+	public void chooseStartingCards() {
 		int[] newIdxArr = startingCardRandomNumGenerator();
 		
 		for(int i = 0; i < startingCards.length; i++) {
 			int shuffledIdx = newIdxArr[i];
-			if(i < playerCards.length) { // The first half of the random card number array is for the player's cards
-				playerCards[i] = startingCards[shuffledIdx];
-			}else { // The second half of the random card number array is for the computer's cards
-				computerCards[i-playerCards.length] = startingCards[shuffledIdx];
-			}
+			seatCards[i % seatCount][i / seatCount] = startingCards[shuffledIdx];
+		}
+	}
+	
+	
+	/**
+	 * Turn a hand of cards into bits, so checking if the hand has a card does not need to compare Strings.
+	 * @param userCards the cards dealt to the player/computer
+	 * @return a set with the ID of every card in the hand
+	 */
+	private CardSet handBits(String[] userCards) {
+		CardSet hand = new CardSet(registry.getCardCount());
+		for(String card : userCards) {
+			hand.add(registry.idOf(card));
 		}
+		return hand;
+	}
+	
+	
+	/**
+	 * Turn a hand stored as bits back into card names.
+	 * @param hand the cards
+	 * @return a String array with the name of each card, in ID order
+	 */
+	private String[] cardNames(CardSet hand) {
+		String[] names = new String[hand.size()];
+		int i = 0;
+		for(int id = hand.nextCard(0); id != -1; id = hand.nextCard(id + 1)) {
+			names[i++] = registry.nameOf(id);
+		}
+		return names;
 	}
 	
 	
 	/**
 	 * Fills up an array called startingCards which contains all of the elements except for the person, weapon, and room of the murder.
 	 */
-	public static void startingCardsArr() {
+	public void startingCardsArr() {
 		int idx = 0;
 	
 		for(Person person : people) {
@@ -198,11 +323,11 @@ public class GameData {
 	/**
 	 * Randomly choose one person, one weapon, and one room to be the details of the murder.
 	 */
-	public static void chooseMurderDetails() {
+	public void chooseMurderDetails() {
 		// Randomly choose the person, weapon, and room of the murder at the beginning of the game
-		int randomPersonIdx = (int)(Math.random() * people.length); //Generates a random number from 0 to 5
-		int randomWeaponIdx = (int)(Math.random() * weapons.length); //Generates a random number from 0 to 5
-		int randomRoomIdx = (int)(Math.random() * rooms.length); //Generates a random number from 0 to 8
+		int randomPersonIdx = random.nextInt(people.length); //Generates a random number from 0 to 5
+		int randomWeaponIdx = random.nextInt(weapons.length); //Generates a random number from 0 to 5
+		int randomRoomIdx = random.nextInt(rooms.length); //Generates a random number from 0 to 8
 	
 		murderPerson = people[randomPersonIdx];
 		murderWeapon = weapons[randomWeaponIdx];
@@ -214,38 +339,88 @@ public class GameData {
 	//Getters and Setters
 	
 	/**
-	 * @return the people
+	 * @return the random number generator for this game
+	 */
+	public RandomGenerator getRandom() {
+		return random;
+	}
+	
+	/**
+	 * @return the game definition (the version of Clue being played)
+	 */
+	public GameDefinition getDefinition() {
+		return definition;
+	}
+	
+	/**
+	 * @return the registry that gives every person, weapon, and room a card ID. It is shared by every game with the same definition.
+	 */
+	public CardRegistry getRegistry() {
+		return registry;
+	}
+	
+	/**
+	 * @return the people. This array is shared by every game with the same definition, so do not change it.
 	 */
 	public Person[] getPeople() {
 		return people;
 	}
 
 	/**
-	 * @return the weapons
+	 * @return the weapons. This array is shared by every game with the same definition, so do not change it.
 	 */
 	public Weapon[] getWeapons() {
 		return weapons;
 	}
 
 	/**
-	 * @return the rooms
+	 * @return the rooms. This array is shared by every game with the same definition, so do not change it.
 	 */
 	public Room[] getRooms() {
 		return rooms;
 	}
 	
 	/**
-	 * @return the playerGameCard
+	 * @return the number of seats (players) in the game
+	 */
+	public int getSeatCount() {
+		return seatCount;
+	}
+	
+	/**
+	 * @return the playerGameCard as a double String array (name, "X" or ""). Use markCard to cross things off so the bits stay up to date.
 	 */
 	public String[][] getPlayerGameCard() {
-		return playerGameCard;
+		return gameCards[0].getView();
 	}	
 
 	/**
-	 * @return the computerGameCard
+	 * @return the computerGameCard as a double String array (name, "X" or ""). Use markCard to cross things off so the bits stay up to date.
 	 */
 	public String[][] getComputerGameCard() {
-		return computerGameCard;
+		return gameCards[1].getView();
+	}
+	
+	/**
+	 * @return the playerGameCard, with one bit for each person, weapon, and room
+	 */
+	public GameCard getPlayerGameCardBits() {
+		return gameCards[0];
+	}	
+
+	/**
+	 * @return the computerGameCard, with one bit for each person, weapon, and room
+	 */
+	public GameCard getComputerGameCardBits() {
+		return gameCards[1];
+	}
+	
+	/**
+	 * @param seat a seat
+	 * @return the seat's game card, with one bit for each person, weapon, and room
+	 */
+	public GameCard getGameCard(int seat) {
+		return gameCards[seat];
 	}
 	
 	/**
@@ -273,43 +448,89 @@ public class GameData {
 	 * @return the playerCards
 	 */
 	public String[] getPlayerCards() {
-		return playerCards;
+		return seatCards[0];
 	}
 
 	/**
 	 * @return the computerCards
 	 */
 	public String[] getComputerCards() {
-		return computerCards;
+		return seatCards[1];
+	}
+	
+	/**
+	 * @param seat a seat
+	 * @return the cards dealt to the seat
+	 */
+	public String[] getSeatCards(int seat) {
+		return seatCards[seat];
+	}
+	
+	/**
+	 * @return the player's cards, where card i is in the set if the player has the card with ID i. This set is shared, so do not change it.
+	 */
+	public CardSet getPlayerHand() {
+		return hands[0];
+	}
+
+	/**
+	 * @return the computer's cards, where card i is in the set if the computer has the card with ID i. This set is shared, so do not change it.
+	 */
+	public CardSet getComputerHand() {
+		return hands[1];
+	}
+	
+	/**
+	 * @param seat a seat
+	 * @return the seat's cards, where card i is in the set if the seat has the card with ID i. This set is shared, so do not change it.
+	 */
+	public CardSet getHand(int seat) {
+		return hands[seat];
 	}
 	
 	/**
 	 * @return the playerLocation
 	 */
 	public Room getPlayerLocation() {
-		return playerLocation;
+		return locations[0];
 	}
 	
 	/**
 	 * @param playerLocation the playerLocation to set
 	 */
 	public void setPlayerLocation(Room playerLocation) {
-		this.playerLocation = playerLocation;
+		locations[0] = playerLocation;
 	}
 	
 	/**	
 	 * @return the computerLocation
 	 */
 	public Room getComputerLocation() {
-		return computerLocation;
+		return locations[1];
 	}
 	
 	/**
 	 * @param computerLocation the computerLocation to set
 	 */
 	public void setComputerLocation(Room newRoom) {
-        computerLocation = newRoom;
+        locations[1] = newRoom;
     }
+	
+	/**
+	 * @param seat a seat
+	 * @return the room the seat is in
+	 */
+	public Room getLocation(int seat) {
+		return locations[seat];
+	}
+	
+	/**
+	 * @param seat a seat
+	 * @param room the room the seat is now in
+	 */
+	public void setLocation(int seat, Room room) {
+		locations[seat] = room;
+	}
 
 	/**
 	 * @return the boolean computerGuessedCorrectly
@@ -347,29 +568,97 @@ public class GameData {
 	 * @param gameCard A double array containing the people, weapons, and rooms in the first column and the marks/blank spaces in the second column.
 	 */
 	public void printGameCard(String[][] gameCard) {
-        System.out.println("GAME CARD:");
-        System.out.println("-----------------");
-        System.out.println("People:");
-        System.out.println("-----------------");
+		printGameCard(gameCard, System.out);
+	}
+
+
+	/**
+	 * Print out the game card to a stream (for example, a network client's connection).
+	 * @param gameCard A double array containing the people, weapons, and rooms in the first column and the marks/blank spaces in the second column.
+	 * @param out where to print
+	 */
+	public void printGameCard(String[][] gameCard, PrintStream out) {
+		GameCard card = findGameCard(gameCard);
+		if(card != null) { //Read the marks from the bits instead of searching the array for every element
+			printGameCard(card, out);
+			return;
+		}
+        out.println("GAME CARD:");
+        out.println("-----------------");
+        out.println("People:");
+        out.println("-----------------");
         for (Person person : people) {
-            System.out.printf("%-12s | %s%n", person, findMark(gameCard, person.toString()));
+            out.printf("%-12s | %s%n", person, findMark(gameCard, person.toString()));
         }
-        System.out.println("-----------------");
-        System.out.println("Weapons:");
-        System.out.println("-----------------");
+        out.println("-----------------");
+        out.println("Weapons:");
+        out.println("-----------------");
         for (Weapon weapon : weapons) {
-            System.out.printf("%-12s | %s%n", weapon, findMark(gameCard, weapon.toString()));
+            out.printf("%-12s | %s%n", weapon, findMark(gameCard, weapon.toString()));
         }
-        System.out.println("-----------------");
-        System.out.println("Rooms:");
-        System.out.println("-----------------");
+        out.println("-----------------");
+        out.println("Rooms:");
+        out.println("-----------------");
         for (Room room : rooms) {
-            System.out.printf("%-12s | %s%n", room, findMark(gameCard, room.toString()));
+            out.printf("%-12s | %s%n", room, findMark(gameCard, room.toString()));
+        }
+        out.println("-----------------");
+    }
+	
+	
+	/**
+	 * Print out the game card, which contains all of the people, weapons, and rooms, as well as spaces to mark each of them off throughout the game.
+	 * @param gameCard the player's or the computer's game card
+	 */
+	public void printGameCard(GameCard gameCard) {
+		printGameCard(gameCard, System.out);
+	}
+
+
+	/**
+	 * Print out the game card to a stream (for example, a network client's connection).
+	 * @param gameCard the player's or the computer's game card
+	 * @param out where to print
+	 */
+	public void printGameCard(GameCard gameCard, PrintStream out) {
+        out.println("GAME CARD:");
+        out.println("-----------------");
+        out.println("People:");
+        out.println("-----------------");
+        for (int i = 0; i < people.length; i++) {
+            out.printf("%-12s | %s%n", people[i], gameCard.isMarked(gameCard.personCard(i)) ? "X" : "");
+        }
+        out.println("-----------------");
+        out.println("Weapons:");
+        out.println("-----------------");
+        for (int i = 0; i < weapons.length; i++) {
+            out.printf("%-12s | %s%n", weapons[i], gameCard.isMarked(gameCard.weaponCard(i)) ? "X" : "");
+        }
+        out.println("-----------------");
+        out.println("Rooms:");
+        out.println("-----------------");
+        for (int i = 0; i < rooms.length; i++) {
+            out.printf("%-12s | %s%n", rooms[i], gameCard.isMarked(gameCard.roomCard(i)) ? "X" : "");
         }
-        System.out.println("-----------------");
+        out.println("-----------------");
     }
 	
 	
+	/**
+	 * Find out which GameCard a double String array game card belongs to.
+	 * @param gameCard a double String array game card (from getPlayerGameCard or getComputerGameCard)
+	 * @return the GameCard of the seat the array belongs to, or null if the array is not one of them
+	 */
+	private GameCard findGameCard(String[][] gameCard) {
+		for(GameCard card : gameCards) {
+			if(gameCard == card.getView()) {
+				return card;
+			}
+		}
+		return null;
+	}
+	
+	
 	/**
 	 * Find the mark for a specific element on the game card. The mark is an X if the element is crossed off or a blank space if not.
 	 * @param gameCard the game card containing all of the people, weapons, and rooms (could be the player's card or the computer's)
@@ -377,6 +666,11 @@ public class GameData {
 	 * @return the mark on the gameCard for the specific element. Could be an X if the element is crossed off or a blank space if not.
 	 */
 	public String findMark(String[][] gameCard, String elementName) {
+		GameCard card = findGameCard(gameCard);
+		int id = registry.idOf(elementName);
+		if (card != null && id != -1) { //Look the element up by ID instead of searching the array
+			return card.isMarked(id) ? "X" : "";
+		}
         for (String[] row : gameCard) {
             if (row[0] != null && row[0].equals(elementName)) {
                 return row[1]; //Either an X or a blank space
@@ -392,6 +686,12 @@ public class GameData {
 	 * @param elementName the name of the element to be crossed off
 	 */
     public void markCard(String[][] gameCard, String elementName) {
+		GameCard card = findGameCard(gameCard);
+		int id = registry.idOf(elementName);
+		if (card != null && id != -1) { //Look the element up by ID instead of searching the array
+			card.mark(id); //Also sets the X in the array
+			return;
+		}
         for (String[] row : gameCard) {
             if (row[0] != null && row[0].equals(elementName)) {
                 row[1] = "X";
@@ -404,62 +704,79 @@ public class GameData {
      * Print out the details of the murder (person, weapon, room) that were randomly decided before the game started.
      */
 	public void printMurderDetails() {
+		printMurderDetails(System.out);
+	}
+
+	/**
+	 * Print out the details of the murder to a stream (for example, a network client's connection).
+	 * @param out where to print
+	 */
+	public void printMurderDetails(PrintStream out) {
 		// Print out the details of the murder at the end of the game
-        System.out.println("Murder Details:");
-        System.out.println("Person: " + murderPerson);
-        System.out.println("Weapon: " + murderWeapon);
-        System.out.println("Room: " + murderRoom);
-        System.out.println();
+        out.println("Murder Details:");
+        out.println("Person: " + murderPerson);
+        out.println("Weapon: " + murderWeapon);
+        out.println("Room: " + murderRoom);
+        out.println();
 	}
 	
 	/**
 	 * Print out the player's cards passed out to them at the beginning of the game (an assortment of people, weapons, and rooms).
 	 */
 	public void printPlayerCards() {
-		System.out.print("Player Cards: ");
-		printArray(playerCards);
+		printPlayerCards(System.out);
+	}
+
+	/**
+	 * Print out the player's cards to a stream (for example, a network client's connection).
+	 * @param out where to print
+	 */
+	public void printPlayerCards(PrintStream out) {
+		out.print("Player Cards: ");
+		printArray(seatCards[0], out);
     }
 
 	
 	/**
-	 * Create an array containing the numbers 0 through 18 in a random order. Used to determine which cards go to the computer and which to the player.
+	 * Create an array containing the numbers 0 through 17 (one for each card that is dealt) in a random order. Used to determine which cards go to the computer and which to the player.
+	 * Uses a Fisher-Yates shuffle: go backwards through the array and swap each spot with a random spot at or before it.
 	 * @return an integer array containing the numbers 0 through 17 in a random order.
 	 */
-	public static int[] startingCardRandomNumGenerator() {
+	public int[] startingCardRandomNumGenerator() {
 		
 		int[] cardNums = new int[startingCards.length]; //18 total cards
-		
 		for (int i = 0; i < cardNums.length; i++) {
-		    int randomNum; //Initialize the random number integer variable
-		    boolean duplicate; //Initialize a boolean variable which is used to check if a number is duplicated in the array
-
-		    do {
-		        randomNum = (int)(Math.random() * cardNums.length); // Randomly generate a number from 0 to 17
-		        duplicate = false;
-
-		        for (int j = 0; j < i; j++) {
-		            if (cardNums[j] == randomNum) { //If the number is already in the array
-		                duplicate = true; //There is a duplicate
-		                break; //Circle back through the do-while loop and try a new number at the same index
-		            }
-		        }
-		    } while (duplicate); //Continue looping through all of the previous numbers until there are no duplicates
-
-		    cardNums[i] = randomNum; //The number is not a duplicate, so add it to the array and move to the next index in the array
+			cardNums[i] = i;
+		}
+		
+		for (int i = cardNums.length - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1); //A random index from 0 to i
+			int temp = cardNums[i];
+			cardNums[i] = cardNums[j];
+			cardNums[j] = temp;
 		}
 		
 		return cardNums;
 	}
 	
-	/**
+		/**
 	 * Print out the elements in an Object array
 	 * @param arr An array to be printed out
 	 */
 	public static void printArray(Object[] arr) {
+		printArray(arr, System.out);
+	}
+	
+	/**
+	 * Print out the elements in an Object array to a stream
+	 * @param arr An array to be printed out
+	 * @param out where to print
+	 */
+	public static void printArray(Object[] arr, PrintStream out) {
 		for (Object val : arr) {
-			System.out.print(val + ", ");
+			out.print(val + ", ");
 		}
-		System.out.println();
+		out.println();
 	}
 	
 	/**
@@ -0,0 +1,628 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * This class describes one version of Clue: its people, weapons, and rooms, and the corridors and secret passages between the rooms. The classic game is built in,
+ * and other versions can be written as a text definition file and compiled once into a binary catalog that loads quickly.
+ * A GameDefinition never changes after it is made, so every game played with it shares it (and its CardRegistry).
+ * <p>
+ * Text definition files have one entry per line (blank lines and lines starting with # are skipped):
+ * <pre>
+ * people: Green, Mustard, Peacock
+ * weapons: Knife, Rope
+ * rooms: Courtyard, Garage, Kitchen
+ * distance: Courtyard, Garage, 5
+ * passage: Garage, Kitchen
+ * </pre>
+ * A distance line is a corridor of that many spaces between two rooms, and a passage line is a secret passage (0 spaces). Rooms do not need
+ * a line for every pair: the distance between two rooms is the shortest path through the corridors and passages, worked out when the
+ * definition is read. Every room has to be reachable from every other room. The first room is where everybody starts.
+ * <p>
+ * Binary catalogs are MAGIC, VERSION, then the people, weapons, and rooms (each a count followed by length-prefixed UTF-8 names),
+ * then the shortest distance between every pair of rooms (a short each, row by row), so loading a catalog does not need to work them out again.
+ * Counts, name lengths, and distances over Short.MAX_VALUE do not fit, and compiling a definition that has one fails instead of writing a broken catalog.
+ * <p>
+ * Hands, game cards, and what each seat knows are kept as CardSets, which grow by one long for every 64 cards, so a deck can have hundreds of cards.
+ * A game can have at most MAX_CARDS cards in total (GameLog and GameSnapshot save card IDs as shorts) and Board.MAX_ROOMS rooms (the rooms a move
+ * can reach are the bits of one long). A definition with more than that is turned down when it is made or read.
+ * @author Maddie Moyer
+ */
+public class GameDefinition {
+
+	public static final int MAGIC = 0x434C5544; //"CLUD"
+	public static final short VERSION = 1;
+	public static final int MAX_CARDS = Short.MAX_VALUE; //Card IDs are saved as shorts, so bigger decks are turned down
+
+	private static final GameDefinition CLASSIC = initClassic();
+
+	private final CardRegistry registry;
+	private final int[] distances; //The distance from room i to room j is at i * rooms + j
+	private final long id; //A fingerprint of the cards and distances, saved with games so they are only read back with the same definition
+
+
+	/**
+	 * Constructor
+	 * @param people the names of the people
+	 * @param weapons the names of the weapons
+	 * @param rooms the names of the rooms
+	 * @param distances the length of the corridor between each pair of rooms, indexed [room][room] (negative if there is no corridor).
+	 * The distance between two rooms is the shortest path through these corridors.
+	 * @throws IllegalArgumentException if a category is empty, a name is used twice, there are too many cards, the distances do not fit the rooms,
+	 * or some room cannot be reached
+	 */
+	public GameDefinition(String[] people, String[] weapons, String[] rooms, int[][] distances) {
+		this(toPeople(people), toWeapons(weapons), toRooms(rooms), distances);
+	}
+
+
+	/**
+	 * Constructor
+	 * @param people the people
+	 * @param weapons the weapons
+	 * @param rooms the rooms
+	 * @param distances the length of the corridor between each pair of rooms indexed [room][room] (negative for none)
+	 */
+	private GameDefinition(Person[] people, Weapon[] weapons, Room[] rooms, int[][] distances) {
+		if(people.length == 0 || weapons.length == 0 || rooms.length == 0) {
+			throw new IllegalArgumentException("A game needs at least one person, one weapon, and one room");
+		}
+		if(people.length + weapons.length + rooms.length > MAX_CARDS) {
+			throw new IllegalArgumentException("A game can have at most " + MAX_CARDS + " cards, but this one has " + (people.length + weapons.length + rooms.length));
+		}
+		if(rooms.length > Board.MAX_ROOMS) {
+			throw new IllegalArgumentException("A game can have at most " + Board.MAX_ROOMS + " rooms (the rooms a move can reach are kept as the bits of one long), but this one has "
+					+ rooms.length);
+		}
+		this.registry = new CardRegistry(people, weapons, rooms);
+		if(hasDuplicateName()) {
+			throw new IllegalArgumentException("Every person, weapon, and room needs a different name");
+		}
+		if(distances.length != rooms.length) {
+			throw new IllegalArgumentException("There should be a row of distances for each room");
+		}
+		this.distances = new int[rooms.length * rooms.length];
+		for(int i = 0; i < rooms.length; i++) {
+			if(distances[i].length != rooms.length) {
+				throw new IllegalArgumentException("There should be a distance to each room from " + rooms[i]);
+			}
+			for(int j = 0; j < rooms.length; j++) {
+				this.distances[i * rooms.length + j] = (distances[i][j] < 0) ? Board.NO_PATH : distances[i][j];
+			}
+		}
+		Board.shortestPaths(this.distances, rooms.length);
+		this.id = fingerprint();
+	}
+
+
+	/**
+	 * Compile a text definition file into a binary catalog, or show what is in a definition file.
+	 * @param args "compile" followed by the text file and the catalog to write, or "show" followed by a text file or catalog
+	 * @throws IOException if a file cannot be read or written
+	 */
+	public static void main(String[] args) throws IOException {
+		if(args.length == 3 && args[0].equals("compile")) {
+			long start = System.nanoTime();
+			GameDefinition definition = parse(Path.of(args[1]));
+			definition.compile(Path.of(args[2]));
+			System.out.printf("Compiled %d cards (%d rooms) to %s in %.1f ms%n", definition.getRegistry().getCardCount(),
+					definition.getRooms().length, args[2], (System.nanoTime() - start) / 1e6);
+		}else if(args.length == 2 && args[0].equals("show")) {
+			long start = System.nanoTime();
+			GameDefinition definition = read(Path.of(args[1]));
+			double millis = (System.nanoTime() - start) / 1e6;
+			System.out.println("People:  " + definition.getPeople().length);
+			System.out.println("Weapons: " + definition.getWeapons().length);
+			System.out.println("Rooms:   " + definition.getRooms().length);
+			System.out.printf("Loaded in %.1f ms%n", millis);
+		}else {
+			System.out.println("Usage: java GameDefinition compile <definition.txt> <catalog.bin>");
+			System.out.println("       java GameDefinition show <definition.txt or catalog.bin>");
+		}
+	}
+
+
+	/**
+	 * Set up the classic game: its people, weapons, and rooms, and the corridors and secret passages of the classic board.
+	 * @return the classic game
+	 */
+	private static GameDefinition initClassic() {
+		Room[] rooms = initRooms();
+		return new GameDefinition(initPeople(), initWeapons(), rooms, initCorridors(rooms));
+	}
+
+
+	/**
+	 * Initialize all of the people (suspects) in Clue using the Person class.
+	 * @return an array of the Person class containing all of the people (suspects) in the game.
+	 */
+	private static Person[] initPeople() {
+		Person green = new Person("Green");
+		Person mustard = new Person("Mustard");
+		Person peacock = new Person("Peacock");
+		Person plum = new Person("Plum");
+		Person scarlet = new Person("Scarlet");
+		Person white = new Person("White");
+
+		Person[] peopleArr = new Person[] {green, mustard, peacock, plum, scarlet, white};
+		return peopleArr;
+	}
+
+
+	/**
+	 * Initialize all of the weapons in Clue using the Weapon class.
+	 * @return an array of the Weapon class containing all of the weapons in the game.
+	 */
+	private static Weapon[] initWeapons() {
+		Weapon candlestick = new Weapon("Candlestick");
+		Weapon knife = new Weapon("Knife");
+		Weapon leadPipe = new Weapon("Lead Pipe");
+		Weapon pistol = new Weapon("Pistol");
+		Weapon rope = new Weapon("Rope");
+		Weapon wrench = new Weapon("Wrench");
+
+		Weapon[] weaponsArr = new Weapon[] {candlestick, knife, leadPipe, pistol, rope, wrench};
+		return weaponsArr;
+	}
+
+
+	/**
+	 * Initialize all of the rooms on the Clue board using the Room class.
+	 * @return an array of the Room class containing all of the rooms on the Clue board
+	 */
+	private static Room[] initRooms() {
+		Room courtyard = new Room("Courtyard", 0);
+		Room garage = new Room("Garage", 1);
+		Room gameRoom = new Room("Game Room", 2);
+		Room bedroom = new Room("Bedroom", 3);
+		Room bathroom = new Room("Bathroom", 4);
+		Room office = new Room("Office", 5);
+		Room kitchen = new Room("Kitchen", 6);
+		Room diningRoom = new Room("Dining Room", 7);
+		Room livingRoom = new Room("Living Room", 8);
+
+		Room[] roomsArr = new Room[] {courtyard, garage, gameRoom, bedroom, bathroom, office, kitchen, diningRoom, livingRoom};
+		return roomsArr;
+	}
+
+
+	/**
+	 * Set up the corridors and secret passages of the classic Clue board (the same ones as classic.txt).
+	 * @param rooms the classic rooms (from initRooms)
+	 * @return the length of the corridor between each pair of rooms, indexed [room][room] (-1 if there is no corridor)
+	 */
+	private static int[][] initCorridors(Room[] rooms) {
+		int[][] corridors = new int[rooms.length][rooms.length];
+		for(int[] row : corridors) {
+			Arrays.fill(row, -1); //No corridor yet
+		}
+		// How far each room is from each other (how many spaces)
+		addCorridor(corridors, rooms, "Courtyard", "Garage", 5); //The courtyard is 5 spaces from the garage
+		addCorridor(corridors, rooms, "Courtyard", "Game Room", 6);
+		addCorridor(corridors, rooms, "Courtyard", "Bedroom", 10);
+		addCorridor(corridors, rooms, "Courtyard", "Bathroom", 9);
+		addCorridor(corridors, rooms, "Courtyard", "Office", 8);
+		addCorridor(corridors, rooms, "Courtyard", "Kitchen", 8);
+		addCorridor(corridors, rooms, "Courtyard", "Dining Room", 6);
+		addCorridor(corridors, rooms, "Courtyard", "Living Room", 5);
+
+		addCorridor(corridors, rooms, "Garage", "Game Room", 4);
+		addCorridor(corridors, rooms, "Garage", "Bedroom", 9);
+		addCorridor(corridors, rooms, "Garage", "Bathroom", 9);
+		addCorridor(corridors, rooms, "Garage", "Office", 9);
+		addCorridor(corridors, rooms, "Garage", "Dining Room", 9);
+		addCorridor(corridors, rooms, "Garage", "Living Room", 9);
+
+		addCorridor(corridors, rooms, "Game Room", "Bedroom", 7);
+		addCorridor(corridors, rooms, "Game Room", "Bathroom", 7);
+		addCorridor(corridors, rooms, "Game Room", "Office", 7);
+		addCorridor(corridors, rooms, "Game Room", "Kitchen", 10);
+		addCorridor(corridors, rooms, "Game Room", "Dining Room", 6);
+		addCorridor(corridors, rooms, "Game Room", "Living Room", 9);
+
+		addCorridor(corridors, rooms, "Bedroom", "Bathroom", 4);
+		addCorridor(corridors, rooms, "Bedroom", "Office", 5);
+		addCorridor(corridors, rooms, "Bedroom", "Kitchen", 9);
+		addCorridor(corridors, rooms, "Bedroom", "Dining Room", 8);
+
+		addCorridor(corridors, rooms, "Bathroom", "Office", 3);
+		addCorridor(corridors, rooms, "Bathroom", "Kitchen", 8);
+		addCorridor(corridors, rooms, "Bathroom", "Dining Room", 7);
+		addCorridor(corridors, rooms, "Bathroom", "Living Room", 10);
+
+		addCorridor(corridors, rooms, "Office", "Kitchen", 7);
+		addCorridor(corridors, rooms, "Office", "Dining Room", 6);
+		addCorridor(corridors, rooms, "Office", "Living Room", 9);
+
+		addCorridor(corridors, rooms, "Kitchen", "Dining Room", 4);
+		addCorridor(corridors, rooms, "Kitchen", "Living Room", 7);
+
+		addCorridor(corridors, rooms, "Dining Room", "Living Room", 5);
+
+		//The secret passages join two rooms with no spaces in between
+		addCorridor(corridors, rooms, "Garage", "Kitchen", 0);
+		addCorridor(corridors, rooms, "Bedroom", "Living Room", 0);
+		return corridors;
+	}
+
+
+	/**
+	 * Add a corridor between two rooms. If there is already a shorter corridor between them, it is kept.
+	 * @param corridors the corridor lengths, indexed [room][room] (-1 if there is no corridor)
+	 * @param rooms the rooms
+	 * @param roomA the name of a room
+	 * @param roomB the name of another room
+	 * @param dist the length (number of spaces) of the corridor
+	 * @throws IllegalArgumentException if either room is not one of the rooms (so a misspelled name cannot quietly leave a corridor out)
+	 */
+	private static void addCorridor(int[][] corridors, Room[] rooms, String roomA, String roomB, int dist) {
+		int i = -1;
+		int j = -1;
+		for(int r = 0; r < rooms.length; r++) {
+			if(rooms[r].getName().equals(roomA)) {
+				i = r;
+			}
+			if(rooms[r].getName().equals(roomB)) {
+				j = r;
+			}
+		}
+		if(i == -1 || j == -1) {
+			throw new IllegalArgumentException("There is no room called " + ((i == -1) ? roomA : roomB) + " on this board");
+		}
+		if(corridors[i][j] < 0 || dist < corridors[i][j]) {
+			corridors[i][j] = dist;
+			corridors[j][i] = dist;
+		}
+	}
+
+
+	//Getters
+
+	/**
+	 * @return the classic game (6 people, 6 weapons, 9 rooms)
+	 */
+	public static GameDefinition classic() {
+		return CLASSIC;
+	}
+
+	/**
+	 * @return the registry that gives every card in this game an ID
+	 */
+	public CardRegistry getRegistry() {
+		return registry;
+	}
+
+	/**
+	 * @return the people. This array is shared, so do not change it.
+	 */
+	public Person[] getPeople() {
+		return registry.getPeople();
+	}
+
+	/**
+	 * @return the weapons. This array is shared, so do not change it.
+	 */
+	public Weapon[] getWeapons() {
+		return registry.getWeapons();
+	}
+
+	/**
+	 * @return the rooms. This array is shared, so do not change it.
+	 */
+	public Room[] getRooms() {
+		return registry.getRooms();
+	}
+
+	/**
+	 * @return a number that is the same for two definitions with the same cards (in the same order) and the same distances, and almost surely
+	 * different otherwise. GameSnapshot and GameLog save it with every game, so a game is never read back with the wrong cards.
+	 */
+	public long getId() {
+		return id;
+	}
+
+	/**
+	 * @param roomA the index of a room
+	 * @param roomB the index of another room
+	 * @return the distance between the two rooms
+	 */
+	public int getDistance(int roomA, int roomB) {
+		return distances[roomA * getRooms().length + roomB];
+	}
+
+
+	//Methods
+
+	/**
+	 * Read a definition from a file, which can be a text definition or a compiled binary catalog.
+	 * @param file the file
+	 * @return the definition
+	 * @throws IOException if the file cannot be read or is not a valid definition
+	 */
+	public static GameDefinition read(Path file) throws IOException {
+		byte[] bytes = Files.readAllBytes(file);
+		if(bytes.length >= 4 && ByteBuffer.wrap(bytes).getInt() == MAGIC) {
+			return load(ByteBuffer.wrap(bytes));
+		}
+		return parse(new String(bytes, StandardCharsets.UTF_8), file.toString());
+	}
+
+
+	/**
+	 * Read a text definition file.
+	 * @param file the file
+	 * @return the definition
+	 * @throws IOException if the file cannot be read or is not a valid definition
+	 */
+	public static GameDefinition parse(Path file) throws IOException {
+		return parse(Files.readString(file, StandardCharsets.UTF_8), file.toString());
+	}
+
+
+	/**
+	 * Read a text definition. Each line is looked at once, and room names are looked up in a HashMap, so big definitions are read in linear time.
+	 * @param text the text of a definition file
+	 * @param source where the text came from, for error messages
+	 * @return the definition
+	 * @throws IOException if the text is not a valid definition
+	 */
+	private static GameDefinition parse(String text, String source) throws IOException {
+		String[] people = null;
+		String[] weapons = null;
+		String[] rooms = null;
+		List<String[]> distanceLines = new ArrayList<String[]>(); //Corridors and passages: room, room, length, line number
+		String[] lines = text.split("\r?\n");
+		for(int n = 0; n < lines.length; n++) {
+			String line = lines[n].trim();
+			if(line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+			int colon = line.indexOf(':');
+			if(colon == -1) {
+				throw new IOException(source + " line " + (n + 1) + ": expected \"key: values\"");
+			}
+			String key = line.substring(0, colon).trim();
+			String[] values = line.substring(colon + 1).split(",");
+			for(int i = 0; i < values.length; i++) {
+				values[i] = values[i].trim();
+			}
+			if(key.equals("people")) {
+				people = values;
+			}else if(key.equals("weapons")) {
+				weapons = values;
+			}else if(key.equals("rooms")) {
+				rooms = values;
+			}else if(key.equals("distance") && values.length == 3) {
+				distanceLines.add(new String[] {values[0], values[1], values[2], Integer.toString(n + 1)});
+			}else if(key.equals("passage") && values.length == 2) {
+				distanceLines.add(new String[] {values[0], values[1], "0", Integer.toString(n + 1)});
+			}else {
+				throw new IOException(source + " line " + (n + 1) + ": unknown entry \"" + key + "\"");
+			}
+		}
+		if(people == null || weapons == null || rooms == null) {
+			throw new IOException(source + ": people, weapons, and rooms are all needed");
+		}
+
+		HashMap<String, Integer> roomIndexes = new HashMap<String, Integer>();
+		for(int i = 0; i < rooms.length; i++) {
+			roomIndexes.put(rooms[i], i);
+		}
+		int[][] distances = new int[rooms.length][rooms.length];
+		for(int[] row : distances) {
+			Arrays.fill(row, -1); //No corridor yet
+		}
+		for(String[] entry : distanceLines) {
+			Integer a = roomIndexes.get(entry[0]);
+			Integer b = roomIndexes.get(entry[1]);
+			if(a == null || b == null) {
+				throw new IOException(source + " line " + entry[3] + ": unknown room");
+			}
+			int distance;
+			try {
+				distance = Integer.parseInt(entry[2]);
+			}catch(NumberFormatException e) {
+				throw new IOException(source + " line " + entry[3] + ": the distance is not a number");
+			}
+			if(distance < 0) {
+				throw new IOException(source + " line " + entry[3] + ": the distance cannot be negative");
+			}
+			if(distances[a][b] < 0 || distance < distances[a][b]) { //Keep the shorter of two corridors between the same rooms
+				distances[a][b] = distance;
+				distances[b][a] = distance;
+			}
+		}
+		try {
+			return new GameDefinition(people, weapons, rooms, distances);
+		}catch(IllegalArgumentException e) {
+			throw new IOException(source + ": " + e.getMessage());
+		}
+	}
+
+
+	/**
+	 * Read a compiled binary catalog.
+	 * @param in the catalog's bytes, starting at the buffer's position
+	 * @return the definition
+	 * @throws IOException if the bytes are not a valid catalog
+	 */
+	public static GameDefinition load(ByteBuffer in) throws IOException {
+		try {
+			if(in.getInt() != MAGIC || in.getShort() != VERSION) {
+				throw new IOException("Not a game catalog");
+			}
+			String[] people = readNames(in);
+			String[] weapons = readNames(in);
+			String[] rooms = readNames(in);
+			int[][] distances = new int[rooms.length][rooms.length];
+			for(int i = 0; i < rooms.length; i++) {
+				for(int j = 0; j < rooms.length; j++) {
+					distances[i][j] = in.getShort();
+				}
+			}
+			return new GameDefinition(people, weapons, rooms, distances);
+		}catch(RuntimeException e) { //A cut off buffer or bad names
+			throw new IOException("Not a valid game catalog: " + e.getMessage());
+		}
+	}
+
+
+	/**
+	 * Write this definition as a binary catalog.
+	 * @param file the file to write
+	 * @throws IOException if the file cannot be written, or a count, name, or distance is too big to fit in a short
+	 */
+	public void compile(Path file) throws IOException {
+		Room[] rooms = getRooms();
+		ByteBuffer out = ByteBuffer.allocate(6 + nameBytes() + rooms.length * rooms.length * 2);
+		out.putInt(MAGIC);
+		out.putShort(VERSION);
+		writeNames(out, getPeople());
+		writeNames(out, getWeapons());
+		writeNames(out, rooms);
+		for(int distance : distances) {
+			out.putShort(toShort(distance, "A distance"));
+		}
+		Files.write(file, out.array());
+	}
+
+
+	/**
+	 * Work out the ID of this definition: a 64-bit FNV-1a hash of how many cards are in each category, every card's name, and every distance.
+	 * @return the ID
+	 */
+	private long fingerprint() {
+		long hash = 0xCBF29CE484222325L;
+		int[] numbers = new int[3 + distances.length];
+		numbers[0] = getPeople().length;
+		numbers[1] = getWeapons().length;
+		numbers[2] = getRooms().length;
+		System.arraycopy(distances, 0, numbers, 3, distances.length);
+		for(int number : numbers) {
+			hash = (hash ^ number) * 0x100000001B3L;
+		}
+		for(int id = 0; id < registry.getCardCount(); id++) {
+			for(byte b : registry.nameOf(id).getBytes(StandardCharsets.UTF_8)) {
+				hash = (hash ^ (b & 0xFF)) * 0x100000001B3L;
+			}
+			hash = (hash ^ 0xFF) * 0x100000001B3L; //0xFF is never a byte of UTF-8, so it marks where each name ends
+		}
+		return hash;
+	}
+
+
+	/**
+	 * @return true if two cards share a name
+	 */
+	private boolean hasDuplicateName() {
+		for(int id = 0; id < registry.getCardCount(); id++) {
+			if(registry.idOf(registry.nameOf(id)) != id) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+
+	/**
+	 * @return the number of bytes the names take up in a catalog
+	 */
+	private int nameBytes() {
+		int bytes = 3 * 2; //The three counts
+		for(int id = 0; id < registry.getCardCount(); id++) {
+			bytes += 2 + registry.nameOf(id).getBytes(StandardCharsets.UTF_8).length;
+		}
+		return bytes;
+	}
+
+
+	/**
+	 * Write a category's names to a catalog.
+	 * @param out where to write
+	 * @param cards the people, weapons, or rooms
+	 * @throws IOException if there are too many cards or a name is too long
+	 */
+	private static void writeNames(ByteBuffer out, Object[] cards) throws IOException {
+		out.putShort(toShort(cards.length, "The number of cards in a category"));
+		for(Object card : cards) {
+			byte[] name = card.toString().getBytes(StandardCharsets.UTF_8);
+			out.putShort(toShort(name.length, "The length of the name " + card));
+			out.put(name);
+		}
+	}
+
+
+	/**
+	 * Check that a number fits in a catalog's short before it is cast, so it cannot wrap around into a different number.
+	 * @param value the number
+	 * @param what what the number is, for the error message
+	 * @return the number as a short
+	 * @throws IOException if the number is negative or bigger than Short.MAX_VALUE
+	 */
+	private static short toShort(int value, String what) throws IOException {
+		if(value < 0 || value > Short.MAX_VALUE) {
+			throw new IOException(what + " is " + value + ", which does not fit in a catalog (the most is " + Short.MAX_VALUE + ")");
+		}
+		return (short) value;
+	}
+
+
+	/**
+	 * Read a category's names from a catalog.
+	 * @param in where to read
+	 * @return the names
+	 */
+	private static String[] readNames(ByteBuffer in) {
+		String[] names = new String[in.getShort()];
+		for(int i = 0; i < names.length; i++) {
+			byte[] name = new byte[in.getShort()];
+			in.get(name);
+			names[i] = new String(name, StandardCharsets.UTF_8);
+		}
+		return names;
+	}
+
+
+	/**
+	 * @param names the names of the people
+	 * @return a Person for each name
+	 */
+	private static Person[] toPeople(String[] names) {
+		Person[] people = new Person[names.length];
+		for(int i = 0; i < names.length; i++) {
+			people[i] = new Person(names[i]);
+		}
+		return people;
+	}
+
+	/**
+	 * @param names the names of the weapons
+	 * @return a Weapon for each name
+	 */
+	private static Weapon[] toWeapons(String[] names) {
+		Weapon[] weapons = new Weapon[names.length];
+		for(int i = 0; i < names.length; i++) {
+			weapons[i] = new Weapon(names[i]);
+		}
+		return weapons;
+	}
+
+	/**
+	 * @param names the names of the rooms
+	 * @return a Room for each name
+	 */
+	private static Room[] toRooms(String[] names) {
+		Room[] rooms = new Room[names.length];
+		for(int i = 0; i < names.length; i++) {
+			rooms[i] = new Room(names[i], i);
+		}
+		return rooms;
+	}
+
+}
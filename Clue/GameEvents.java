@@ -0,0 +1,204 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.function.Consumer;
+
+/**
+ * This class holds the JDK Flight Recorder events the game records, so a recording of a running program shows every deal, turn, suggestion,
+ * refutation, and accusation on the same timeline as garbage collection and CPU use. Each event's duration is how long that step took,
+ * which for the computer is how long it took to decide.
+ * When no recording is running, an event costs almost nothing: the fields are only filled in if shouldCommit() says the event will be kept.
+ * None of the events take a stack trace, which is the expensive part of recording an event.
+ * Record a game with, for example: java -XX:StartFlightRecording:filename=clue.jfr Tournament 100000
+ * @author Maddie Moyer
+ */
+public class GameEvents {
+
+	/**
+	 * End an event that was begun, and if a flight recording wants it, fill in its fields and record it.
+	 * The fields are only worked out when the event will be kept, so this is the only place that needs to check.
+	 * @param <E> the kind of event
+	 * @param event the event, begun when the step it times started
+	 * @param fields fills in the event's fields
+	 */
+	public static <E extends Event> void record(E event, Consumer<? super E> fields) {
+		event.end();
+		if(event.shouldCommit()) {
+			fields.accept(event);
+			event.commit();
+		}
+	}
+
+
+	/**
+	 * A new game was set up and dealt (recorded by GameData). The duration is how long the deal took.
+	 */
+	@Name("clue.GameStart")
+	@Label("Game Start")
+	@Category("Clue")
+	@Description("A game was set up and its cards were dealt")
+	@StackTrace(false)
+	public static class GameStart extends Event {
+		@Label("Seats")
+		int seats;
+
+		@Label("Murder Person")
+		@Description("Card ID of the person in the envelope")
+		int murderPerson;
+
+		@Label("Murder Weapon")
+		@Description("Card ID of the weapon in the envelope")
+		int murderWeapon;
+
+		@Label("Murder Room")
+		@Description("Card ID of the room in the envelope")
+		int murderRoom;
+
+		@Label("Cards Dealt")
+		int cardsDealt;
+	}
+
+
+	/**
+	 * One seat's whole turn (recorded by ClueEngine.playAutoTurn and by Clue's turn methods, where the duration includes waiting for the player).
+	 */
+	@Name("clue.Turn")
+	@Label("Turn")
+	@Category("Clue")
+	@Description("One seat's whole turn")
+	@StackTrace(false)
+	public static class Turn extends Event {
+		@Label("Seat")
+		int seat;
+
+		@Label("Dice Roll")
+		@Description("0 if the seat accused instead of rolling")
+		int diceRoll;
+
+		@Label("From Room")
+		String fromRoom;
+
+		@Label("To Room")
+		String toRoom;
+
+		@Label("Accused")
+		boolean accused;
+	}
+
+
+	/**
+	 * A seat made a suggestion (recorded by ClueEngine). For the computer, the duration is how long it took to pick the person and weapon.
+	 */
+	@Name("clue.Suggestion")
+	@Label("Suggestion")
+	@Category("Clue")
+	@Description("A seat guessed a person, weapon, and room")
+	@StackTrace(false)
+	public static class Suggestion extends Event {
+		@Label("Seat")
+		int seat;
+
+		@Label("Person")
+		@Description("Card ID, or -1 if the name was not a card")
+		int person;
+
+		@Label("Weapon")
+		@Description("Card ID, or -1 if the name was not a card")
+		int weapon;
+
+		@Label("Room")
+		@Description("Card ID")
+		int room;
+
+		@Label("Candidate People")
+		@Description("How many people the computer chose from (-1 for the player)")
+		int candidatePeople;
+
+		@Label("Candidate Weapons")
+		@Description("How many weapons the computer chose from (-1 for the player)")
+		int candidateWeapons;
+	}
+
+
+	/**
+	 * The seats after a guesser were asked to show a card (recorded by ClueEngine), including what every seat learned from it.
+	 */
+	@Name("clue.Refutation")
+	@Label("Refutation")
+	@Category("Clue")
+	@Description("Seats were asked to show a card from a suggestion")
+	@StackTrace(false)
+	public static class Refutation extends Event {
+		@Label("Guesser")
+		int guesser;
+
+		@Label("Shower")
+		@Description("The seat that showed a card, or -1 if nobody could")
+		int shower;
+
+		@Label("Card")
+		@Description("Card ID of the card shown, or -1 if none was shown")
+		int card;
+
+		@Label("Seats Asked")
+		int seatsAsked;
+	}
+
+
+	/**
+	 * A seat decided whether to accuse (recorded by ClueEngine.accusationFor). The duration is how long the decision took.
+	 */
+	@Name("clue.AccusationCheck")
+	@Label("Accusation Check")
+	@Category("Clue")
+	@Description("A computer seat decided whether to accuse")
+	@StackTrace(false)
+	public static class AccusationCheck extends Event {
+		@Label("Seat")
+		int seat;
+
+		@Label("Candidate Solutions")
+		@Description("How many person, weapon, and room combinations the seat still thinks could be in the envelope")
+		long candidateSolutions;
+
+		@Label("Ready")
+		boolean ready;
+	}
+
+
+	/**
+	 * A seat made an accusation (recorded by ClueEngine.accuse).
+	 */
+	@Name("clue.Accusation")
+	@Label("Accusation")
+	@Category("Clue")
+	@Description("A seat accused a person, weapon, and room")
+	@StackTrace(false)
+	public static class Accusation extends Event {
+		@Label("Seat")
+		int seat;
+
+		@Label("Person")
+		@Description("Card ID, or -1 if the name was not a card")
+		int person;
+
+		@Label("Weapon")
+		@Description("Card ID, or -1 if the name was not a card")
+		int weapon;
+
+		@Label("Room")
+		@Description("Card ID, or -1 if the name was not a card")
+		int room;
+
+		@Label("Correct")
+		boolean correct;
+
+		@Label("Game Over")
+		boolean gameOver;
+	}
+
+}
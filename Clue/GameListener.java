@@ -0,0 +1,66 @@
+/**
+ * This interface is used to find out what happens during a game of Clue that is run by the ClueEngine.
+ * Every method has an empty default, so a listener only needs to override the events it cares about.
+ * @author Maddie Moyer
+ */
+public interface GameListener {
+
+	/**
+	 * Called once the cards have been dealt and the game is ready to be played.
+	 * @param gameData the game data of the game that started
+	 */
+	default void gameStarted(GameData gameData) {
+	}
+
+	/**
+	 * Called every time the dice are rolled.
+	 * @param seat the seat that rolled the dice (ClueEngine.PLAYER or ClueEngine.COMPUTER)
+	 * @param diceRoll the number that was rolled (2 to 12)
+	 */
+	default void diceRolled(int seat, int diceRoll) {
+	}
+
+	/**
+	 * Called every time a seat moves to a new room.
+	 * @param seat the seat that moved
+	 * @param from the room the seat was in before moving
+	 * @param to the room the seat moved to
+	 */
+	default void moved(int seat, Room from, Room to) {
+	}
+
+	/**
+	 * Called every time a seat makes a guess.
+	 * @param seat the seat that made the guess
+	 * @param guess a String array containing the guess {Person, Weapon, Room}
+	 */
+	default void guessMade(int seat, String[] guess) {
+	}
+
+	/**
+	 * Called after a guess has been answered, whether or not a card was shown.
+	 * @param guesser the seat that made the guess
+	 * @param shower the seat that was asked to show a card
+	 * @param card the card that was shown, or null if the shower did not have any of the guessed cards
+	 */
+	default void cardShown(int guesser, int shower, String card) {
+	}
+
+	/**
+	 * Called every time a seat makes an accusation.
+	 * @param seat the seat that made the accusation
+	 * @param accusation a String array containing the accusation {Person, Weapon, Room}
+	 * @param correct true if the accusation matches the murder details
+	 */
+	default void accusationMade(int seat, String[] accusation, boolean correct) {
+	}
+
+	/**
+	 * Called once when the game is over, after every other event of the game. A game ends when an accusation decides it, or when it is stopped
+	 * without a winner (see ClueEngine.stopGame).
+	 * @param winner the seat that won, or -1 if the game was stopped before anybody won
+	 */
+	default void gameEnded(int winner) {
+	}
+
+}
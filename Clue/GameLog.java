@@ -0,0 +1,279 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class writes every event of many games of Clue to one append-only binary file, so any game can be replayed later (see GameLogReader).
+ * The file is written through a memory-mapped buffer, so appending is a memory copy instead of a system call.
+ * Each game records its events with its own Recorder (a GameListener), which keeps them in a small buffer and only appends them to the file
+ * as one frame when the buffer fills up or the game ends (however it ends, see GameListener.gameEnded). Many games on many threads can share one GameLog.
+ * <p>
+ * File layout: a header (MAGIC, then VERSION), followed by frames. A frame is {int length of the rest of the frame, long game ID, events...}.
+ * A game can be split over several frames with the same game ID. A frame length of 0 marks the end of the log.
+ * Every event starts with one type byte:
+ * <ul>
+ * <li>DEAL: the ID of the game's definition (long, see GameDefinition.getId), murder person and weapon index (2 shorts), murder room index (1 byte),
+ * number of seats n (1 byte), longs per hand w (short, see CardSet.getWordCount), each seat's hand (n * w longs), each seat's room index (n bytes)</li>
+ * <li>DICE: seat, roll (2 bytes)</li>
+ * <li>MOVE: seat, from room index, to room index (3 bytes)</li>
+ * <li>GUESS: seat (1 byte), person, weapon, and room card IDs (3 shorts)</li>
+ * <li>SHOWN: guesser, shower (2 bytes), card ID or NONE (short)</li>
+ * <li>ACCUSE: seat (1 byte), person, weapon, and room card IDs (3 shorts, NONE if not a card), 1 if correct (1 byte)</li>
+ * </ul>
+ * Every number is unsigned. Card IDs and the person and weapon index are shorts (0 to 65535), so a deck can have thousands of cards, and
+ * NONE (65535) is never a card ID because a definition has at most GameDefinition.MAX_CARDS cards. Seats and room indexes are bytes
+ * (0 to 255), and a board has at most Board.MAX_ROOMS rooms.
+ * @author Maddie Moyer
+ */
+public class GameLog implements AutoCloseable {
+
+	public static final int MAGIC = 0x434C5545; //"CLUE"
+	public static final short VERSION = 4;
+	public static final byte DEAL = 1;
+	public static final byte DICE = 2;
+	public static final byte MOVE = 3;
+	public static final byte GUESS = 4;
+	public static final byte SHOWN = 5;
+	public static final byte ACCUSE = 6;
+	public static final int NONE = 0xFFFF; //The card ID written when no card was shown or a name was not a card
+
+	private static final long MAP_SIZE = 64L * 1024 * 1024; //How much of the file is mapped at a time
+	private static final int RECORDER_BUFFER = 4096; //Bytes a game collects before they are appended to the file
+	public static final int HEADER_SIZE = 6; //Bytes before the first frame
+	private static final int FRAME_HEADER_SIZE = 12;
+
+	private final FileChannel channel;
+	private MappedByteBuffer mapped; //The part of the file being written to
+	private long mappedStart; //Where in the file the mapped part starts
+	private final AtomicLong nextGameId = new AtomicLong();
+
+
+	/**
+	 * Constructor. Creates the log file, or replaces it if it already exists.
+	 * @param file the file to write to
+	 * @throws IOException if the file cannot be created
+	 */
+	public GameLog(Path file) throws IOException {
+		this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		this.mappedStart = 0;
+		this.mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, MAP_SIZE);
+		mapped.putInt(MAGIC);
+		mapped.putShort(VERSION);
+	}
+
+
+	/**
+	 * Play games from the command line and log them, to see how fast games can be written.
+	 * @param args the file to write, then optional: the number of games (default 100,000) and the base seed (default 1)
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void main(String[] args) throws IOException {
+		Path file = Path.of(args[0]);
+		long games = (args.length > 1) ? Long.parseLong(args[1]) : 100_000L;
+		long seed = (args.length > 2) ? Long.parseLong(args[2]) : 1L;
+
+		Tournament tournament = new Tournament(seed);
+		long start = System.nanoTime();
+		try(GameLog log = new GameLog(file)) {
+			tournament.setGameLog(log);
+			tournament.run(games);
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.printf("Logged %d games to %s in %.3f s (%.0f games/s, %.1f bytes/game)%n",
+				games, file, seconds, games / seconds, (double) file.toFile().length() / games);
+	}
+
+
+	//Methods
+
+	/**
+	 * @param seats the number of seats in the game
+	 * @param words the number of longs each hand is written as
+	 * @return the size of a DEAL event in bytes, including the type byte
+	 */
+	static int dealSize(int seats, int words) {
+		return 17 + seats * (8 * words + 1);
+	}
+
+
+	/**
+	 * Start recording a new game. Pass the Recorder to the game's ClueEngine as its listener (or forward events to it).
+	 * @return a Recorder with a new game ID
+	 */
+	public Recorder newRecorder() {
+		return new Recorder(nextGameId.getAndIncrement());
+	}
+
+
+	/**
+	 * Append one frame of events to the file.
+	 * @param gameId the game the events belong to
+	 * @param events the events, from position 0 to the buffer's position
+	 */
+	private synchronized void append(long gameId, ByteBuffer events) {
+		int length = events.position();
+		try {
+			if(mapped.remaining() < FRAME_HEADER_SIZE + length) { //Map the next part of the file
+				mappedStart += mapped.position();
+				mapped = channel.map(FileChannel.MapMode.READ_WRITE, mappedStart, MAP_SIZE);
+			}
+		}catch(IOException e) {
+			throw new IllegalStateException("Could not grow the game log", e);
+		}
+		mapped.putInt(length + 8);
+		mapped.putLong(gameId);
+		mapped.put(events.array(), 0, length);
+	}
+
+
+	/**
+	 * Write everything to disk and cut the file down to the end of the last frame.
+	 * @throws IOException if the file cannot be written
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		long end = mappedStart + mapped.position();
+		mapped.force();
+		mapped = null;
+		channel.truncate(end);
+		channel.close();
+	}
+
+
+	/**
+	 * Records the events of one game. It is only used by the thread playing the game, so it does not need to be thread-safe.
+	 */
+	public class Recorder implements GameListener {
+
+		private final long gameId;
+		private ByteBuffer buffer = ByteBuffer.allocate(RECORDER_BUFFER);
+		private CardRegistry registry;
+
+		/**
+		 * Constructor
+		 * @param gameId the ID of the game being recorded
+		 */
+		Recorder(long gameId) {
+			this.gameId = gameId;
+		}
+
+		/**
+		 * @return the ID of the game being recorded
+		 */
+		public long getGameId() {
+			return gameId;
+		}
+
+		@Override
+		public void gameStarted(GameData gameData) {
+			this.registry = gameData.getRegistry();
+			int seats = gameData.getSeatCount();
+			int words = gameData.getHand(0).getWordCount();
+			int size = dealSize(seats, words);
+			if(size > buffer.capacity()) { //A deck so big that its deal does not fit in the buffer
+				flush();
+				buffer = ByteBuffer.allocate(size);
+			}
+			room(size);
+			buffer.put(DEAL);
+			buffer.putLong(gameData.getDefinition().getId());
+			buffer.putShort((short) (registry.idOf(gameData.getMurderPerson().getName()) - registry.personId(0)));
+			buffer.putShort((short) (registry.idOf(gameData.getMurderWeapon().getName()) - registry.weaponId(0)));
+			buffer.put((byte) registry.roomIndex(gameData.getMurderRoom()));
+			buffer.put((byte) seats);
+			buffer.putShort((short) words);
+			for(int seat = 0; seat < seats; seat++) {
+				CardSet hand = gameData.getHand(seat);
+				for(int i = 0; i < words; i++) {
+					buffer.putLong(hand.getWord(i));
+				}
+			}
+			for(int seat = 0; seat < seats; seat++) {
+				buffer.put((byte) registry.roomIndex(gameData.getLocation(seat)));
+			}
+		}
+
+		@Override
+		public void diceRolled(int seat, int diceRoll) {
+			room(3);
+			buffer.put(DICE).put((byte) seat).put((byte) diceRoll);
+		}
+
+		@Override
+		public void moved(int seat, Room from, Room to) {
+			room(4);
+			buffer.put(MOVE).put((byte) seat).put((byte) registry.roomIndex(from)).put((byte) registry.roomIndex(to));
+		}
+
+		@Override
+		public void guessMade(int seat, String[] guess) {
+			room(8);
+			buffer.put(GUESS).put((byte) seat);
+			putCards(guess);
+		}
+
+		@Override
+		public void cardShown(int guesser, int shower, String card) {
+			room(5);
+			buffer.put(SHOWN).put((byte) guesser).put((byte) shower);
+			putCard((card == null) ? -1 : registry.idOf(card));
+		}
+
+		@Override
+		public void accusationMade(int seat, String[] accusation, boolean correct) {
+			room(9);
+			buffer.put(ACCUSE).put((byte) seat);
+			putCards(accusation);
+			buffer.put((byte) (correct ? 1 : 0));
+		}
+
+		@Override
+		public void gameEnded(int winner) {
+			flush();
+		}
+
+		/**
+		 * Append whatever has been recorded so far to the log. This is done when the buffer fills up and when the game ends.
+		 */
+		private void flush() {
+			if(buffer.position() > 0) {
+				append(gameId, buffer);
+				buffer.clear();
+			}
+		}
+
+		/**
+		 * Make sure the buffer has room for an event, appending what it has to the log if not.
+		 * @param bytes the size of the event
+		 */
+		private void room(int bytes) {
+			if(buffer.remaining() < bytes) {
+				flush();
+			}
+		}
+
+		/**
+		 * Write the card IDs of a guess or accusation. Names that are not cards are written as NONE.
+		 * @param cards a String array {Person, Weapon, Room}
+		 */
+		private void putCards(String[] cards) {
+			for(int i = 0; i < 3; i++) {
+				putCard(registry.idOf(cards[i]));
+			}
+		}
+
+		/**
+		 * Write a card ID as an unsigned short.
+		 * @param id a card ID, or -1 for no card (written as NONE)
+		 */
+		private void putCard(int id) {
+			buffer.putShort((short) ((id == -1) ? NONE : id));
+		}
+
+	}
+
+}
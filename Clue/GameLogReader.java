@@ -0,0 +1,344 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * This class reads a file written by GameLog and replays its games. The file is memory-mapped, and one pass over it finds where every game's
+ * frames are, so any game can be replayed without reading the others. A replay sets up the game from its DEAL event and then feeds the events
+ * to a ClueEngine (with the random choices already made), which rebuilds the GameData, both game cards, and what each seat knows.
+ * The index of games and frames is kept in plain arrays: a hash table (open addressing) finds a game's number from its ID, and each game's
+ * frames are next to each other in one array, so finding a game does not box anything.
+ * Games are rebuilt with the game definition the reader is given (classic Clue unless it is given another one), and a game whose DEAL event
+ * names a different definition is not replayed.
+ * Run it with: java GameLogReader file [game ID] [turn] [game definition file]
+ * @author Maddie Moyer
+ */
+public class GameLogReader {
+
+	private final MappedByteBuffer data;
+	private final long[] gameIds; //In the order the games first appear in the file
+	private final int[] gameFrames; //Where game i's frames are in framePositions: from gameFrames[i] up to (not including) gameFrames[i + 1]
+	private final int[] framePositions; //Where each frame starts, grouped by game and in file order within a game
+	private final long[] slotIds; //The hash table from game ID to game number: the game ID in each slot
+	private final int[] slotGames; //The game number in each slot, or -1 if the slot is empty
+	private final GameDefinition definition; //The cards of every game that can be replayed
+	private final Board board; //Every replay is played on the same board
+
+
+	/**
+	 * Constructor. Maps the file and finds every game in it. Games of classic Clue can be replayed.
+	 * @param file a file written by GameLog
+	 * @throws IOException if the file cannot be read or is not a game log
+	 */
+	public GameLogReader(Path file) throws IOException {
+		this(file, GameDefinition.classic());
+	}
+
+
+	/**
+	 * Constructor. Maps the file and finds every game in it.
+	 * @param file a file written by GameLog
+	 * @param definition the version of Clue the games were played with. Only games played with it can be replayed.
+	 * @throws IOException if the file cannot be read or is not a game log
+	 */
+	public GameLogReader(Path file, GameDefinition definition) throws IOException {
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if(channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Game logs over 2 GB are not supported");
+			}
+			this.data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		if(data.remaining() < GameLog.HEADER_SIZE || data.getInt(0) != GameLog.MAGIC || data.getShort(4) != GameLog.VERSION) {
+			throw new IOException(file + " is not a game log");
+		}
+		//Count the frames first, so every array can be made the right size
+		int frameCount = 0;
+		for(int position = GameLog.HEADER_SIZE; position + 4 <= data.limit() && data.getInt(position) != 0; position += 4 + data.getInt(position)) {
+			frameCount++; //A frame length of 0 is the end of the log
+		}
+		int slots = 2;
+		while(slots < 2 * frameCount) { //At most half the slots are used, so looking up a game only checks a few slots
+			slots *= 2;
+		}
+		this.slotIds = new long[slots];
+		this.slotGames = new int[slots];
+		Arrays.fill(slotGames, -1);
+
+		long[] ids = new long[frameCount];
+		int[] frameGame = new int[frameCount]; //The game number of each frame, in file order
+		int[] positions = new int[frameCount];
+		int games = 0;
+		int position = GameLog.HEADER_SIZE;
+		for(int f = 0; f < frameCount; f++) {
+			long gameId = data.getLong(position + 4);
+			int slot = slotOf(gameId);
+			if(slotGames[slot] == -1) { //The first frame of a game
+				slotIds[slot] = gameId;
+				slotGames[slot] = games;
+				ids[games++] = gameId;
+			}
+			frameGame[f] = slotGames[slot];
+			positions[f] = position;
+			position += 4 + data.getInt(position);
+		}
+		this.gameIds = Arrays.copyOf(ids, games);
+
+		//Put each game's frames next to each other (a counting sort by game number, which keeps the file order within a game)
+		this.gameFrames = new int[games + 1];
+		for(int f = 0; f < frameCount; f++) {
+			gameFrames[frameGame[f] + 1]++;
+		}
+		for(int g = 0; g < games; g++) {
+			gameFrames[g + 1] += gameFrames[g];
+		}
+		this.framePositions = new int[frameCount];
+		int[] next = Arrays.copyOf(gameFrames, games);
+		for(int f = 0; f < frameCount; f++) {
+			framePositions[next[frameGame[f]]++] = positions[f];
+		}
+		this.definition = definition;
+		this.board = new Board(definition);
+	}
+
+
+	/**
+	 * Print out a game from a log as it was at the start of a turn.
+	 * @param args the log file, then optional: the game ID (default the first game), the turn (default the end of the game), and
+	 * the game definition file the games were played with (default classic Clue)
+	 * @throws IOException if a file cannot be read
+	 */
+	public static void main(String[] args) throws IOException {
+		GameDefinition definition = (args.length > 3) ? GameDefinition.read(Path.of(args[3])) : GameDefinition.classic();
+		GameLogReader reader = new GameLogReader(Path.of(args[0]), definition);
+		System.out.println("Games in log: " + reader.getGameCount());
+		if(reader.getGameCount() == 0) {
+			return;
+		}
+		long gameId = (args.length > 1) ? Long.parseLong(args[1]) : reader.getGameId(0);
+		int turn = (args.length > 2) ? Integer.parseInt(args[2]) : Integer.MAX_VALUE;
+		ClueEngine engine = reader.replay(gameId, turn);
+		GameData gameData = engine.getGameData();
+		System.out.println("Game " + gameId + " (" + reader.getTurnCount(gameId) + " turns), replayed to turn " + Math.min(turn, reader.getTurnCount(gameId)));
+		gameData.printMurderDetails();
+		for(int seat = 0; seat < gameData.getSeatCount(); seat++) {
+			System.out.println(((seat == ClueEngine.PLAYER) ? "Player" : "Seat " + seat) + " is in the " + gameData.getLocation(seat));
+		}
+		System.out.println("Computer's game card:");
+		gameData.printGameCard(gameData.getComputerGameCardBits());
+		if(engine.isGameOver()) {
+			System.out.println("Game over. Winner: " + ((engine.getWinner() == ClueEngine.PLAYER) ? "player" : "seat " + engine.getWinner()));
+		}
+	}
+
+
+	//Getters
+
+	/**
+	 * @return the number of games in the log
+	 */
+	public int getGameCount() {
+		return gameIds.length;
+	}
+
+	/**
+	 * @param i a number from 0 to getGameCount() - 1
+	 * @return the ID of the i-th game in the log
+	 */
+	public long getGameId(int i) {
+		return gameIds[i];
+	}
+
+
+	//Methods
+
+	/**
+	 * @param gameId the ID of a game in the log
+	 * @return the number of turns in the game (the number of times the dice were rolled)
+	 */
+	public int getTurnCount(long gameId) {
+		int turns = 0;
+		int game = gameOf(gameId);
+		for(int f = firstFrame(game); f < firstFrame(game + 1); f++) {
+			int frame = framePositions[f];
+			int end = frame + 4 + data.getInt(frame);
+			for(int p = frame + 12; p < end; p += eventSize(p)) {
+				if(data.get(p) == GameLog.DICE) {
+					turns++;
+				}
+			}
+		}
+		return turns;
+	}
+
+
+	/**
+	 * Rebuild a game's GameData as it was at the start of a turn.
+	 * @param gameId the ID of a game in the log
+	 * @param turn the turn to stop at (0 is right after the deal). Anything past the last turn gives the game as it ended.
+	 * @return the rebuilt GameData
+	 */
+	public GameData rebuild(long gameId, int turn) {
+		return replay(gameId, turn).getGameData();
+	}
+
+
+	/**
+	 * Replay a game up to the start of a turn. Turn n starts with the n-th dice roll (counting from 0).
+	 * The random number generator of the rebuilt game is seeded with the game ID, so playing on from a replay makes new random choices.
+	 * @param gameId the ID of a game in the log
+	 * @param turn the turn to stop at (0 is right after the deal). Anything past the last turn gives the game as it ended.
+	 * @return a ClueEngine holding the rebuilt game
+	 * @throws IllegalArgumentException if the game is not in the log, or was played with a different game definition than this reader's
+	 */
+	public ClueEngine replay(long gameId, int turn) {
+		ClueEngine engine = null;
+		CardRegistry registry = null;
+		CardSet guessBits = null; //The cards in the most recent guess, for the SHOWN event that answers it
+		int turns = 0;
+		int game = gameOf(gameId);
+		for(int f = firstFrame(game); f < firstFrame(game + 1); f++) {
+			int frame = framePositions[f];
+			int end = frame + 4 + data.getInt(frame);
+			for(int p = frame + 12; p < end; p += eventSize(p)) {
+				byte type = data.get(p);
+				if(type == GameLog.DEAL) {
+					if(data.getLong(p + 1) != definition.getId()) {
+						throw new IllegalArgumentException("Game " + gameId + " was played with a different game definition");
+					}
+					int seats = unsignedByte(p + 14);
+					int words = unsignedShort(p + 15);
+					int cardCount = definition.getRegistry().getCardCount();
+					if(words != CardSet.wordsFor(cardCount)) {
+						throw new IllegalArgumentException("Game " + gameId + " was played with a different number of cards");
+					}
+					CardSet[] hands = new CardSet[seats];
+					for(int seat = 0; seat < seats; seat++) {
+						hands[seat] = new CardSet(cardCount);
+						for(int i = 0; i < words; i++) {
+							hands[seat].setWord(i, data.getLong(p + 17 + 8 * (seat * words + i)));
+						}
+					}
+					GameData gameData = new GameData(definition, unsignedShort(p + 9), unsignedShort(p + 11), unsignedByte(p + 13), hands, new SplittableRandom(gameId));
+					for(int seat = 0; seat < seats; seat++) {
+						gameData.setLocation(seat, gameData.getRooms()[unsignedByte(p + 17 + 8 * seats * words + seat)]);
+					}
+					engine = new ClueEngine(gameData, board, new GameListener() {});
+					registry = gameData.getRegistry();
+				}else if(type == GameLog.DICE) {
+					if(turns == turn) {
+						return engine;
+					}
+					turns++;
+				}else if(type == GameLog.MOVE) {
+					engine.getGameData().setLocation(unsignedByte(p + 1), engine.getGameData().getRooms()[unsignedByte(p + 3)]);
+				}else if(type == GameLog.GUESS) {
+					guessBits = CardSet.of(registry.getCardCount(), cardId(p + 2), cardId(p + 4), cardId(p + 6));
+				}else if(type == GameLog.SHOWN) {
+					engine.showCard(unsignedByte(p + 2), unsignedByte(p + 1), guessBits, cardId(p + 3));
+				}else if(type == GameLog.ACCUSE) {
+					engine.accuse(unsignedByte(p + 1), cardName(registry, cardId(p + 2)), cardName(registry, cardId(p + 4)), cardName(registry, cardId(p + 6)));
+				}
+			}
+		}
+		if(engine == null) {
+			throw new IllegalArgumentException("Game " + gameId + " is not in the log");
+		}
+		return engine;
+	}
+
+
+	/**
+	 * @param gameId the ID of a game
+	 * @return the game's number (its place in gameIds), or -1 if it is not in the log
+	 */
+	private int gameOf(long gameId) {
+		return slotGames[slotOf(gameId)];
+	}
+
+
+	/**
+	 * @param game a game number from 0 to getGameCount(), or -1 for a game that is not in the log
+	 * @return where the game's frames start in framePositions (for getGameCount(), the end of the last game's frames). A game that is not
+	 * in the log has no frames: firstFrame(-1) and firstFrame(0) are both 0.
+	 */
+	private int firstFrame(int game) {
+		return (game <= 0) ? 0 : gameFrames[game];
+	}
+
+
+	/**
+	 * @param gameId the ID of a game
+	 * @return the slot in the hash table that has the game, or the empty slot where it would go
+	 */
+	private int slotOf(long gameId) {
+		int mask = slotIds.length - 1;
+		long hash = gameId * 0x9E3779B97F4A7C15L; //Multiplying by 2^64 / the golden ratio spreads game IDs that are next to each other over the table
+		int slot = (int) (hash >>> 32) & mask;
+		while(slotGames[slot] != -1 && slotIds[slot] != gameId) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+
+	/**
+	 * @param p where an unsigned byte is in the log
+	 * @return the byte, from 0 to 255
+	 */
+	private int unsignedByte(int p) {
+		return data.get(p) & 0xFF;
+	}
+
+
+	/**
+	 * @param p where an unsigned short is in the log
+	 * @return the short, from 0 to 65535
+	 */
+	private int unsignedShort(int p) {
+		return data.getShort(p) & 0xFFFF;
+	}
+
+
+	/**
+	 * @param p where a card ID is in the log
+	 * @return the card ID, or -1 if it is GameLog.NONE
+	 */
+	private int cardId(int p) {
+		int id = unsignedShort(p);
+		return (id == GameLog.NONE) ? -1 : id;
+	}
+
+
+	/**
+	 * @param p where an event starts
+	 * @return the size of the event in bytes, including the type byte
+	 */
+	private int eventSize(int p) {
+		byte type = data.get(p);
+		switch(type) {
+			case GameLog.DEAL: return GameLog.dealSize(unsignedByte(p + 14), unsignedShort(p + 15));
+			case GameLog.DICE: return 3;
+			case GameLog.MOVE: return 4;
+			case GameLog.GUESS: return 8;
+			case GameLog.SHOWN: return 5;
+			case GameLog.ACCUSE: return 9;
+			default: throw new IllegalStateException("Unknown event type " + type + " in the game log");
+		}
+	}
+
+
+	/**
+	 * @param registry the registry with the card IDs
+	 * @param id a card ID, or -1 if the name was not a card (GameLog.NONE in the log)
+	 * @return the card's name, or an empty String if it was not a card
+	 */
+	private static String cardName(CardRegistry registry, int id) {
+		return (id == -1) ? "" : registry.nameOf(id);
+	}
+
+}
@@ -0,0 +1,127 @@
+import java.io.PrintStream;
+import java.util.IdentityHashMap;
+
+/**
+ * This class draws the game card and the room distance tables for one game. Everything that never changes (the headers, every row's name
+ * padded to its column, and each room's whole distance table) is built once, when the renderer is made, so drawing only has to fill in the marks.
+ * Each drawing is put together in one StringBuilder and handed to the output in a single write.
+ * With redraw changes only turned on, a game card that was drawn before is redrawn as just the rows that have been crossed off since.
+ * @author Maddie Moyer
+ */
+public class GameRenderer {
+
+	private static final String NEWLINE = System.lineSeparator();
+	private static final String DIVIDER = "-----------------" + NEWLINE;
+
+	private final PrintStream out;
+	private final String[] rowTemplates; //For each card ID, the start of its game card row ("Green        | ")
+	private final String[] sectionHeaders; //The header printed before the people, the weapons, and the rooms
+	private final int[] sectionStarts; //The card ID of the first person, weapon, and room
+	private final String[] distanceTables; //For each room index, its whole distance table
+	private final CardRegistry registry;
+	private final StringBuilder text = new StringBuilder(1024); //Reused for every drawing
+
+	private boolean redrawChangesOnly;
+	private final IdentityHashMap<GameCard, CardSet> lastDrawn = new IdentityHashMap<GameCard, CardSet>(); //The marks each game card had the last time it was drawn
+
+
+	/**
+	 * Constructor. Builds the templates.
+	 * @param registry the registry with the card IDs and names
+	 * @param board the board, for the distance tables
+	 * @param out where to draw
+	 */
+	public GameRenderer(CardRegistry registry, Board board, PrintStream out) {
+		this.registry = registry;
+		this.out = out;
+		this.rowTemplates = new String[registry.getCardCount()];
+		for(int id = 0; id < rowTemplates.length; id++) {
+			rowTemplates[id] = String.format("%-12s | ", registry.nameOf(id));
+		}
+		this.sectionStarts = new int[] {registry.personId(0), registry.weaponId(0), registry.roomId(0)};
+		this.sectionHeaders = new String[] {
+				"GAME CARD:" + NEWLINE + DIVIDER + "People:" + NEWLINE + DIVIDER,
+				DIVIDER + "Weapons:" + NEWLINE + DIVIDER,
+				DIVIDER + "Rooms:" + NEWLINE + DIVIDER};
+
+		Room[] rooms = registry.getRooms();
+		this.distanceTables = new String[rooms.length];
+		for(int i = 0; i < rooms.length; i++) {
+			StringBuilder table = new StringBuilder("Room distances from " + rooms[i] + ":" + NEWLINE);
+			for(int j = 0; j < rooms.length; j++) {
+				if(j != i) {
+					table.append("- ").append(rooms[j]).append(": ").append(board.getDistance(i, j)).append(NEWLINE);
+				}
+			}
+			distanceTables[i] = table.toString();
+		}
+	}
+
+
+	//Getters and Setters
+
+	/**
+	 * @param redrawChangesOnly true to redraw a game card that was drawn before as only the rows crossed off since then
+	 */
+	public void setRedrawChangesOnly(boolean redrawChangesOnly) {
+		this.redrawChangesOnly = redrawChangesOnly;
+	}
+
+
+	//Methods
+
+	/**
+	 * Draw a game card. It looks the same as GameData.printGameCard, unless redraw changes only is on and the card was drawn before.
+	 * @param gameCard the player's or the computer's game card
+	 */
+	public void printGameCard(GameCard gameCard) {
+		CardSet marks = gameCard.getMarks();
+		CardSet last = lastDrawn.get(gameCard);
+		text.setLength(0);
+		if(redrawChangesOnly && last != null) {
+			text.append("GAME CARD (newly crossed off):").append(NEWLINE);
+			if(last.equals(marks)) {
+				text.append("(nothing new)").append(NEWLINE);
+			}
+			for(int id = marks.nextCard(0); id != -1; id = marks.nextCard(id + 1)) {
+				if(!last.contains(id)) {
+					text.append(rowTemplates[id]).append('X').append(NEWLINE);
+				}
+			}
+		}else {
+			for(int section = 0; section < 3; section++) {
+				text.append(sectionHeaders[section]);
+				int end = (section < 2) ? sectionStarts[section + 1] : rowTemplates.length;
+				for(int id = sectionStarts[section]; id < end; id++) {
+					text.append(rowTemplates[id]);
+					if(marks.contains(id)) {
+						text.append('X');
+					}
+					text.append(NEWLINE);
+				}
+			}
+			text.append(DIVIDER);
+		}
+		if(last == null) {
+			lastDrawn.put(gameCard, new CardSet(marks)); //A copy, since the game card keeps changing its own
+		}else {
+			last.set(marks);
+		}
+		out.print(text);
+	}
+
+
+	/**
+	 * Draw the distances from a room to every other room. It looks the same as Board.printDistancesFrom.
+	 * @param room the name of the room
+	 */
+	public void printDistancesFrom(String room) {
+		int index = registry.roomIndex(room);
+		if(index == -1) {
+			out.print("Room distances from " + room + ":" + NEWLINE);
+			return;
+		}
+		out.print(distanceTables[index]);
+	}
+
+}
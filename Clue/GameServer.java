@@ -0,0 +1,285 @@
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * This class hosts many games of Clue from one program. Players connect over TCP (for example with telnet or nc) and each connection gets
+ * its own game: its own ClueEngine and GameData, printed to and read from the connection instead of the console. All of the games share one Board.
+ * Each session runs on its own virtual thread when the Java version has them, so thousands of players who are mostly sitting at a prompt
+ * do not each need a platform thread. The build targets Java 17, which does not have virtual threads, so they are looked up by name when the
+ * server starts: run on Java 21 or newer, every session gets a virtual thread; run on Java 17, every session ties up a platform thread from a
+ * cached pool for as long as the player is connected, which limits how many players one server can hold.
+ * Every game records how long each phase of its turns takes in one Metrics, which can be read at a local HTTP endpoint while the server runs.
+ * The server only listens on the loopback address unless it is given another address to bind to, so it is not open to the whole network by accident.
+ * A session that goes wrong (a bug, or input the game does not expect) only ends that session, and is reported to the server's log.
+ * A player who sits at the start of their turn for longer than the park time has their game parked: it is saved with GameSnapshot into a small
+ * buffer and the game itself is thrown away, so an idle session only holds its connection and about a kilobyte. When the player types again,
+ * the game is restored from the snapshot and carries on where it stopped.
+ * Run it with: java GameServer [port] [metrics port, or - for none] [bind address, like 0.0.0.0 for every interface]
+ * @author Maddie Moyer
+ */
+public class GameServer {
+
+	public static final int DEFAULT_PORT = 4444;
+	private static final int BACKLOG = 4096; //How many connections can wait to be accepted at once
+	public static final long DEFAULT_PARK_MILLIS = 60_000L; //How long a player can be idle at the start of their turn before their game is parked
+
+	private final ServerSocket serverSocket;
+	private final ExecutorService sessions; //Runs the accept loop and one task per session
+	private final Board board; //Every session plays on the same board
+	private final AtomicInteger activeSessions = new AtomicInteger();
+	private final AtomicInteger peakSessions = new AtomicInteger();
+	private final AtomicLong completedSessions = new AtomicLong();
+	private final AtomicInteger parkedSessions = new AtomicInteger(); //Sessions whose game is parked right now
+	private final AtomicLong parks = new AtomicLong(); //The number of times a game has been parked
+	private volatile long parkMillis = DEFAULT_PARK_MILLIS;
+	private final Metrics metrics = new Metrics(); //Shared by every session's game
+	private final PrintStream log; //Where the server reports what it is doing and any errors
+	private volatile boolean running;
+
+
+	/**
+	 * Constructor. Opens the server socket on the loopback address, so only this computer can connect, but does not accept anybody until start() is called.
+	 * @param port the port to listen on (0 picks any free port)
+	 * @throws IOException if the port cannot be opened
+	 */
+	public GameServer(int port) throws IOException {
+		this(port, InetAddress.getLoopbackAddress());
+	}
+
+
+	/**
+	 * Constructor. Opens the server socket but does not accept anybody until start() is called.
+	 * @param port the port to listen on (0 picks any free port)
+	 * @param bindAddress the address to listen on (the wildcard address 0.0.0.0 listens on every interface)
+	 * @throws IOException if the port cannot be opened
+	 */
+	public GameServer(int port, InetAddress bindAddress) throws IOException {
+		this(port, bindAddress, System.out);
+	}
+
+
+	/**
+	 * Constructor. Opens the server socket but does not accept anybody until start() is called.
+	 * @param port the port to listen on (0 picks any free port)
+	 * @param bindAddress the address to listen on (the wildcard address 0.0.0.0 listens on every interface)
+	 * @param log where the server reports what it is doing and any errors (System.out from the command line)
+	 * @throws IOException if the port cannot be opened
+	 */
+	public GameServer(int port, InetAddress bindAddress, PrintStream log) throws IOException {
+		this.serverSocket = new ServerSocket(port, BACKLOG, bindAddress);
+		this.sessions = newSessionExecutor();
+		this.board = new Board(GameDefinition.classic());
+		this.log = log;
+	}
+
+
+	/**
+	 * Run the server from the command line. It runs until the program is stopped.
+	 * @param args optional: the port to listen on (default 4444), a port to serve the metrics on at http://localhost:port/metrics (or - for none),
+	 * and the address to listen on (default the loopback address)
+	 * @throws IOException if a port cannot be opened or the address is not known
+	 */
+	public static void main(String[] args) throws IOException {
+		int port = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+		InetAddress bindAddress = (args.length > 2) ? InetAddress.getByName(args[2]) : InetAddress.getLoopbackAddress();
+		GameServer server = new GameServer(port, bindAddress, System.out);
+		server.log.println("Clue server listening on " + bindAddress.getHostAddress() + " port " + server.getPort()
+				+ (hasVirtualThreads() ? " (virtual threads)" : " (platform threads: Java " + Runtime.version().feature() + " has no virtual threads)"));
+		if(args.length > 1 && !args[1].equals("-")) {
+			int metricsPort = server.getMetrics().startServer(Integer.parseInt(args[1])).getAddress().getPort();
+			server.log.println("Metrics at http://localhost:" + metricsPort + "/metrics");
+		}
+		server.start();
+	}
+
+
+	//Getters
+
+	/**
+	 * @return the port the server is listening on
+	 */
+	public int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	/**
+	 * @return the number of sessions being played right now
+	 */
+	public int getActiveSessions() {
+		return activeSessions.get();
+	}
+
+	/**
+	 * @return the most sessions that have been played at the same time
+	 */
+	public int getPeakSessions() {
+		return peakSessions.get();
+	}
+
+	/**
+	 * @return the number of sessions that have ended (finished or disconnected)
+	 */
+	public long getCompletedSessions() {
+		return completedSessions.get();
+	}
+
+	/**
+	 * @return the number of sessions whose game is parked right now (see setParkMillis)
+	 */
+	public int getParkedSessions() {
+		return parkedSessions.get();
+	}
+
+	/**
+	 * @return the number of times a session's game has been parked
+	 */
+	public long getParks() {
+		return parks.get();
+	}
+
+	/**
+	 * @param parkMillis how long a player can be idle at the start of their turn before their game is parked, in milliseconds (0 never parks)
+	 */
+	public void setParkMillis(long parkMillis) {
+		this.parkMillis = parkMillis;
+	}
+
+	/**
+	 * @return the metrics every session's game records into
+	 */
+	public Metrics getMetrics() {
+		return metrics;
+	}
+
+
+	//Methods
+
+	/**
+	 * Start accepting players. The accept loop runs on its own thread, so this returns right away.
+	 */
+	public void start() {
+		running = true;
+		sessions.execute(this::acceptLoop);
+	}
+
+
+	/**
+	 * Stop accepting players and close the server socket. Sessions that are already being played are left to finish.
+	 * @throws IOException if the socket cannot be closed
+	 */
+	public void stop() throws IOException {
+		running = false;
+		serverSocket.close();
+		sessions.shutdown();
+	}
+
+
+	/**
+	 * Accept connections until the server is stopped, and start a session for each one.
+	 */
+	private void acceptLoop() {
+		while(running) {
+			try {
+				Socket socket = serverSocket.accept();
+				sessions.execute(() -> playSession(socket));
+			}catch(IOException e) {
+				if(running) { //An accept that fails because the server was stopped is expected
+					log.println("Could not accept a connection: " + e.getMessage());
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Play one game of Clue over a connection, the same way Clue.main plays it on the console.
+	 * Output is buffered and sent whenever the game waits for the player to type something. If the player is idle at the start of their
+	 * turn for longer than the park time, the game is parked until they type again (see the class comment).
+	 * @param socket the player's connection
+	 */
+	private void playSession(Socket socket) {
+		int active = activeSessions.incrementAndGet();
+		peakSessions.accumulateAndGet(active, Math::max);
+		try(socket) {
+			PrintStream out = new PrintStream(new BufferedOutputStream(socket.getOutputStream()), false, StandardCharsets.UTF_8);
+			SessionInputStream input = new SessionInputStream(socket, out);
+			BooleanSupplier idle = () -> {
+				long millis = parkMillis;
+				return millis > 0 && !input.waitForInput(millis);
+			};
+			ClueEngine engine = new ClueEngine(new GameData(), board, new GameListener() {});
+			engine.setMetrics(metrics);
+			Clue clue = new Clue(engine, out);
+			Scanner sc = new Scanner(input, StandardCharsets.UTF_8);
+			clue.beginGameSpiel(sc);
+			boolean over = clue.gameLoop(sc, idle);
+			while(!over) {
+				ByteBuffer snapshot = GameSnapshot.snapshot(clue);
+				clue = null; //Nothing but the snapshot is kept while the player is away
+				engine = null;
+				sc = null;
+				parks.incrementAndGet();
+				parkedSessions.incrementAndGet();
+				try {
+					input.waitForInput(0);
+				}finally {
+					parkedSessions.decrementAndGet();
+				}
+				clue = GameSnapshot.restoreClue(snapshot, board, out);
+				clue.getEngine().setMetrics(metrics);
+				sc = new Scanner(input, StandardCharsets.UTF_8); //Everything the player typed is still in input, not in the old Scanner
+				over = clue.resumeGameLoop(sc, idle);
+			}
+			out.flush();
+			metrics.gameFinished(clue.getTurn() + 1); //Turns the player has started, counting the one they accused on
+		}catch(IOException | NoSuchElementException e) {
+			//The player disconnected (or typed something that ended their input). Their game just ends.
+		}catch(RuntimeException e) { //Anything else that goes wrong only ends this player's game, not the server
+			log.println("A session ended with an error: " + e);
+		}finally {
+			activeSessions.decrementAndGet();
+			completedSessions.incrementAndGet();
+		}
+	}
+
+
+	/**
+	 * @return true if this Java version can make virtual threads
+	 */
+	public static boolean hasVirtualThreads() {
+		try {
+			Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return true;
+		}catch(NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+
+	/**
+	 * Make an executor that runs every task on its own thread: a virtual thread per task if this Java version has them (Java 21 or newer;
+	 * looked up by name, since the build targets Java 17), or else a cached pool of platform threads.
+	 * @return the executor
+	 */
+	public static ExecutorService newSessionExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		}catch(ReflectiveOperationException e) {
+			return Executors.newCachedThreadPool();
+		}
+	}
+
+}
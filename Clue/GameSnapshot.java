@@ -0,0 +1,469 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+
+/**
+ * This class saves a game in progress to a small block of bytes and brings it back, so a game that nobody is playing right now
+ * can be parked on disk instead of being kept in memory. Every field is at an offset worked out from the number of seats and cards (and, for the
+ * "has one of" constraints at the end, how many each seat has), so a snapshot is read straight out of its buffer (which can be a memory-mapped file)
+ * without copying it or using reflection. The snapshot holds the ID of the game's definition (see GameDefinition.getId), and it is only brought back
+ * with that same definition.
+ * <p>
+ * Everything a seat plays from is saved: its hand, game card, room, and whether it is out of the game, everything its KnowledgeMatrix knows
+ * (open constraints too), its OpponentModel's hunches, and which strategy it plays with. Only the built-in strategies (BasicStrategy,
+ * InformationGainStrategy, RoutePlanningStrategy, and IsmctsStrategy) can be saved. A game with any other strategy cannot be.
+ * So is how the game stands: whether it is over, who won, and whether the last accusation was correct.
+ * The listener, metrics, and probability time budget are not saved.
+ * <p>
+ * Layout (size(engine) bytes, big-endian), with n seats and c cards. Every set of cards is saved as w longs (w = CardSet.wordsFor(c), 64 cards to a long),
+ * so a deck can have any number of cards. Every byte and short is unsigned (0 to 255 and 0 to 65535):
+ * <ul>
+ * <li>0: VERSION (short), 2: game definition ID (long), 10: turn (int), 14: n (byte), 15: flags (byte; flag 1 is computerGuessedCorrectly, flag 2 is didComputerAccuse,
+ * flag 4 is gameOver, flag 8 is lastAccusationCorrect), 16: murder person and weapon index (2 shorts), 20: murder room index (byte), 21: the winning seat
+ * (byte, NO_WINNER if nobody has won), 24: accusation threshold (double), 32: seed for the restored game's random numbers (long),
+ * 40: the size of the whole snapshot (int), 44: w (short)</li>
+ * <li>48: for each seat, SEAT_SIZE bytes: room index (byte), 1 if out of the game (byte), strategy (byte), threads and time budget for
+ * IsmctsStrategy (int at 4, long at 8), number of open constraints (int at 16)</li>
+ * <li>then for each seat, its hand and its game card marks (2 * w longs)</li>
+ * <li>then for each seat's knowledge, the possible and known cards of each holder (n * (n + 1) * 2 * w longs)</li>
+ * <li>then for each seat's OpponentModel, its log odds for every seat and card (n * c floats)</li>
+ * <li>then each seat's open constraints in turn, each the holder (int), 4 unused bytes, and the cards (w longs)</li>
+ * </ul>
+ * @author Maddie Moyer
+ */
+public class GameSnapshot {
+
+	public static final short VERSION = 6;
+	private static final int DEFINITION = 2;
+	private static final int TURN = 10;
+	private static final int SEATS = 14;
+	private static final int FLAGS = 15;
+	private static final int MURDER_PERSON = 16;
+	private static final int MURDER_WEAPON = 18;
+	private static final int MURDER_ROOM = 20;
+	private static final int WINNER = 21;
+	private static final int THRESHOLD = 24;
+	private static final int SEED = 32;
+	private static final int TOTAL_SIZE = 40;
+	private static final int WORDS = 44;
+	private static final int HEADER_SIZE = 48;
+
+	private static final int SEAT_SIZE = 24; //Bytes for each seat, at these offsets:
+	private static final int LOCATION = 0;
+	private static final int ELIMINATED = 1;
+	private static final int STRATEGY = 2;
+	private static final int THREADS = 4;
+	private static final int BUDGET = 8;
+	private static final int CONSTRAINTS = 16;
+
+	private static final byte GUESSED_CORRECTLY = 1;
+	private static final byte COMPUTER_ACCUSED = 2;
+	private static final byte GAME_OVER = 4;
+	private static final byte LAST_ACCUSATION_CORRECT = 8;
+	private static final int NO_WINNER = 0xFF; //Saved as the winner when nobody has won
+
+	private static final byte BASIC = 0; //Strategy codes
+	private static final byte INFORMATION_GAIN = 1;
+	private static final byte ROUTE_PLANNING = 2;
+	private static final byte ISMCTS = 3;
+
+
+	/**
+	 * @param engine the engine running a game
+	 * @return how many bytes a snapshot of the game takes up right now (it grows as the seats learn "has one of" constraints)
+	 */
+	public static int size(ClueEngine engine) {
+		int seats = engine.getSeatCount();
+		int constraints = 0;
+		for(int seat = 0; seat < seats; seat++) {
+			constraints += engine.getKnowledge(seat).getOneOfCount();
+		}
+		int cards = engine.getGameData().getRegistry().getCardCount();
+		return fixedSize(seats, cards) + constraints * constraintSize(CardSet.wordsFor(cards));
+	}
+
+
+	/**
+	 * Write a snapshot of a game into a buffer, starting at the buffer's position. The position is moved past the snapshot.
+	 * One number is drawn from the game's random number generator to seed the restored game's generator.
+	 * @param engine the engine running the game
+	 * @param turn the position in the game loop (for example, Clue.getTurn())
+	 * @param out the buffer to write to. It needs at least size(engine) bytes left.
+	 * @throws IllegalArgumentException if a seat plays with a strategy that cannot be saved
+	 */
+	public static void write(ClueEngine engine, int turn, ByteBuffer out) {
+		GameData gameData = engine.getGameData();
+		CardRegistry registry = gameData.getRegistry();
+		int seats = engine.getSeatCount();
+		int cards = registry.getCardCount();
+		int words = CardSet.wordsFor(cards);
+		for(int seat = 0; seat < seats; seat++) {
+			strategyCode(engine.getStrategy(seat)); //Check them all before anything is written
+		}
+		int start = out.position();
+		int size = size(engine);
+		out.putShort(start, VERSION);
+		out.putLong(start + DEFINITION, gameData.getDefinition().getId());
+		out.putInt(start + TURN, turn);
+		out.put(start + SEATS, (byte) seats);
+		byte flags = 0;
+		if(gameData.isComputerGuessedCorrectly()) {
+			flags |= GUESSED_CORRECTLY;
+		}
+		if(gameData.getDidComputerAccuse()) {
+			flags |= COMPUTER_ACCUSED;
+		}
+		if(engine.isGameOver()) {
+			flags |= GAME_OVER;
+		}
+		if(engine.wasLastAccusationCorrect()) {
+			flags |= LAST_ACCUSATION_CORRECT;
+		}
+		out.put(start + FLAGS, flags);
+		out.putShort(start + MURDER_PERSON, (short) (registry.idOf(gameData.getMurderPerson().getName()) - registry.personId(0)));
+		out.putShort(start + MURDER_WEAPON, (short) (registry.idOf(gameData.getMurderWeapon().getName()) - registry.weaponId(0)));
+		out.put(start + MURDER_ROOM, (byte) registry.roomIndex(gameData.getMurderRoom()));
+		out.put(start + WINNER, (byte) ((engine.getWinner() == -1) ? NO_WINNER : engine.getWinner()));
+		out.putDouble(start + THRESHOLD, engine.getAccusationThreshold());
+		out.putLong(start + SEED, gameData.getRandom().nextLong());
+		out.putInt(start + TOTAL_SIZE, size);
+		out.putShort(start + WORDS, (short) words);
+
+		int constraintAt = start + fixedSize(seats, cards);
+		for(int seat = 0; seat < seats; seat++) {
+			int at = start + HEADER_SIZE + seat * SEAT_SIZE;
+			ComputerStrategy strategy = engine.getStrategy(seat);
+			KnowledgeMatrix knowledge = engine.getKnowledge(seat);
+			out.put(at + LOCATION, (byte) registry.roomIndex(gameData.getLocation(seat)));
+			out.put(at + ELIMINATED, (byte) (engine.isEliminated(seat) ? 1 : 0));
+			out.put(at + STRATEGY, strategyCode(strategy));
+			if(strategy instanceof IsmctsStrategy) {
+				out.putInt(at + THREADS, ((IsmctsStrategy) strategy).getThreads());
+				out.putLong(at + BUDGET, ((IsmctsStrategy) strategy).getBudgetNanos());
+			}
+			out.putInt(at + CONSTRAINTS, knowledge.getOneOfCount());
+			int handAt = handOffset(start, seats, words, seat);
+			putCards(out, handAt, gameData.getHand(seat));
+			putCards(out, handAt + 8 * words, gameData.getGameCard(seat).getMarks());
+
+			for(int h = 0; h <= seats; h++) {
+				int knowledgeAt = knowledgeOffset(start, seats, words, seat, h);
+				putCards(out, knowledgeAt, knowledge.getPossible(h));
+				putCards(out, knowledgeAt + 8 * words, knowledge.getKnown(h));
+			}
+
+			OpponentModel model = engine.getOpponentModel(seat);
+			int modelAt = modelOffset(start, seats, cards, seat);
+			for(int other = 0; other < seats; other++) {
+				for(int card = 0; card < cards; card++) {
+					out.putFloat(modelAt + (other * cards + card) * 4, model.getLogOdds(other, card));
+				}
+			}
+
+			for(int i = 0; i < knowledge.getOneOfCount(); i++) {
+				out.putInt(constraintAt, knowledge.getOneOfHolder(i));
+				putCards(out, constraintAt + 8, knowledge.getOneOfCards(i));
+				constraintAt += constraintSize(words);
+			}
+		}
+		out.position(start + size);
+	}
+
+
+	/**
+	 * Bring a game of classic Clue back from a snapshot, starting at the buffer's position. The position is moved past the snapshot.
+	 * @param in the buffer to read from
+	 * @param board the board to play on
+	 * @param listener a listener that is told about everything that happens in the restored game
+	 * @return an engine running the restored game
+	 * @throws IllegalArgumentException if the buffer does not hold a snapshot of this version, or of a classic game
+	 */
+	public static ClueEngine restore(ByteBuffer in, Board board, GameListener listener) {
+		return restore(in, GameDefinition.classic(), board, listener);
+	}
+
+
+	/**
+	 * Bring a game back from a snapshot, starting at the buffer's position. The position is moved past the snapshot.
+	 * @param in the buffer to read from
+	 * @param definition the version of Clue the game was played with
+	 * @param board the board to play on
+	 * @param listener a listener that is told about everything that happens in the restored game
+	 * @return an engine running the restored game
+	 * @throws IllegalArgumentException if the buffer does not hold a snapshot of this version, or the game was played with a different definition
+	 */
+	public static ClueEngine restore(ByteBuffer in, GameDefinition definition, Board board, GameListener listener) {
+		int start = in.position();
+		if(in.remaining() < HEADER_SIZE || unsignedShort(in, start) != VERSION || in.remaining() < in.getInt(start + TOTAL_SIZE)) {
+			throw new IllegalArgumentException("Not a game snapshot");
+		}
+		if(in.getLong(start + DEFINITION) != definition.getId()) {
+			throw new IllegalArgumentException("The snapshot is of a game played with a different game definition");
+		}
+		int seats = unsignedByte(in, start + SEATS);
+		int cards = definition.getRegistry().getCardCount();
+		int words = CardSet.wordsFor(cards);
+		if(unsignedShort(in, start + WORDS) != words) {
+			throw new IllegalArgumentException("The snapshot is of a game played with a different number of cards");
+		}
+		CardSet[] hands = new CardSet[seats];
+		for(int seat = 0; seat < seats; seat++) {
+			hands[seat] = getCards(in, handOffset(start, seats, words, seat), cards);
+		}
+		GameData gameData = new GameData(definition, unsignedShort(in, start + MURDER_PERSON), unsignedShort(in, start + MURDER_WEAPON),
+				unsignedByte(in, start + MURDER_ROOM), hands, new SplittableRandom(in.getLong(start + SEED)));
+		byte flags = in.get(start + FLAGS);
+		gameData.setComputerGuessedCorrectly((flags & GUESSED_CORRECTLY) != 0);
+		gameData.setDidComputerAccuse((flags & COMPUTER_ACCUSED) != 0);
+		for(int seat = 0; seat < seats; seat++) {
+			int at = start + HEADER_SIZE + seat * SEAT_SIZE;
+			gameData.setLocation(seat, gameData.getRooms()[unsignedByte(in, at + LOCATION)]);
+			gameData.getGameCard(seat).markAll(getCards(in, handOffset(start, seats, words, seat) + 8 * words, cards));
+		}
+
+		ClueEngine engine = new ClueEngine(gameData, board, listener);
+		engine.setAccusationThreshold(in.getDouble(start + THRESHOLD));
+		int winner = unsignedByte(in, start + WINNER);
+		engine.setResult((flags & GAME_OVER) != 0, (winner == NO_WINNER) ? -1 : winner, (flags & LAST_ACCUSATION_CORRECT) != 0);
+		int constraintAt = start + fixedSize(seats, cards);
+		for(int seat = 0; seat < seats; seat++) {
+			int at = start + HEADER_SIZE + seat * SEAT_SIZE;
+			engine.setEliminated(seat, in.get(at + ELIMINATED) != 0);
+			engine.setStrategy(seat, strategyFor(in.get(at + STRATEGY), in.getLong(at + BUDGET), in.getInt(at + THREADS)));
+
+			KnowledgeMatrix knowledge = engine.getKnowledge(seat);
+			for(int h = 0; h <= seats; h++) {
+				int knowledgeAt = knowledgeOffset(start, seats, words, seat, h);
+				knowledge.restore(h, getCards(in, knowledgeAt, cards), getCards(in, knowledgeAt + 8 * words, cards));
+			}
+			for(int i = in.getInt(at + CONSTRAINTS); i > 0; i--) { //restore drops open constraints, so they are put back after it
+				knowledge.holdsOneOf(in.getInt(constraintAt), getCards(in, constraintAt + 8, cards));
+				constraintAt += constraintSize(words);
+			}
+
+			int modelAt = modelOffset(start, seats, cards, seat);
+			float[] logOdds = new float[seats * cards];
+			for(int i = 0; i < logOdds.length; i++) {
+				logOdds[i] = in.getFloat(modelAt + i * 4);
+			}
+			engine.getOpponentModel(seat).restore(logOdds);
+		}
+		in.position(start + in.getInt(start + TOTAL_SIZE));
+		return engine;
+	}
+
+
+	/**
+	 * @param in a buffer holding a snapshot at its position
+	 * @return the turn (position in the game loop) saved in the snapshot
+	 */
+	public static int turnOf(ByteBuffer in) {
+		return in.getInt(in.position() + TURN);
+	}
+
+
+	/**
+	 * Save a console game to a file.
+	 * @param clue the game
+	 * @param file the file to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void save(Clue clue, Path file) throws IOException {
+		ByteBuffer buffer = snapshot(clue);
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			while(buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+	}
+
+
+	/**
+	 * Bring a console game back from a file. The file is memory-mapped and read in place.
+	 * @param file a file written by save
+	 * @param board the board to play on
+	 * @return the restored game, printed to the console
+	 * @throws IOException if the file cannot be read
+	 */
+	public static Clue load(Path file, Board board) throws IOException {
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return restoreClue(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), board, System.out);
+		}
+	}
+
+
+	/**
+	 * Take a snapshot of a console game (or a GameServer session's game), for example one that is stopped to be parked (see Clue.gameLoop).
+	 * @param clue the game
+	 * @return a buffer holding just the snapshot, ready to be read (position 0)
+	 */
+	public static ByteBuffer snapshot(Clue clue) {
+		ByteBuffer buffer = ByteBuffer.allocate(size(clue.getEngine()));
+		write(clue.getEngine(), clue.getTurn(), buffer);
+		return buffer.flip();
+	}
+
+
+	/**
+	 * Bring a console game (or a GameServer session's game) of classic Clue back from a snapshot, starting at the buffer's position.
+	 * The position is moved past the snapshot.
+	 * @param in the buffer to read from
+	 * @param board the board to play on
+	 * @param out where to print the game
+	 * @return the restored game, at the turn it was saved at
+	 * @throws IllegalArgumentException if the buffer does not hold a snapshot of this version, or of a classic game
+	 */
+	public static Clue restoreClue(ByteBuffer in, Board board, PrintStream out) {
+		int start = in.position();
+		Clue clue = new Clue(restore(in, board, new GameListener() {}), out);
+		clue.setTurn(in.getInt(start + TURN));
+		return clue;
+	}
+
+
+	/**
+	 * @param in the buffer to read from
+	 * @param at where the byte is
+	 * @return the byte, read as unsigned (0 to 255)
+	 */
+	private static int unsignedByte(ByteBuffer in, int at) {
+		return in.get(at) & 0xFF;
+	}
+
+
+	/**
+	 * @param in the buffer to read from
+	 * @param at where the short is
+	 * @return the short, read as unsigned (0 to 65535)
+	 */
+	private static int unsignedShort(ByteBuffer in, int at) {
+		return in.getShort(at) & 0xFFFF;
+	}
+
+
+	/**
+	 * Write a set of cards as longs.
+	 * @param out the buffer to write to
+	 * @param at where to write the first long
+	 * @param cards the cards
+	 */
+	private static void putCards(ByteBuffer out, int at, CardSet cards) {
+		for(int i = 0; i < cards.getWordCount(); i++) {
+			out.putLong(at + 8 * i, cards.getWord(i));
+		}
+	}
+
+
+	/**
+	 * Read a set of cards written by putCards.
+	 * @param in the buffer to read from
+	 * @param at where the first long is
+	 * @param cardCount the number of cards in the deck
+	 * @return the cards
+	 */
+	private static CardSet getCards(ByteBuffer in, int at, int cardCount) {
+		CardSet cards = new CardSet(cardCount);
+		for(int i = 0; i < cards.getWordCount(); i++) {
+			cards.setWord(i, in.getLong(at + 8 * i));
+		}
+		return cards;
+	}
+
+
+	/**
+	 * @param words the number of longs a set of cards is saved as
+	 * @return the size of one saved "has one of" constraint
+	 */
+	private static int constraintSize(int words) {
+		return 8 + 8 * words;
+	}
+
+
+	/**
+	 * @param seats the number of seats
+	 * @param cards the number of cards
+	 * @return the size of a snapshot without its constraints
+	 */
+	private static int fixedSize(int seats, int cards) {
+		return modelOffset(0, seats, cards, seats);
+	}
+
+
+	/**
+	 * @param start where the snapshot starts
+	 * @param seats the number of seats
+	 * @param words the number of longs a set of cards is saved as
+	 * @param seat a seat
+	 * @return where the seat's hand is saved (its game card marks are right after)
+	 */
+	private static int handOffset(int start, int seats, int words, int seat) {
+		return start + HEADER_SIZE + seats * SEAT_SIZE + seat * 16 * words;
+	}
+
+
+	/**
+	 * @param start where the snapshot starts
+	 * @param seats the number of seats
+	 * @param words the number of longs a set of cards is saved as
+	 * @param seat the seat whose knowledge it is
+	 * @param holder a holder in that knowledge
+	 * @return where the holder's possible cards are saved (its known cards are right after)
+	 */
+	private static int knowledgeOffset(int start, int seats, int words, int seat, int holder) {
+		return handOffset(start, seats, words, seats) + (seat * (seats + 1) + holder) * 16 * words;
+	}
+
+
+	/**
+	 * @param start where the snapshot starts
+	 * @param seats the number of seats
+	 * @param cards the number of cards
+	 * @param seat the seat whose OpponentModel it is
+	 * @return where the model's log odds are saved
+	 */
+	private static int modelOffset(int start, int seats, int cards, int seat) {
+		return knowledgeOffset(start, seats, CardSet.wordsFor(cards), seats, 0) + seat * seats * cards * 4;
+	}
+
+
+	/**
+	 * @param strategy a seat's strategy
+	 * @return the code saved for it
+	 * @throws IllegalArgumentException if it is not one of the built-in strategies
+	 */
+	private static byte strategyCode(ComputerStrategy strategy) {
+		if(strategy == BasicStrategy.INSTANCE) {
+			return BASIC;
+		}else if(strategy == InformationGainStrategy.INSTANCE) {
+			return INFORMATION_GAIN;
+		}else if(strategy == RoutePlanningStrategy.INSTANCE) {
+			return ROUTE_PLANNING;
+		}else if(strategy instanceof IsmctsStrategy) {
+			return ISMCTS;
+		}
+		throw new IllegalArgumentException("Games with a " + strategy.getClass().getName() + " cannot be saved");
+	}
+
+
+	/**
+	 * @param code a saved strategy code
+	 * @param budgetNanos the saved time budget, for IsmctsStrategy
+	 * @param threads the saved number of threads, for IsmctsStrategy
+	 * @return the strategy
+	 * @throws IllegalArgumentException if the code is not a strategy
+	 */
+	private static ComputerStrategy strategyFor(byte code, long budgetNanos, int threads) {
+		switch(code) {
+			case BASIC: return BasicStrategy.INSTANCE;
+			case INFORMATION_GAIN: return InformationGainStrategy.INSTANCE;
+			case ROUTE_PLANNING: return RoutePlanningStrategy.INSTANCE;
+			case ISMCTS: return new IsmctsStrategy(budgetNanos, threads); //Its planned guess is only kept within a turn, so it starts with none
+			default: throw new IllegalArgumentException("Unknown strategy " + code + " in the snapshot");
+		}
+	}
+
+}
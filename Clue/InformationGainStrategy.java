@@ -0,0 +1,202 @@
+/**
+ * This class moves and accuses like BasicStrategy, but picks its guess instead of guessing at random. It scores every person and weapon it
+ * could guess in its room by how much the answer is expected to narrow down the envelope, and guesses the best one.
+ * <p>
+ * How much is left to work out is measured as entropy, for the people that might be the murderer plus the same for the weapons and rooms.
+ * How likely each card is to be in the envelope comes from how likely it is that no other seat holds it, from the seat's OpponentModel
+ * (each card that is left is equally likely if there are no hunches yet). For each guess, the scoring goes through every way its unknown cards could be
+ * split between the envelope and the other seats' hands. If another seat has one of the cards, a card is shown (one of them at random) and a
+ * card that was unknown is crossed off its list. If nobody has any, every unknown card in the guess is in the envelope and its list is solved.
+ * The score is the entropy that removes on average. A guess made only of cards the seat already knows scores 0, and guessing one of your own
+ * cards can score well, because it forces a seat to show one of the other two.
+ * <p>
+ * Everything the scoring needs about each card is worked out once per turn into arrays indexed by card ID, so scoring a guess is a loop
+ * over at most 8 splits of its 3 cards, and all of them take a few microseconds. It keeps nothing between calls, so one instance can be shared.
+ * Play it against BasicStrategy with: java Tournament [games] [seed] -strategy infogain
+ * @author Maddie Moyer
+ */
+public class InformationGainStrategy extends BasicStrategy {
+
+	public static final InformationGainStrategy INSTANCE = new InformationGainStrategy();
+	private static final double TIE = 1e-9; //Scores closer than this are the same, and one of them is picked at random
+	private static final double MIN_WEIGHT = 0.01; //The least weight a card that might be in the envelope gets, however sure the hunches are
+
+
+	//Methods
+
+	/**
+	 * Guess the person and weapon whose answer is expected to rule out the most, in the room the seat is in.
+	 * @param engine the engine running the game
+	 * @param seat the seat that is guessing
+	 * @return {person index, weapon index}
+	 */
+	@Override
+	public int[] chooseGuess(ClueEngine engine, int seat) {
+		GameData gameData = engine.getGameData();
+		CardRegistry registry = gameData.getRegistry();
+		GuessScores scores = new GuessScores(registry, engine.getKnowledge(seat), engine.getOpponentModel(seat), seat);
+		int roomId = registry.roomId(registry.roomIndex(gameData.getLocation(seat)));
+		int people = gameData.getPeople().length;
+		int weapons = gameData.getWeapons().length;
+		int[] best = new int[people * weapons];
+		int bestCount = 0;
+		double bestScore = Double.NEGATIVE_INFINITY;
+		for(int p = 0; p < people; p++) {
+			for(int w = 0; w < weapons; w++) {
+				double score = scores.expectedGain(registry.personId(p), registry.weaponId(w), roomId);
+				if(score > bestScore + TIE) {
+					bestScore = score;
+					bestCount = 0;
+				}
+				if(score > bestScore - TIE) {
+					best[bestCount] = p * weapons + w;
+					bestCount++;
+				}
+			}
+		}
+		int pick = best[gameData.getRandom().nextInt(bestCount)];
+		return new int[] {pick / weapons, pick % weapons};
+	}
+
+
+	/**
+	 * What each card adds to a guess's score, worked out once per turn from what a seat knows and suspects: each card's chance of being in the
+	 * envelope, whether some other seat might have it, and the entropy removed if it is shown or found to be in the envelope.
+	 */
+	protected static class GuessScores {
+
+		private final CardRegistry registry;
+		private final double[] inEnvelope;
+		private final boolean[] showable;
+		private final double[] shownGain;
+		private final double[] solvedGain;
+
+		/**
+		 * Constructor
+		 * @param registry the game's cards
+		 * @param knowledge what the seat knows
+		 * @param model what the seat suspects about the other seats' hands
+		 * @param seat the seat that is guessing
+		 */
+		GuessScores(CardRegistry registry, KnowledgeMatrix knowledge, OpponentModel model, int seat) {
+			int cards = registry.getCardCount();
+			this.registry = registry;
+			this.inEnvelope = new double[cards];
+			this.showable = new boolean[cards];
+			this.shownGain = new double[cards];
+			this.solvedGain = new double[cards];
+			CardSet envelope = knowledge.getPossible(knowledge.getEnvelope());
+			CardSet own = knowledge.getKnown(seat);
+			int[] left = {knowledge.possibleEnvelopePeopleCount(), knowledge.possibleEnvelopeWeaponCount(), Long.bitCount(knowledge.possibleEnvelopeRooms())};
+
+			//How much each card that might be in the envelope weighs (the chance nobody else holds it), and each category's total weight and total weight * log2(weight)
+			double[] weight = new double[cards];
+			double[] total = new double[3];
+			double[] totalLog = new double[3];
+			for(int id = 0; id < cards; id++) {
+				int category = category(registry, id);
+				if(!envelope.contains(id)) { //Held by a seat: the guesser's own cards are never shown to it, anyone else's might be
+					showable[id] = !own.contains(id);
+				}else if(left[category] == 1) { //Known to be in the envelope
+					inEnvelope[id] = 1.0;
+				}else {
+					double held = 0;
+					for(int other = 0; other < knowledge.getEnvelope(); other++) {
+						if(other != seat) {
+							held += model.holdProbability(knowledge, other, id);
+						}
+					}
+					weight[id] = Math.max(MIN_WEIGHT, 1.0 - held);
+					total[category] += weight[id];
+					totalLog[category] += weight[id] * log2(weight[id]);
+					showable[id] = true;
+				}
+			}
+			for(int id = 0; id < cards; id++) {
+				if(weight[id] > 0) {
+					int category = category(registry, id);
+					double entropy = entropy(total[category], totalLog[category]);
+					inEnvelope[id] = weight[id] / total[category];
+					solvedGain[id] = entropy;
+					shownGain[id] = entropy - entropy(total[category] - weight[id], totalLog[category] - weight[id] * log2(weight[id])); //The entropy once this card is crossed off
+				}
+			}
+		}
+
+		/**
+		 * @param registry the game's cards
+		 * @param id the ID of a card
+		 * @return 0 for a person, 1 for a weapon, or 2 for a room
+		 */
+		private static int category(CardRegistry registry, int id) {
+			return registry.isPerson(id) ? 0 : registry.isWeapon(id) ? 1 : 2;
+		}
+
+		/**
+		 * @param total the total weight of some cards
+		 * @param totalLog the total of weight * log2(weight) of the cards
+		 * @return the entropy, in bits, of picking one of the cards by its weight
+		 */
+		private static double entropy(double total, double totalLog) {
+			return (total <= 0) ? 0 : Math.max(0, log2(total) - totalLog / total);
+		}
+
+		/**
+		 * @param x a number above 0
+		 * @return log base 2 of x
+		 */
+		private static double log2(double x) {
+			return Math.log(x) * (1 / Math.log(2));
+		}
+
+		/**
+		 * Work out how much entropy a guess is expected to remove.
+		 * @param personId the card ID of the guessed person
+		 * @param weaponId the card ID of the guessed weapon
+		 * @param roomId the card ID of the room the guess is made in
+		 * @return the expected entropy removed, in bits
+		 */
+		double expectedGain(int personId, int weaponId, int roomId) {
+			double expected = 0;
+			for(int split = 0; split < 8; split++) { //Bit 0, 1, or 2 set means the person, weapon, or room is in the envelope
+				double chance = 1.0;
+				int shown = 0;
+				double ifShown = 0;
+				double ifNotShown = 0;
+				for(int i = 0; i < 3; i++) {
+					int id = (i == 0) ? personId : (i == 1) ? weaponId : roomId;
+					if((split & (1 << i)) != 0) {
+						chance *= inEnvelope[id];
+						ifNotShown += solvedGain[id];
+					}else {
+						chance *= 1.0 - inEnvelope[id];
+						if(showable[id]) {
+							shown++;
+							ifShown += shownGain[id];
+						}
+					}
+				}
+				if(chance > 0) {
+					expected += chance * ((shown == 0) ? ifNotShown : ifShown / shown);
+				}
+			}
+			return expected;
+		}
+
+		/**
+		 * @param roomIdx the index of a room in the rooms array
+		 * @return the score of the best guess that can be made in the room
+		 */
+		double bestGain(int roomIdx) {
+			int roomId = registry.roomId(roomIdx);
+			double best = 0;
+			for(int p = 0; p < registry.getPeople().length; p++) {
+				for(int w = 0; w < registry.getWeapons().length; w++) {
+					best = Math.max(best, expectedGain(registry.personId(p), registry.weaponId(w), roomId));
+				}
+			}
+			return best;
+		}
+	}
+
+}
@@ -0,0 +1,698 @@
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * This class is a stronger computer player. It picks its room and guess with an information set Monte Carlo tree search (ISMCTS):
+ * over and over until its time budget runs out, it makes up a deal of the hidden cards that fits everything the seat knows (and its opponent
+ * model's hunches about the envelope), tries one of its
+ * moves for this turn in that deal (the moves that have worked best so far more often, and moves it has not tried yet first), then plays the
+ * rest of its turns out with a quick rollout policy, and scores how quickly the seat worked out the envelope. Because every playout uses a
+ * different made-up deal, the moves that come out best are the ones that work well whatever the other seats are actually holding.
+ * <p>
+ * The moves it compares are, for each room the roll reaches, the few guesses InformationGainStrategy scores best there, so the search spends
+ * its playouts telling good moves apart instead of trying hundreds of poor ones. The search only plays the seat's own turns; the other
+ * seats just show cards. The dice rolls and cards shown are whatever the playout's deal gives. It stops early once the move with the most
+ * playouts cannot be caught before the budget runs out.
+ * The search runs on several threads at once, each with its own statistics, and their results are added up at the end.
+ * Accusations are made the same way BasicStrategy makes them.
+ * <p>
+ * It remembers the guess it planned while choosing a room, so use one IsmctsStrategy per seat per game.
+ * Play it against BasicStrategy with: java Tournament [games] [seed] -strategy ismcts -budget [ms per move]
+ * (add -opponent infogain or -opponent route to play it against those instead)
+ * @author Maddie Moyer
+ */
+public class IsmctsStrategy extends InformationGainStrategy {
+
+	public static final long DEFAULT_BUDGET_NANOS = 50_000_000L; //Most time to spend on one move (50 ms)
+	private static final int HORIZON = 30; //Playouts stop after this many of the seat's own turns
+	private static final int GUESSES_PER_ROOM = 3; //How many of the best scored guesses in each room the search compares
+	private static final double EXPLORATION = 0.05; //How much to favor moves that have not been tried much
+	private static final double MIN_ENVELOPE_WEIGHT = 0.01; //Every card that might be in the envelope is dealt there sometimes
+	private static final int DEAL_TRIES = 32; //Made-up deals that break a "has one of" constraint are dealt again up to this many times
+	private static final int CHECK_EVERY = 16; //Playouts between checks for stopping early
+	private static final int POSSIBLE = 0; //Kinds of cards in a rollout guess: one that might be in the envelope, one of the seat's own, or one another seat holds
+	private static final int OWN = 1;
+	private static final int HELD = 2;
+
+	private final long budgetNanos;
+	private final int threads;
+	private long lastPlayouts; //How many playouts the last search made, for testing
+
+	//The guess planned the last time a room was chosen
+	private ClueEngine plannedEngine;
+	private int plannedSeat;
+	private int plannedVersion;
+	private int plannedRoom;
+	private int[] plannedGuess;
+
+
+	/**
+	 * Constructor. Searches for DEFAULT_BUDGET_NANOS per move on every core.
+	 */
+	public IsmctsStrategy() {
+		this(DEFAULT_BUDGET_NANOS, Runtime.getRuntime().availableProcessors());
+	}
+
+
+	/**
+	 * Constructor
+	 * @param budgetNanos the most time to spend choosing one move, in nanoseconds
+	 * @param threads how many threads to search on at once (1 searches on the calling thread only)
+	 */
+	public IsmctsStrategy(long budgetNanos, int threads) {
+		this.budgetNanos = budgetNanos;
+		this.threads = Math.max(1, threads);
+	}
+
+
+	//Getters
+
+	/**
+	 * @return the most time to spend choosing one move, in nanoseconds
+	 */
+	public long getBudgetNanos() {
+		return budgetNanos;
+	}
+
+	/**
+	 * @return how many threads each search runs on
+	 */
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * @return how many playouts the last search made (on all of its threads)
+	 */
+	public long getLastPlayouts() {
+		return lastPlayouts;
+	}
+
+
+	//Methods
+
+	/**
+	 * Search for the best room and guess, move to the room, and remember the guess for chooseGuess.
+	 * @param engine the engine running the game
+	 * @param seat the seat that is moving
+	 * @param diceRoll the number of spaces the seat can move
+	 * @return the index of the room to move to
+	 */
+	@Override
+	public int chooseRoom(ClueEngine engine, int seat, int diceRoll) {
+		GameData gameData = engine.getGameData();
+		int currentIdx = gameData.getRegistry().roomIndex(gameData.getLocation(seat));
+		int action = search(engine, seat, engine.getBoard().getReachableRooms(currentIdx, diceRoll) | (1L << currentIdx));
+		if(action == -1) {
+			return super.chooseRoom(engine, seat, diceRoll); //No time to search at all
+		}
+		int people = gameData.getPeople().length;
+		int weapons = gameData.getWeapons().length;
+		plannedEngine = engine;
+		plannedSeat = seat;
+		plannedVersion = engine.getKnowledge(seat).getVersion();
+		plannedRoom = action / (people * weapons);
+		plannedGuess = new int[] {(action / weapons) % people, action % weapons};
+		return plannedRoom;
+	}
+
+
+	/**
+	 * Use the guess planned when the room was chosen, or search for one if nothing was planned for this room.
+	 * @param engine the engine running the game
+	 * @param seat the seat that is guessing
+	 * @return {person index, weapon index}
+	 */
+	@Override
+	public int[] chooseGuess(ClueEngine engine, int seat) {
+		GameData gameData = engine.getGameData();
+		int currentIdx = gameData.getRegistry().roomIndex(gameData.getLocation(seat));
+		if(plannedEngine == engine && plannedSeat == seat && plannedRoom == currentIdx && plannedVersion == engine.getKnowledge(seat).getVersion()) {
+			plannedEngine = null;
+			return plannedGuess;
+		}
+		int action = search(engine, seat, 1L << currentIdx);
+		if(action == -1) {
+			return super.chooseGuess(engine, seat);
+		}
+		int weapons = gameData.getWeapons().length;
+		return new int[] {(action / weapons) % gameData.getPeople().length, action % weapons};
+	}
+
+
+	/**
+	 * Run the search on every thread until the budget runs out (or the best move is decided) and add up what each thread found.
+	 * @param engine the engine running the game
+	 * @param seat the seat that is searching
+	 * @param rooms the rooms the seat can be in for this turn's guess, as bits
+	 * @return the best action, (room * people + person) * weapons + weapon, or -1 if there was no time for a single playout
+	 */
+	private int search(ClueEngine engine, int seat, long rooms) {
+		long started = System.nanoTime();
+		long deadline = started + budgetNanos;
+		Context context = new Context(engine, seat, rooms);
+		if(context.candidates.length == 1) {
+			lastPlayouts = 0;
+			return context.candidates[0]; //Nothing to decide
+		}
+		long seed = engine.getGameData().getRandom().nextLong();
+
+		ArrayList<ForkJoinTask<Root>> helpers = new ArrayList<ForkJoinTask<Root>>();
+		for(int t = 1; t < threads; t++) {
+			SplittableRandom random = new SplittableRandom(seed + t * 0x9E3779B97F4A7C15L);
+			Callable<Root> worker = () -> context.search(random, started, deadline);
+			helpers.add(ForkJoinPool.commonPool().submit(ForkJoinTask.adapt(worker))); //A helper that starts after the deadline returns right away
+		}
+		Root root = context.search(new SplittableRandom(seed), started, deadline);
+		for(ForkJoinTask<Root> helper : helpers) {
+			root.add(helper.join());
+		}
+
+		lastPlayouts = root.playouts;
+		int best = root.best();
+		return (best == -1) ? -1 : context.candidates[best];
+	}
+
+
+	/**
+	 * Everything one search needs that does not change while it runs. It is shared by the search's threads, which only read it.
+	 */
+	private static class Context {
+
+		private final Board board;
+		private final KnowledgeMatrix knowledge; //What the seat knows right now
+		private final int seat;
+		private final int seats;
+		private final int people;
+		private final int weapons;
+		private final int cardCount;
+		private final int[] categoryStart; //The card ID of the first person, weapon, and room, then the number of cards
+		private final int firstPersonId;
+		private final int firstWeaponId;
+		private final int firstRoomId;
+		private final int[] candidates; //The actions the search compares, best scored first
+		private final CardSet own; //The seat's own cards
+		private final int ownPeople; //How many of the seat's own cards are people
+		private final int ownWeapons; //How many of the seat's own cards are weapons
+		private final long ownRooms; //The seat's own rooms, as bits of their index
+		private final double[] envelopeWeight; //For each card ID, how likely it is to be in the envelope (see InformationGainStrategy)
+		private final double[] log2; //log2(n) for n up to the size of the biggest category, with log2(0) taken as 0
+
+		/**
+		 * Constructor
+		 * @param engine the engine running the game
+		 * @param seat the seat that is searching
+		 * @param firstRooms the rooms the seat can be in for this turn's guess, as bits
+		 */
+		Context(ClueEngine engine, int seat, long firstRooms) {
+			GameData gameData = engine.getGameData();
+			CardRegistry registry = gameData.getRegistry();
+			this.board = engine.getBoard();
+			this.knowledge = engine.getKnowledge(seat);
+			this.seat = seat;
+			this.seats = engine.getSeatCount();
+			this.people = gameData.getPeople().length;
+			this.weapons = gameData.getWeapons().length;
+			this.firstPersonId = registry.personId(0);
+			this.firstWeaponId = registry.weaponId(0);
+			this.firstRoomId = registry.roomId(0);
+			this.cardCount = registry.getCardCount();
+			this.categoryStart = new int[] {firstPersonId, firstWeaponId, firstRoomId, cardCount};
+			this.candidates = candidates(new GuessScores(registry, knowledge, engine.getOpponentModel(seat), seat), firstRooms);
+			OpponentModel model = engine.getOpponentModel(seat);
+			this.envelopeWeight = new double[registry.getCardCount()];
+			for(int c = 0; c < envelopeWeight.length; c++) {
+				double held = 0;
+				for(int s = 0; s < seats; s++) {
+					if(s != seat) {
+						held += model.holdProbability(knowledge, s, c);
+					}
+				}
+				envelopeWeight[c] = Math.max(MIN_ENVELOPE_WEIGHT, 1.0 - held);
+			}
+			this.own = new CardSet(knowledge.getKnown(seat));
+			this.ownPeople = own.count(firstPersonId, firstWeaponId);
+			this.ownWeapons = own.count(firstWeaponId, firstRoomId);
+			this.ownRooms = own.bits(firstRoomId, cardCount - firstRoomId);
+			this.log2 = new double[Math.max(people, Math.max(weapons, cardCount - firstRoomId)) + 1];
+			for(int n = 1; n < log2.length; n++) {
+				log2[n] = Math.log(n) / Math.log(2);
+			}
+		}
+
+		/**
+		 * Pick the actions worth searching: in each room, the GUESSES_PER_ROOM guesses that score best (see InformationGainStrategy).
+		 * @param scores what each card adds to a guess's score
+		 * @param rooms the rooms the seat can be in for this turn's guess, as bits
+		 * @return the actions, best scored first
+		 */
+		private int[] candidates(GuessScores scores, long rooms) {
+			int perRoom = Math.min(GUESSES_PER_ROOM, people * weapons);
+			int[] actions = new int[Long.bitCount(rooms) * perRoom];
+			double[] gains = new double[actions.length];
+			int count = 0;
+			for(long bits = rooms; bits != 0; bits &= bits - 1) {
+				int room = Long.numberOfTrailingZeros(bits);
+				int roomStart = count;
+				for(int p = 0; p < people; p++) {
+					for(int w = 0; w < weapons; w++) {
+						double gain = scores.expectedGain(firstPersonId + p, firstWeaponId + w, firstRoomId + room);
+						int at;
+						if(count - roomStart < perRoom) {
+							at = count++;
+						}else if(gain > gains[count - 1]) {
+							at = count - 1; //Replaces the worst of this room's best so far
+						}else {
+							continue;
+						}
+						while(at > roomStart && gains[at - 1] < gain) { //Keep this room's best sorted
+							gains[at] = gains[at - 1];
+							actions[at] = actions[at - 1];
+							at--;
+						}
+						gains[at] = gain;
+						actions[at] = (room * people + p) * weapons + w;
+					}
+				}
+			}
+			for(int i = 1; i < count; i++) { //Best scored first across every room, so untried moves are tried in that order
+				double gain = gains[i];
+				int action = actions[i];
+				int at = i;
+				while(at > 0 && gains[at - 1] < gain) {
+					gains[at] = gains[at - 1];
+					actions[at] = actions[at - 1];
+					at--;
+				}
+				gains[at] = gain;
+				actions[at] = action;
+			}
+			return actions;
+		}
+
+		/**
+		 * Make playouts until the deadline, or until the move with the most playouts cannot be caught in the time that is left.
+		 * @param random this thread's random numbers
+		 * @param started System.nanoTime() value the search started at
+		 * @param deadline System.nanoTime() value to stop at
+		 * @return this thread's statistics
+		 */
+		Root search(SplittableRandom random, long started, long deadline) {
+			Root root = new Root(candidates.length);
+			Deal deal = new Deal(this);
+			long now;
+			while((now = System.nanoTime()) < deadline) {
+				for(int i = 0; i < CHECK_EVERY; i++) {
+					if(deal(random, deal)) {
+						int c = root.select();
+						root.update(c, playout(random, deal.hands, candidates[c]));
+					}
+				}
+				long left = (deadline - now) * root.playouts / Math.max(1, now - started); //How many more playouts there is time for, at the rate so far
+				if(root.isDecided(left)) {
+					break;
+				}
+			}
+			return root;
+		}
+
+		/**
+		 * Make up a deal of the hidden cards that fits what the seat knows. The envelope gets one card of each category first, picked by how
+		 * likely the seat's opponent model makes it that nobody else holds the card (the same weight InformationGainStrategy gives it), so the
+		 * playouts follow the seat's hunches about what the other seats have been guessing. Each other card nobody is known to hold goes to a
+		 * random seat that might have it and still has room, with more room making it more likely. Deals that break a "has one of" constraint are dealt again.
+		 * @param random random numbers
+		 * @param deal filled in with each seat's hand and then the envelope
+		 * @return true if a deal was made
+		 */
+		boolean deal(SplittableRandom random, Deal deal) {
+			int holders = seats + 1;
+			int envelope = seats;
+			CardSet[] hands = deal.hands;
+			CardSet free = deal.free;
+			CardSet envelopePossible = knowledge.getPossible(envelope);
+			for(int attempt = 0; attempt < DEAL_TRIES; attempt++) {
+				free.clear();
+				for(int h = 0; h < holders; h++) {
+					hands[h].set(knowledge.getKnown(h));
+					free.addAll(knowledge.getPossible(h));
+				}
+				for(int h = 0; h < holders; h++) {
+					free.removeAll(hands[h]);
+				}
+				//The envelope gets one card of each category first
+				boolean ok = true;
+				for(int category = 0; ok && category < 3; category++) {
+					int from = categoryStart[category];
+					int to = categoryStart[category + 1];
+					if(hands[envelope].count(from, to) == 0) {
+						double total = 0;
+						int card = -1;
+						for(int id = envelopePossible.nextCard(from); id != -1 && id < to; id = envelopePossible.nextCard(id + 1)) {
+							if(free.contains(id)) {
+								total += envelopeWeight[id];
+								card = id;
+							}
+						}
+						if(card == -1) {
+							ok = false;
+							break;
+						}
+						double target = random.nextDouble() * total;
+						for(int id = envelopePossible.nextCard(from); id != -1 && id < to; id = envelopePossible.nextCard(id + 1)) {
+							if(free.contains(id)) {
+								card = id;
+								target -= envelopeWeight[id];
+								if(target < 0) {
+									break;
+								}
+							}
+						}
+						hands[envelope].add(card);
+						free.remove(card);
+					}
+				}
+				//Deal the rest to the seats in a random order
+				int count = 0;
+				for(int id = free.nextCard(0); id != -1; id = free.nextCard(id + 1)) {
+					deal.order[count++] = id;
+				}
+				for(int h = 0; h < seats; h++) {
+					deal.room[h] = Math.max(0, knowledge.getHandSize(h) - hands[h].size());
+				}
+				for(int i = 0; ok && i < count; i++) {
+					int swap = i + random.nextInt(count - i);
+					int card = deal.order[swap];
+					deal.order[swap] = deal.order[i];
+					int room = 0;
+					for(int h = 0; h < seats; h++) {
+						if(knowledge.getPossible(h).contains(card)) {
+							room += deal.room[h];
+						}
+					}
+					if(room == 0) {
+						ok = false;
+						break;
+					}
+					int target = random.nextInt(room);
+					for(int h = 0; h < seats; h++) {
+						if(knowledge.getPossible(h).contains(card)) {
+							target -= deal.room[h];
+							if(target < 0) {
+								hands[h].add(card);
+								deal.room[h]--;
+								break;
+							}
+						}
+					}
+				}
+				for(int c = 0; ok && c < knowledge.getOneOfCount(); c++) {
+					ok = hands[knowledge.getOneOfHolder(c)].intersects(knowledge.getOneOfCards(c));
+				}
+				if(ok) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Take an action in a made-up deal, then play the seat's turns with the rollout policy until it knows the envelope (or the horizon).
+		 * @param random random numbers
+		 * @param hands the made-up deal
+		 * @param action the action to take on this turn
+		 * @return the score: 1 for knowing the envelope right after this turn, less for each turn after that, and 0 if not by the horizon
+		 */
+		double playout(SplittableRandom random, CardSet[] hands, int action) {
+			KnowledgeMatrix known = new KnowledgeMatrix(knowledge);
+			CardSet guess = new CardSet(cardCount);
+			int turns = 0;
+			while(true) {
+				int room = action / (people * weapons);
+				guess.clear();
+				guess.add(firstPersonId + (action / weapons) % people);
+				guess.add(firstWeaponId + action % weapons);
+				guess.add(firstRoomId + room);
+				refute(known, hands, guess, random);
+				turns++;
+				if(known.isEnvelopeSolved()) {
+					return 1.0 - (double) (turns - 1) / HORIZON; //Solving it sooner is better
+				}
+				if(turns == HORIZON) {
+					return 0.0;
+				}
+				action = rolloutAction(known, board.getReachableRooms(room, random.nextInt(1, 7) + random.nextInt(1, 7)), room, random);
+			}
+		}
+
+		/**
+		 * The rollout policy, a quick version of InformationGainStrategy. Every card that might be in the envelope is taken to be as likely as
+		 * any other in its category, so each card in a guess is one of three kinds: one that might be in the envelope (POSSIBLE), one of the
+		 * seat's own (OWN), or one some other seat holds (HELD), and cards of the same kind score the same. It scores each kind of room the roll
+		 * reaches (or staying) with each kind of person and weapon, and guesses a random card of each kind in the best one.
+		 * @param known what the seat knows in the playout
+		 * @param rooms the rooms the seat can reach, as bits
+		 * @param room the room the seat is in
+		 * @param random random numbers
+		 * @return the action
+		 */
+		int rolloutAction(KnowledgeMatrix known, long rooms, int room, SplittableRandom random) {
+			int peopleLeft = known.possibleEnvelopePeopleCount();
+			int weaponsLeft = known.possibleEnvelopeWeaponCount();
+			long envelopeRooms = known.possibleEnvelopeRooms();
+			int roomsLeft = Long.bitCount(envelopeRooms);
+			long[] roomsOfKind = {rooms & envelopeRooms, rooms & ownRooms, 0L};
+			int stayKind = ((envelopeRooms & (1L << room)) != 0) ? POSSIBLE : ((ownRooms & (1L << room)) != 0) ? OWN : HELD;
+			roomsOfKind[stayKind] |= 1L << room;
+			double best = -1;
+			int bestRoom = 0;
+			int bestPerson = 0;
+			int bestWeapon = 0;
+			for(int r = POSSIBLE; r <= HELD; r++) {
+				if(roomsOfKind[r] == 0) {
+					continue;
+				}
+				for(int p = POSSIBLE; p <= OWN; p++) {
+					if(p == OWN && ownPeople == 0) {
+						continue;
+					}
+					for(int w = POSSIBLE; w <= OWN; w++) {
+						if(w == OWN && ownWeapons == 0) {
+							continue;
+						}
+						double gain = expectedGain(p, peopleLeft, w, weaponsLeft, r, roomsLeft);
+						if(gain > best) {
+							best = gain;
+							bestRoom = r;
+							bestPerson = p;
+							bestWeapon = w;
+						}
+					}
+				}
+			}
+			CardSet envelope = known.getPossible(known.getEnvelope());
+			room = pick(roomsOfKind[bestRoom], random);
+			int person = (bestPerson == OWN) ? own.nthCard(firstPersonId, random.nextInt(ownPeople)) : envelope.nthCard(firstPersonId, random.nextInt(peopleLeft));
+			int weapon = (bestWeapon == OWN) ? own.nthCard(firstWeaponId, random.nextInt(ownWeapons)) : envelope.nthCard(firstWeaponId, random.nextInt(weaponsLeft));
+			person -= firstPersonId;
+			weapon -= firstWeaponId;
+			return (room * this.people + person) * this.weapons + weapon;
+		}
+
+		/**
+		 * Score a guess made of three kinds of cards the same way InformationGainStrategy scores a guess, with every card that might be in the
+		 * envelope as likely as any other in its category.
+		 * @param person the kind of person guessed (POSSIBLE, OWN, or HELD)
+		 * @param peopleLeft the number of people that might be in the envelope
+		 * @param weapon the kind of weapon guessed
+		 * @param weaponsLeft the number of weapons that might be in the envelope
+		 * @param room the kind of room guessed in
+		 * @param roomsLeft the number of rooms that might be in the envelope
+		 * @return the expected entropy removed, in bits
+		 */
+		private double expectedGain(int person, int peopleLeft, int weapon, int weaponsLeft, int room, int roomsLeft) {
+			double expected = 0;
+			for(int split = 0; split < 8; split++) { //Bit 0, 1, or 2 set means the person, weapon, or room is in the envelope
+				double chance = 1.0;
+				int shown = 0;
+				double ifShown = 0;
+				double ifNotShown = 0;
+				for(int i = 0; i < 3; i++) {
+					int kind = (i == 0) ? person : (i == 1) ? weapon : room;
+					int left = (i == 0) ? peopleLeft : (i == 1) ? weaponsLeft : roomsLeft;
+					double inEnvelope = (kind == POSSIBLE) ? 1.0 / left : 0.0;
+					if((split & (1 << i)) != 0) {
+						chance *= inEnvelope;
+						ifNotShown += log2[left];
+					}else {
+						chance *= 1.0 - inEnvelope;
+						if(kind != OWN) { //Nobody shows the seat its own cards
+							shown++;
+							ifShown += (kind == POSSIBLE) ? log2[left] - log2[left - 1] : 0.0;
+						}
+					}
+				}
+				if(chance > 0) {
+					expected += chance * ((shown == 0) ? ifNotShown : ifShown / shown);
+				}
+			}
+			return expected;
+		}
+
+		/**
+		 * @param bits some bits
+		 * @param random random numbers
+		 * @return the index of a random one of the bits
+		 */
+		private static int pick(long bits, SplittableRandom random) {
+			return GameCard.nthBit(bits, random.nextInt(Long.bitCount(bits)));
+		}
+
+		/**
+		 * Ask the seats after this one, clockwise, to show a card from a guess in the made-up deal, and tell the seat's knowledge what happened.
+		 * @param known what the seat knows in the playout
+		 * @param hands the made-up deal
+		 * @param guess the guessed cards
+		 * @param random random numbers (for which card a seat with more than one shows)
+		 */
+		void refute(KnowledgeMatrix known, CardSet[] hands, CardSet guess, SplittableRandom random) {
+			for(int shower = (seat + 1) % seats; shower != seat; shower = (shower + 1) % seats) {
+				int has = hands[shower].countCommon(guess);
+				if(has != 0) {
+					int pick = random.nextInt(has);
+					int card = guess.nextCard(0);
+					while(!hands[shower].contains(card) || pick-- > 0) { //Skip to the picked card of the ones the shower has
+						card = guess.nextCard(card + 1);
+					}
+					known.holds(shower, card);
+					return;
+				}
+				known.doesNotHold(shower, guess);
+			}
+		}
+	}
+
+
+	/**
+	 * One thread's made-up deal, kept from one playout to the next so dealing does not create any objects.
+	 */
+	private static class Deal {
+
+		private final CardSet[] hands; //Each seat's hand, then the envelope
+		private final CardSet free; //The cards not dealt yet
+		private final int[] order; //The cards not dealt yet, shuffled
+		private final int[] room; //How many more cards each seat can be dealt
+
+		/**
+		 * Constructor
+		 * @param context the search the deals are for
+		 */
+		Deal(Context context) {
+			this.hands = new CardSet[context.seats + 1];
+			for(int h = 0; h < hands.length; h++) {
+				hands[h] = new CardSet(context.cardCount);
+			}
+			this.free = new CardSet(context.cardCount);
+			this.order = new int[context.cardCount];
+			this.room = new int[context.seats];
+		}
+	}
+
+
+	/**
+	 * One thread's statistics for the moves of this turn: how often each candidate was tried and the total score of those playouts.
+	 */
+	private static class Root {
+
+		private final int[] visits;
+		private final double[] total;
+		private long playouts;
+
+		/**
+		 * Constructor
+		 * @param candidates the number of moves being compared
+		 */
+		Root(int candidates) {
+			this.visits = new int[candidates];
+			this.total = new double[candidates];
+		}
+
+		/**
+		 * Pick the move to try next: the best scored one that has never been tried, or else the one with the best average score plus exploration bonus.
+		 * @return the index of the move in the candidates
+		 */
+		int select() {
+			int pick = -1;
+			double bestScore = Double.NEGATIVE_INFINITY;
+			double log = Math.log(playouts);
+			for(int c = 0; c < visits.length; c++) {
+				if(visits[c] == 0) {
+					return c;
+				}
+				double score = total[c] / visits[c] + EXPLORATION * Math.sqrt(log / visits[c]);
+				if(score > bestScore) {
+					bestScore = score;
+					pick = c;
+				}
+			}
+			return pick;
+		}
+
+		/**
+		 * @param c the index of the move that was tried
+		 * @param reward the playout's score
+		 */
+		void update(int c, double reward) {
+			visits[c]++;
+			total[c] += reward;
+			playouts++;
+		}
+
+		/**
+		 * @return the index of the move with the most playouts (the best total breaks ties), or -1 if there were none
+		 */
+		int best() {
+			int best = -1;
+			for(int c = 0; c < visits.length; c++) {
+				if(visits[c] > 0 && (best == -1 || visits[c] > visits[best] || (visits[c] == visits[best] && total[c] > total[best] + 1e-9))) {
+					best = c;
+				}
+			}
+			return best;
+		}
+
+		/**
+		 * @param left how many more playouts there is time for
+		 * @return true if no other move could get as many playouts as the one with the most, even if it got every playout that is left
+		 */
+		boolean isDecided(long left) {
+			int most = 0;
+			int second = 0;
+			for(int v : visits) {
+				if(v > most) {
+					second = most;
+					most = v;
+				}else if(v > second) {
+					second = v;
+				}
+			}
+			return most - second > left;
+		}
+
+		/**
+		 * Add another thread's statistics to these.
+		 * @param other the other thread's statistics
+		 */
+		void add(Root other) {
+			for(int c = 0; c < visits.length; c++) {
+				visits[c] += other.visits[c];
+				total[c] += other.total[c];
+			}
+			playouts += other.playouts;
+		}
+	}
+
+}
@@ -0,0 +1,486 @@
+import java.util.Arrays;
+
+/**
+ * This class keeps track of everything one seat knows about where each card is. For every card and every holder (each seat, plus the
+ * envelope with the murder details) it remembers whether the holder might have the card and whether the holder is known to have it.
+ * Every time a card is shown (or not shown) it is told, and it works out everything that follows from that right away:
+ * <ul>
+ * <li>a card that is known to be with one holder is not with any other holder</li>
+ * <li>a card that only one holder could have must be with that holder</li>
+ * <li>a holder whose whole hand is known has none of the other cards (and one whose possible cards fill its hand has all of them)</li>
+ * <li>the envelope has exactly one person, one weapon, and one room</li>
+ * <li>"this holder has at least one of these cards" becomes "has this card" once only one of them is still possible</li>
+ * </ul>
+ * Cards are stored in CardSets, using the card IDs from the CardRegistry, so a deck can have any number of cards. Each rule goes through
+ * the holders one long (64 cards) at a time, so a pass over the rules takes time in proportion to the holders times the size of the deck.
+ * @author Maddie Moyer
+ */
+public class KnowledgeMatrix {
+
+	private final int envelope; //The holder number of the envelope (one more than the last seat)
+	private final int cardCount;
+	private final int peopleCount;
+	private final int weaponCount;
+	private final int roomCount;
+	private final CardSet allCards;
+
+	private final CardSet[] possible; //For each holder, the cards it might have
+	private final CardSet[] known; //For each holder, the cards it is known to have
+	private final int[] handSize; //For each holder, how many cards it has
+
+	private CardSet[] oneOfCards; //"Holder oneOfHolder[i] has at least one of oneOfCards[i]" for each constraint still open. The sets are never changed, so copies share them.
+	private int[] oneOfHolder;
+	private int oneOfCount;
+	private int version; //Goes up by one every time something new is learned, so answers worked out from this knowledge can be reused until it changes
+
+
+	/**
+	 * Constructor
+	 * @param registry the registry with the card IDs
+	 * @param handSizes the number of cards dealt to each seat (the seats are holders 0 to handSizes.length - 1, the envelope is the next holder)
+	 * @param seat the seat whose knowledge this is
+	 * @param hand the cards that seat was dealt
+	 */
+	public KnowledgeMatrix(CardRegistry registry, int[] handSizes, int seat, CardSet hand) {
+		this.cardCount = registry.getCardCount();
+		this.peopleCount = registry.getPeople().length;
+		this.weaponCount = registry.getWeapons().length;
+		this.roomCount = registry.getRooms().length;
+		this.allCards = CardSet.range(cardCount, 0, cardCount);
+
+		this.envelope = handSizes.length;
+		this.possible = new CardSet[handSizes.length + 1];
+		this.known = new CardSet[handSizes.length + 1];
+		this.handSize = new int[handSizes.length + 1];
+		for(int h = 0; h <= handSizes.length; h++) {
+			possible[h] = new CardSet(allCards);
+			known[h] = new CardSet(cardCount);
+			handSize[h] = (h == envelope) ? 3 : handSizes[h]; //The envelope has 1 person, 1 weapon, 1 room
+		}
+
+		this.oneOfCards = new CardSet[8];
+		this.oneOfHolder = new int[8];
+		this.oneOfCount = 0;
+
+		setHolds(seat, hand); //The seat knows its own cards
+		propagate();
+	}
+
+
+	/**
+	 * Constructor. Makes a copy that can learn things on its own without changing the original (for example, to try out a guess in a search).
+	 * @param other the knowledge to copy
+	 */
+	public KnowledgeMatrix(KnowledgeMatrix other) {
+		this.envelope = other.envelope;
+		this.cardCount = other.cardCount;
+		this.peopleCount = other.peopleCount;
+		this.weaponCount = other.weaponCount;
+		this.roomCount = other.roomCount;
+		this.allCards = other.allCards; //Never changes, so it can be shared
+		this.possible = new CardSet[other.possible.length];
+		this.known = new CardSet[other.known.length];
+		for(int h = 0; h < possible.length; h++) {
+			possible[h] = new CardSet(other.possible[h]);
+			known[h] = new CardSet(other.known[h]);
+		}
+		this.handSize = other.handSize; //Never changes, so it can be shared
+		this.oneOfCards = Arrays.copyOf(other.oneOfCards, Math.max(other.oneOfCount, 8));
+		this.oneOfHolder = Arrays.copyOf(other.oneOfHolder, Math.max(other.oneOfCount, 8));
+		this.oneOfCount = other.oneOfCount;
+		this.version = other.version;
+	}
+
+
+	//Getters
+
+	/**
+	 * @return the holder number of the envelope
+	 */
+	public int getEnvelope() {
+		return envelope;
+	}
+
+	/**
+	 * @return the number of cards in the deck
+	 */
+	public int getCardCount() {
+		return cardCount;
+	}
+
+	/**
+	 * @param holder a holder (a seat or the envelope)
+	 * @return the number of cards the holder has
+	 */
+	public int getHandSize(int holder) {
+		return handSize[holder];
+	}
+
+	/**
+	 * @return a number that changes every time something new is learned
+	 */
+	public int getVersion() {
+		return version;
+	}
+
+	/**
+	 * @return the number of "has at least one of" constraints that are still open
+	 */
+	public int getOneOfCount() {
+		return oneOfCount;
+	}
+
+	/**
+	 * @param i the number of an open constraint (0 to getOneOfCount() - 1)
+	 * @return the holder the constraint is about
+	 */
+	public int getOneOfHolder(int i) {
+		return oneOfHolder[i];
+	}
+
+	/**
+	 * @param i the number of an open constraint (0 to getOneOfCount() - 1)
+	 * @return the cards the holder has at least one of. This set is shared, so do not change it.
+	 */
+	public CardSet getOneOfCards(int i) {
+		return oneOfCards[i];
+	}
+
+	/**
+	 * @param holder a holder (a seat or the envelope)
+	 * @return the cards the holder might have. This set is kept up to date as things are learned, so do not change it.
+	 */
+	public CardSet getPossible(int holder) {
+		return possible[holder];
+	}
+
+	/**
+	 * @param holder a holder (a seat or the envelope)
+	 * @return the cards the holder is known to have. This set is kept up to date as things are learned, so do not change it.
+	 */
+	public CardSet getKnown(int holder) {
+		return known[holder];
+	}
+
+
+	//Methods
+
+	/**
+	 * A holder was seen to have a card (for example, it was shown to this seat).
+	 * @param holder the holder that has the card
+	 * @param card the ID of the card
+	 */
+	public void holds(int holder, int card) {
+		setHolds(holder, card);
+		propagate();
+	}
+
+
+	/**
+	 * A holder is known not to have any of some cards (for example, it could not show a card for a guess).
+	 * @param holder the holder that does not have the cards
+	 * @param cards the cards
+	 */
+	public void doesNotHold(int holder, CardSet cards) {
+		possible[holder].removeAll(cards);
+		propagate();
+	}
+
+
+	/**
+	 * A holder is known to have at least one of some cards, but not which one (for example, another seat saw it show a card for a guess).
+	 * @param holder the holder that has one of the cards
+	 * @param cards the cards (copied, so the caller can change the set afterwards)
+	 */
+	public void holdsOneOf(int holder, CardSet cards) {
+		if(oneOfCount == oneOfCards.length) { //Make room for more constraints
+			oneOfCards = Arrays.copyOf(oneOfCards, oneOfCount * 2);
+			oneOfHolder = Arrays.copyOf(oneOfHolder, oneOfCount * 2);
+		}
+		oneOfCards[oneOfCount] = new CardSet(cards);
+		oneOfHolder[oneOfCount] = holder;
+		oneOfCount++;
+		propagate();
+	}
+
+
+	/**
+	 * Put back knowledge that was saved earlier (for example, from a GameSnapshot). Open "has one of" constraints are dropped, so put back every
+	 * holder first and then put the constraints back with holdsOneOf.
+	 * @param holder a holder (a seat or the envelope)
+	 * @param possibleCards the cards the holder might have (from getPossible)
+	 * @param knownCards the cards the holder is known to have (from getKnown)
+	 */
+	public void restore(int holder, CardSet possibleCards, CardSet knownCards) {
+		possible[holder].set(possibleCards);
+		known[holder].set(knownCards);
+		oneOfCount = 0;
+		version++;
+	}
+
+
+	/**
+	 * @return true if the person, weapon, and room in the envelope are all known
+	 */
+	public boolean isEnvelopeSolved() {
+		return known[envelope].size() == 3;
+	}
+
+
+	/**
+	 * @return the cards known to be in the envelope. This set is kept up to date as things are learned, so do not change it.
+	 */
+	public CardSet getEnvelopeCards() {
+		return known[envelope];
+	}
+
+
+	/**
+	 * @return the people that might be in the envelope, as a new set of card IDs
+	 */
+	public CardSet possibleEnvelopePeople() {
+		return category(0, peopleCount);
+	}
+
+
+	/**
+	 * @return the weapons that might be in the envelope, as a new set of card IDs
+	 */
+	public CardSet possibleEnvelopeWeapons() {
+		return category(peopleCount, peopleCount + weaponCount);
+	}
+
+
+	/**
+	 * @return the number of people that might be in the envelope
+	 */
+	public int possibleEnvelopePeopleCount() {
+		return possible[envelope].count(0, peopleCount);
+	}
+
+
+	/**
+	 * @return the number of weapons that might be in the envelope
+	 */
+	public int possibleEnvelopeWeaponCount() {
+		return possible[envelope].count(peopleCount, peopleCount + weaponCount);
+	}
+
+
+	/**
+	 * @return the rooms that might be in the envelope, as bits where bit i is the room at index i in the rooms array (a board has at most
+	 * Board.MAX_ROOMS rooms, so they fit in a long)
+	 */
+	public long possibleEnvelopeRooms() {
+		return possible[envelope].bits(peopleCount + weaponCount, roomCount);
+	}
+
+
+	/**
+	 * @return the cards that cannot be in the envelope (the ones to cross off on a game card), as a new set
+	 */
+	public CardSet notInEnvelope() {
+		CardSet cards = new CardSet(allCards);
+		cards.removeAll(possible[envelope]);
+		return cards;
+	}
+
+
+	/**
+	 * @return the cards that might be in the envelope (the ones not to cross off on a game card). This set is kept up to date as things are
+	 * learned, so do not change it.
+	 */
+	public CardSet getPossibleEnvelope() {
+		return possible[envelope];
+	}
+
+
+	/**
+	 * @param from the ID of the first card of a category
+	 * @param to one past the ID of the last card of the category
+	 * @return the cards of the category that might be in the envelope, as a new set
+	 */
+	private CardSet category(int from, int to) {
+		CardSet cards = new CardSet(cardCount);
+		for(int id = possible[envelope].nextCard(from); id != -1 && id < to; id = possible[envelope].nextCard(id + 1)) {
+			cards.add(id);
+		}
+		return cards;
+	}
+
+
+	/**
+	 * Record that a holder has some cards, so no other holder can have them.
+	 * @param holder the holder that has the cards
+	 * @param cards the cards
+	 */
+	private void setHolds(int holder, CardSet cards) {
+		for(int i = 0; i < cards.getWordCount(); i++) {
+			setHolds(holder, i, cards.getWord(i));
+		}
+	}
+
+
+	/**
+	 * Record that a holder has a card, so no other holder can have it.
+	 * @param holder the holder that has the card
+	 * @param card the ID of the card
+	 */
+	private void setHolds(int holder, int card) {
+		known[holder].add(card);
+		possible[holder].add(card);
+		for(int h = 0; h < possible.length; h++) {
+			if(h != holder) {
+				possible[h].remove(card);
+			}
+		}
+	}
+
+
+	/**
+	 * Record that a holder has some of the cards in one long of the sets, so no other holder can have them.
+	 * @param holder the holder that has the cards
+	 * @param word which long of the sets the cards are in (cards 64 * word to 64 * word + 63)
+	 * @param bits the cards, as bits of that long
+	 */
+	private void setHolds(int holder, int word, long bits) {
+		if(bits == 0) {
+			return;
+		}
+		known[holder].addWord(word, bits);
+		possible[holder].addWord(word, bits);
+		for(int h = 0; h < possible.length; h++) {
+			if(h != holder) {
+				possible[h].removeWord(word, bits);
+			}
+		}
+	}
+
+
+	/**
+	 * Keep applying the rules until nothing else can be worked out.
+	 */
+	private void propagate() {
+		version++;
+		boolean changed = true;
+		while(changed) {
+			changed = handSizeRule();
+			changed |= envelopeRule(0, peopleCount);
+			changed |= envelopeRule(peopleCount, peopleCount + weaponCount);
+			changed |= envelopeRule(peopleCount + weaponCount, cardCount);
+			changed |= onlyOneHolderRule();
+			changed |= oneOfRule();
+		}
+	}
+
+
+	/**
+	 * A holder whose known cards fill its hand has nothing else, and a holder whose possible cards fill its hand has all of them.
+	 * @return true if anything changed
+	 */
+	private boolean handSizeRule() {
+		boolean changed = false;
+		for(int h = 0; h < possible.length; h++) {
+			int knownCount = known[h].size();
+			int possibleCount = possible[h].size();
+			if(possibleCount != knownCount) { //Every known card is possible too, so the sets are the same if the counts are
+				if(knownCount == handSize[h]) {
+					possible[h].set(known[h]);
+					changed = true;
+				}else if(possibleCount == handSize[h]) {
+					setHolds(h, possible[h]);
+					changed = true;
+				}
+			}
+		}
+		return changed;
+	}
+
+
+	/**
+	 * The envelope has exactly one card from a category.
+	 * @param from the ID of the first card of the category
+	 * @param to one past the ID of the last card of the category
+	 * @return true if anything changed
+	 */
+	private boolean envelopeRule(int from, int to) {
+		int inEnvelope = known[envelope].count(from, to);
+		int mightBe = possible[envelope].count(from, to);
+		if(inEnvelope != 0 && mightBe != inEnvelope) { //The envelope's card is known, so it has none of the others
+			for(int id = possible[envelope].nextCard(from); id != -1 && id < to; id = possible[envelope].nextCard(id + 1)) {
+				if(!known[envelope].contains(id)) {
+					possible[envelope].remove(id);
+				}
+			}
+			return true;
+		}
+		if(inEnvelope == 0 && mightBe == 1) { //Only one card from the category can still be in the envelope
+			setHolds(envelope, possible[envelope].nextCard(from));
+			return true;
+		}
+		return false;
+	}
+
+
+	/**
+	 * A card that only one holder could have must be with that holder. For each long of the sets, the cards at least one holder might
+	 * have and the cards at least two holders might have are worked out in one pass over the holders, so no holder is compared with
+	 * every other holder.
+	 * @return true if anything changed
+	 */
+	private boolean onlyOneHolderRule() {
+		boolean changed = false;
+		for(int i = 0; i < allCards.getWordCount(); i++) {
+			long knownSomewhere = 0L;
+			long once = 0L; //Cards at least one holder might have
+			long twice = 0L; //Cards at least two holders might have
+			for(int h = 0; h < possible.length; h++) {
+				long cards = possible[h].getWord(i);
+				knownSomewhere |= known[h].getWord(i);
+				twice |= once & cards;
+				once |= cards;
+			}
+			long onlyOne = once & ~twice & ~knownSomewhere;
+			for(int h = 0; h < possible.length && onlyOne != 0; h++) {
+				long onlyHere = possible[h].getWord(i) & onlyOne;
+				if(onlyHere != 0) {
+					setHolds(h, i, onlyHere);
+					onlyOne &= ~onlyHere;
+					changed = true;
+				}
+			}
+		}
+		return changed;
+	}
+
+
+	/**
+	 * Check each "has at least one of" constraint. It is dropped once one of its cards is known to be with the holder,
+	 * and turned into "has this card" once only one of its cards is still possible for the holder.
+	 * @return true if anything changed
+	 */
+	private boolean oneOfRule() {
+		boolean changed = false;
+		int i = 0;
+		while(i < oneOfCount) {
+			int holder = oneOfHolder[i];
+			int stillPossible = oneOfCards[i].countCommon(possible[holder]);
+			boolean done = stillPossible == 0 || oneOfCards[i].intersects(known[holder]);
+			if(!done && stillPossible == 1) {
+				setHolds(holder, oneOfCards[i].firstCommon(possible[holder]));
+				changed = true;
+				done = true;
+			}
+			if(done) { //Remove the constraint by moving the last one into its spot
+				oneOfCount--;
+				oneOfCards[i] = oneOfCards[oneOfCount];
+				oneOfHolder[i] = oneOfHolder[oneOfCount];
+				oneOfCards[oneOfCount] = null;
+			}else {
+				i++;
+			}
+		}
+		return changed;
+	}
+
+}
@@ -0,0 +1,294 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * This class counts what the games are doing and how long each part of a turn takes, so you can see where the time goes when many games are played.
+ * It holds counters and histograms by name. The ones ClueEngine and Tournament use (one histogram for each phase of a turn, games completed,
+ * and turns per game) are made up front and kept in fields, so recording never has to look anything up by name.
+ * Recording never takes a lock: every number is a LongAdder, so many threads can record at the same time without slowing each other down.
+ * One Metrics can be shared by every game. The numbers can be written out as text (to a file, or to a local HTTP endpoint that a
+ * monitoring tool can scrape) in the Prometheus text format.
+ * @author Maddie Moyer
+ */
+public class Metrics {
+
+	private final Map<String, Counter> counters = new ConcurrentSkipListMap<String, Counter>(); //Sorted by name, so the output is always in the same order
+	private final Map<String, Histogram> histograms = new ConcurrentSkipListMap<String, Histogram>();
+
+	//Time spent in each phase of a turn, in nanoseconds
+	public final Histogram diceRoll = histogram("clue_dice_roll_nanos");
+	public final Histogram movement = histogram("clue_movement_nanos");
+	public final Histogram suggestion = histogram("clue_suggestion_nanos");
+	public final Histogram refutation = histogram("clue_refutation_nanos");
+	public final Histogram accusationCheck = histogram("clue_accusation_check_nanos");
+
+	public final Counter gamesCompleted = counter("clue_games_completed_total");
+	public final Histogram turnsPerGame = histogram("clue_turns_per_game");
+
+
+	//Getters
+
+	/**
+	 * Get a counter by name, making it if it does not exist yet.
+	 * @param name the counter's name (letters, digits, and underscores)
+	 * @return the counter
+	 */
+	public Counter counter(String name) {
+		return counters.computeIfAbsent(name, n -> new Counter());
+	}
+
+	/**
+	 * Get a histogram by name, making it if it does not exist yet.
+	 * @param name the histogram's name (letters, digits, and underscores)
+	 * @return the histogram
+	 */
+	public Histogram histogram(String name) {
+		return histograms.computeIfAbsent(name, n -> new Histogram());
+	}
+
+
+	//Methods
+
+	/**
+	 * Record that a game has ended.
+	 * @param turns the number of turns played in the game (every seat's turns counted)
+	 */
+	public void gameFinished(int turns) {
+		gamesCompleted.increment();
+		turnsPerGame.record(turns);
+	}
+
+
+	/**
+	 * Write every counter and histogram in the Prometheus text format. Each histogram has a bucket for every power of two up to its largest value,
+	 * plus its count and sum. The numbers are read while other threads may still be recording, so they can be off by whatever is recorded meanwhile.
+	 * @param out where to write
+	 */
+	public void writeText(PrintStream out) {
+		for(Map.Entry<String, Counter> entry : counters.entrySet()) {
+			out.println("# TYPE " + entry.getKey() + " counter");
+			out.println(entry.getKey() + " " + entry.getValue().get());
+		}
+		for(Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+			String name = entry.getKey();
+			Histogram histogram = entry.getValue();
+			out.println("# TYPE " + name + " histogram");
+			long cumulative = 0;
+			for(int b = 0; b <= histogram.lastBucket(); b++) {
+				cumulative += histogram.buckets[b].sum();
+				out.println(name + "_bucket{le=\"" + Histogram.upperBound(b) + "\"} " + cumulative);
+			}
+			out.println(name + "_bucket{le=\"+Inf\"} " + histogram.getCount());
+			out.println(name + "_count " + histogram.getCount());
+			out.println(name + "_sum " + histogram.getSum());
+		}
+	}
+
+
+	/**
+	 * Write every counter and histogram to a text file (see writeText), replacing the file if it already exists.
+	 * @param file the file to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public void writeText(Path file) throws IOException {
+		try(PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+			writeText(out);
+		}
+	}
+
+
+	/**
+	 * Print a short table of every histogram for a person to read: how many values were recorded, their average, and roughly their
+	 * median, 99th percentile, and largest value (each rounded up to a power of two).
+	 * @param out where to print
+	 */
+	public void printSummary(PrintStream out) {
+		out.printf("%-30s %12s %12s %12s %12s %12s%n", "Metric", "count", "mean", "~p50", "~p99", "~max");
+		for(Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+			Histogram histogram = entry.getValue();
+			out.printf("%-30s %12d %12.1f %12d %12d %12d%n", entry.getKey(), histogram.getCount(), histogram.getMean(),
+					histogram.percentile(0.50), histogram.percentile(0.99), histogram.getMax());
+		}
+		for(Map.Entry<String, Counter> entry : counters.entrySet()) {
+			out.printf("%-30s %12d%n", entry.getKey(), entry.getValue().get());
+		}
+	}
+
+
+	/**
+	 * Serve the numbers at http://localhost:port/metrics, in the Prometheus text format, until the server is stopped.
+	 * The server only listens on the loopback address, so only programs on this computer can read it.
+	 * @param port the port to listen on (0 picks any free port)
+	 * @return the running server. Call stop(0) on it to shut it down.
+	 * @throws IOException if the port cannot be opened
+	 */
+	public HttpServer startServer(int port) throws IOException {
+		HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+		server.createContext("/metrics", exchange -> {
+			ByteArrayOutputStream text = new ByteArrayOutputStream();
+			writeText(new PrintStream(text, true, StandardCharsets.UTF_8));
+			exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+			exchange.sendResponseHeaders(200, text.size());
+			try(OutputStream body = exchange.getResponseBody()) {
+				text.writeTo(body);
+			}
+		});
+		server.start();
+		return server;
+	}
+
+
+	/**
+	 * A number that only goes up.
+	 */
+	public static class Counter {
+
+		private final LongAdder value = new LongAdder();
+
+		/**
+		 * Add one.
+		 */
+		public void increment() {
+			value.increment();
+		}
+
+		/**
+		 * @param amount how much to add
+		 */
+		public void add(long amount) {
+			value.add(amount);
+		}
+
+		/**
+		 * @return the total so far
+		 */
+		public long get() {
+			return value.sum();
+		}
+	}
+
+
+	/**
+	 * Counts values (usually times in nanoseconds) in buckets by their power of two: bucket 0 holds 0, and bucket b holds 2^(b-1) to 2^b - 1.
+	 * That is accurate to within a factor of two, which is plenty to see where the time goes, and a value is recorded with two adds and no search.
+	 */
+	public static class Histogram {
+
+		private static final int BUCKETS = 64;
+
+		private final LongAdder[] buckets = new LongAdder[BUCKETS];
+		private final LongAdder count = new LongAdder();
+		private final LongAdder sum = new LongAdder();
+		private final AtomicLong max = new AtomicLong();
+
+		/**
+		 * Constructor
+		 */
+		Histogram() {
+			for(int b = 0; b < BUCKETS; b++) {
+				buckets[b] = new LongAdder();
+			}
+		}
+
+		/**
+		 * Record one value.
+		 * @param value the value (negative values are counted as 0)
+		 */
+		public void record(long value) {
+			value = Math.max(value, 0);
+			buckets[BUCKETS - Long.numberOfLeadingZeros(value)].increment();
+			count.increment();
+			sum.add(value);
+			if(value > max.get()) { //Only pay for the compare-and-set when there is a new largest value
+				max.accumulateAndGet(value, Math::max);
+			}
+		}
+
+		/**
+		 * Record how long something took.
+		 * @param startNanos the System.nanoTime() value when it started
+		 */
+		public void recordSince(long startNanos) {
+			record(System.nanoTime() - startNanos);
+		}
+
+		/**
+		 * @return how many values have been recorded
+		 */
+		public long getCount() {
+			return count.sum();
+		}
+
+		/**
+		 * @return all of the recorded values added together
+		 */
+		public long getSum() {
+			return sum.sum();
+		}
+
+		/**
+		 * @return the largest value recorded
+		 */
+		public long getMax() {
+			return max.get();
+		}
+
+		/**
+		 * @return the average of the recorded values (0 if there are none)
+		 */
+		public double getMean() {
+			long n = getCount();
+			return (n == 0) ? 0 : (double) getSum() / n;
+		}
+
+		/**
+		 * @param fraction a number from 0 to 1 (0.99 for the 99th percentile)
+		 * @return a value at least as large as that fraction of the recorded values (the top of the bucket it falls in, or the largest value if that is smaller)
+		 */
+		public long percentile(double fraction) {
+			long target = (long) Math.ceil(getCount() * fraction);
+			long cumulative = 0;
+			for(int b = 0; b < BUCKETS; b++) {
+				cumulative += buckets[b].sum();
+				if(cumulative >= target && cumulative > 0) {
+					return Math.min(upperBound(b), getMax());
+				}
+			}
+			return 0;
+		}
+
+		/**
+		 * @return the highest bucket with anything in it (0 if nothing has been recorded)
+		 */
+		private int lastBucket() {
+			for(int b = BUCKETS - 1; b > 0; b--) {
+				if(buckets[b].sum() != 0) {
+					return b;
+				}
+			}
+			return 0;
+		}
+
+		/**
+		 * @param b a bucket
+		 * @return the largest value that goes in the bucket
+		 */
+		private static long upperBound(int b) {
+			return (b == BUCKETS - 1) ? Long.MAX_VALUE : (1L << b) - 1;
+		}
+	}
+
+}
@@ -0,0 +1,118 @@
+/**
+ * This class is one seat's hunch about what the other seats are holding, built from things that are not proof. KnowledgeMatrix only keeps what
+ * is certain. This keeps what is likely:
+ * <ul>
+ * <li>A seat usually guesses cards it does not have (it is trying to find out about them), so a card a seat guesses is a little less likely to be in its hand.</li>
+ * <li>When a seat shows this seat a card and it had more than one of the guessed cards, it could have shown any of them. So the guessed cards it did
+ * not show are a little less likely to be in its hand than before.</li>
+ * </ul>
+ * Each hunch is kept as a log odds number for each seat and card, and each thing that happens adds a fixed amount to at most three of them, so
+ * keeping the model up to date costs almost nothing. holdProbability puts the hunch together with the seat's KnowledgeMatrix, so anything certain
+ * always wins. The whole model is one array of floats, so it is cheap to keep one for every seat of every game.
+ * @author Maddie Moyer
+ */
+public class OpponentModel {
+
+	private static final float GUESSED = (float) Math.log(0.6); //Guessing a card multiplies the odds that the guesser holds it by 0.6 (not less, since guessing your own card is sometimes a good move)
+	private static final float NOT_SHOWN = (float) Math.log(0.5); //Not showing a guessed card halves the odds that the shower holds it (with two to pick from, each is shown half the time)
+
+	private final int observer; //The seat whose hunch this is
+	private final int cards;
+	private final float[] logOdds; //How much more or less likely than even it is that seat s holds card c, at s * cards + c (0 means no hunch)
+
+
+	/**
+	 * Constructor
+	 * @param seats the number of seats in the game
+	 * @param cards the number of cards in the game
+	 * @param observer the seat whose hunch this is
+	 */
+	public OpponentModel(int seats, int cards, int observer) {
+		this.observer = observer;
+		this.cards = cards;
+		this.logOdds = new float[seats * cards];
+	}
+
+
+	//Getters
+
+	/**
+	 * @param seat a seat
+	 * @param card the ID of a card
+	 * @return how much the hunch has changed the odds that the seat holds the card, as a natural log (0 if nothing has changed them)
+	 */
+	public float getLogOdds(int seat, int card) {
+		return logOdds[seat * cards + card];
+	}
+
+
+	//Methods
+
+	/**
+	 * Put back hunches that were saved earlier (for example, from a GameSnapshot).
+	 * @param savedLogOdds the log odds for every seat and card, at seat * cards + card (from getLogOdds)
+	 */
+	public void restore(float[] savedLogOdds) {
+		System.arraycopy(savedLogOdds, 0, logOdds, 0, logOdds.length);
+	}
+
+
+	/**
+	 * A seat made a guess. The seat is probably trying to find out about the guessed cards, so it is less likely to have them.
+	 * @param guesser the seat that made the guess
+	 * @param guessBits the guessed cards
+	 */
+	public void guessed(int guesser, CardSet guessBits) {
+		if(guesser == observer) {
+			return; //This seat knows its own hand
+		}
+		for(int id = guessBits.nextCard(0); id != -1; id = guessBits.nextCard(id + 1)) {
+			logOdds[guesser * cards + id] += GUESSED;
+		}
+	}
+
+
+	/**
+	 * A seat showed this seat a card from its guess. The other guessed cards could have been shown instead if the seat had them, so they are less likely.
+	 * @param shower the seat that showed the card
+	 * @param cardId the ID of the card it showed
+	 * @param guessBits the guessed cards
+	 */
+	public void shown(int shower, int cardId, CardSet guessBits) {
+		for(int id = guessBits.nextCard(0); id != -1; id = guessBits.nextCard(id + 1)) {
+			if(id != cardId) {
+				logOdds[shower * cards + id] += NOT_SHOWN;
+			}
+		}
+	}
+
+
+	/**
+	 * Work out how likely it is that a seat holds a card. What is certain comes from the knowledge. Otherwise, the chance starts from how many
+	 * cards the seat has left to find out about compared to how many it might have, and the hunch changes the odds from there.
+	 * @param knowledge what this seat knows for certain
+	 * @param seat a seat
+	 * @param card the ID of a card
+	 * @return the chance from 0 to 1 that the seat holds the card
+	 */
+	public double holdProbability(KnowledgeMatrix knowledge, int seat, int card) {
+		CardSet known = knowledge.getKnown(seat);
+		CardSet possible = knowledge.getPossible(seat);
+		if(known.contains(card)) {
+			return 1.0;
+		}
+		if(!possible.contains(card)) {
+			return 0.0;
+		}
+		int knownCards = known.size();
+		int unknownCards = knowledge.getHandSize(seat) - knownCards; //Cards in the seat's hand that are not known yet
+		int mightHave = possible.size() - knownCards; //Every known card is also possible
+		double chance = (double) unknownCards / mightHave;
+		if(chance >= 1.0) {
+			return 1.0;
+		}
+		double odds = chance / (1.0 - chance) * Math.exp(logOdds[seat * cards + card]);
+		return odds / (1.0 + odds);
+	}
+
+}
@@ -4,7 +4,7 @@
  */
 public class Person {
 
-	private String name;
+	private final String name; //Never changes, so the same Person can be shared by many games
 
 	/**
 	 * Constructor
@@ -15,7 +15,7 @@ public class Person {
 	}
 
 	
-	//Getter and Setter
+	//Getter
 	
 	/**
 	 * @return the name
@@ -23,13 +23,6 @@ public class Person {
 	public String getName() {
 		return name;
 	}
-
-	/**
-	 * @param name the name to set
-	 */
-	public void setName(String name) {
-		this.name = name;
-	}
 	
 	
 	//Methods
@@ -4,18 +4,29 @@
  */
 public class Room {
 
-	private String name;
+	private final String name; //Never changes, so the same Room can be shared by many games
+	private final int index; //Where the room is in its game's rooms array (-1 if it was made without one)
 
 	/**
 	 * Constructor
 	 * @param name the name to construct
 	 */
 	public Room(String name) {
+		this(name, -1);
+	}
+
+	/**
+	 * Constructor
+	 * @param name the name to construct
+	 * @param index where the room is in its game's rooms array, so CardRegistry.roomIndex does not have to look the name up
+	 */
+	public Room(String name, int index) {
 		this.name = name;
+		this.index = index;
 	}
 
 	
-	//Getter and Setter
+	//Getters
 	
 	/**
 	 * @return the name
@@ -25,10 +36,10 @@ public class Room {
 	}
 
 	/**
-	 * @param name the name to set
+	 * @return where the room is in its game's rooms array, or -1 if it was made without one
 	 */
-	public void setName(String name) {
-		this.name = name;
+	public int getIndex() {
+		return index;
 	}
 	
 	
@@ -0,0 +1,69 @@
+/**
+ * This class guesses and accuses like InformationGainStrategy, but plans its moves instead of picking a reachable room at random.
+ * It uses the board's table of expected turns between rooms (see Board.getExpectedTurns), which already takes every dice roll into account.
+ * <p>
+ * The rooms worth going to are the ones that might still be the murder room, and a room is worth as much as the best guess that can be made
+ * in it (see InformationGainStrategy). Each reachable room is scored by what it is worth now plus LATER_WEIGHT times the best that some other
+ * room is worth for each expected turn it takes to get there from it. So if the roll reaches a room worth going to, it goes to the best one
+ * (picking one that leaves good rooms close by when there is a tie), and if it does not, it moves toward the room with the best worth per turn
+ * instead of staying where it is. The distances are table lookups and nothing is kept between calls, so one instance can be shared.
+ * Play it against InformationGainStrategy, which only differs in how it moves, with: java Tournament [games] [seed] -strategy route -opponent infogain
+ * @author Maddie Moyer
+ */
+public class RoutePlanningStrategy extends InformationGainStrategy {
+
+	public static final RoutePlanningStrategy INSTANCE = new RoutePlanningStrategy();
+	private static final double LATER_WEIGHT = 0.5; //How much a good room on a later turn counts compared to a good room now
+	private static final double TIE = 1e-9; //Rooms whose scores are closer than this are equally good, and one of them is picked at random
+
+
+	//Methods
+
+	/**
+	 * Move to the reachable room with the best guesses now and the best rooms close by for later.
+	 * @param engine the engine running the game
+	 * @param seat the seat that is moving
+	 * @param diceRoll the number of spaces the seat can move
+	 * @return the index of the room to move to
+	 */
+	@Override
+	public int chooseRoom(ClueEngine engine, int seat, int diceRoll) {
+		GameData gameData = engine.getGameData();
+		CardRegistry registry = gameData.getRegistry();
+		Board board = engine.getBoard();
+		int currentIdx = registry.roomIndex(gameData.getLocation(seat));
+		KnowledgeMatrix knowledge = engine.getKnowledge(seat);
+		GuessScores scores = new GuessScores(registry, knowledge, engine.getOpponentModel(seat), seat);
+		int rooms = gameData.getRooms().length;
+		double[] value = new double[rooms]; //What a turn in each room is worth. Rooms that cannot be the murder room are worth nothing.
+		for(long bits = knowledge.possibleEnvelopeRooms(); bits != 0; bits &= bits - 1) {
+			int room = Long.numberOfTrailingZeros(bits);
+			value[room] = scores.bestGain(room);
+		}
+
+		long reachable = board.getReachableRooms(currentIdx, diceRoll);
+		int[] best = new int[Long.bitCount(reachable)];
+		int bestCount = 0;
+		double bestScore = Double.NEGATIVE_INFINITY;
+		for(long bits = reachable; bits != 0; bits &= bits - 1) {
+			int room = Long.numberOfTrailingZeros(bits);
+			double later = 0; //The best room to go to next, for each turn it takes to get there
+			for(int other = 0; other < rooms; other++) {
+				if(other != room) {
+					later = Math.max(later, value[other] / board.getExpectedTurns(room, other));
+				}
+			}
+			double score = value[room] + LATER_WEIGHT * later;
+			if(score > bestScore + TIE) {
+				bestScore = score;
+				bestCount = 0;
+			}
+			if(score > bestScore - TIE) {
+				best[bestCount] = room;
+				bestCount++;
+			}
+		}
+		return best[gameData.getRandom().nextInt(bestCount)];
+	}
+
+}
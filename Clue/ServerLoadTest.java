@@ -0,0 +1,120 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class checks how many sessions a GameServer can handle. It starts a server on a free local port and connects many pretend players
+ * to it over the loopback network at the same time. Each player waits a while before every line it types (like a person thinking),
+ * so most sessions are sitting idle at a prompt, and then makes an accusation to end the game.
+ * It prints how long all of the sessions took, sessions per second, the most sessions the server had open at once, and how many games were
+ * parked while their player was thinking.
+ * Run it with: java ServerLoadTest [sessions] [think time in ms] [park time in ms]
+ * @author Maddie Moyer
+ */
+public class ServerLoadTest {
+
+	/**
+	 * Run the load test.
+	 * @param args optional: the number of sessions (default 2000), how long each player waits before typing each line, in ms (default 200), and
+	 * how long the server lets a player be idle before it parks their game, in ms (default GameServer.DEFAULT_PARK_MILLIS; 0 never parks)
+	 * @throws Exception if the server cannot be started or the test is interrupted
+	 */
+	public static void main(String[] args) throws Exception {
+		int sessionCount = (args.length > 0) ? Integer.parseInt(args[0]) : 2000;
+		long thinkMillis = (args.length > 1) ? Long.parseLong(args[1]) : 200;
+		long parkMillis = (args.length > 2) ? Long.parseLong(args[2]) : GameServer.DEFAULT_PARK_MILLIS;
+
+		GameServer server = new GameServer(0);
+		server.setParkMillis(parkMillis);
+		server.start();
+		System.out.println("Connecting " + sessionCount + " players to port " + server.getPort()
+				+ (GameServer.hasVirtualThreads() ? " (virtual threads)" : " (platform threads)") + "...");
+
+		String script = accusationScript();
+		AtomicLong finished = new AtomicLong();
+		AtomicLong failed = new AtomicLong();
+		AtomicLong bytesRead = new AtomicLong();
+		ExecutorService players = GameServer.newSessionExecutor();
+		long start = System.nanoTime();
+		for(int i = 0; i < sessionCount; i++) {
+			players.execute(() -> {
+				try {
+					long bytes = playScript(server.getPort(), script, thinkMillis);
+					bytesRead.addAndGet(bytes);
+					finished.incrementAndGet();
+				}catch(IOException | InterruptedException e) {
+					failed.incrementAndGet();
+				}
+			});
+		}
+		players.shutdown();
+		players.awaitTermination(1, TimeUnit.HOURS);
+		double seconds = (System.nanoTime() - start) / 1e9;
+		server.stop();
+
+		System.out.println("Finished sessions:  " + finished.get());
+		System.out.println("Failed sessions:    " + failed.get());
+		System.out.println("Peak open sessions: " + server.getPeakSessions());
+		System.out.println("Games parked:       " + server.getParks());
+		System.out.printf("Time: %.3f s  (%.0f sessions/s, %.1f MB sent by the server)%n", seconds, finished.get() / seconds, bytesRead.get() / 1e6);
+	}
+
+
+	/**
+	 * @return the lines a player types to start a game and accuse right away (the accusation itself does not matter)
+	 */
+	private static String accusationScript() {
+		GameData names = new GameData(0L);
+		return String.join("\n",
+				"", //Press ENTER to begin the game
+				"2", //Make an accusation
+				"Yes",
+				names.getPeople()[0].getName(),
+				names.getWeapons()[0].getName(),
+				names.getRooms()[0].getName(),
+				"") + "\n"; //Press ENTER to reveal the murder
+	}
+
+
+	/**
+	 * Connect to the server and type a script one line at a time, then read everything the server sends until it hangs up.
+	 * @param port the server's port
+	 * @param script the lines to type
+	 * @param thinkMillis how long to wait before typing each line
+	 * @return the number of bytes the server sent
+	 * @throws IOException if the connection fails or the game does not end
+	 * @throws InterruptedException if the player is interrupted while waiting
+	 */
+	private static long playScript(int port, String script, long thinkMillis) throws IOException, InterruptedException {
+		try(Socket socket = new Socket("localhost", port)) {
+			OutputStream out = socket.getOutputStream();
+			for(String line : script.split("(?<=\n)")) {
+				Thread.sleep(thinkMillis);
+				out.write(line.getBytes(StandardCharsets.UTF_8));
+				out.flush();
+			}
+			InputStream in = socket.getInputStream();
+			byte[] buffer = new byte[8192];
+			StringBuilder tail = new StringBuilder(); //Only the end of the output is kept, to check that the game ended
+			long bytes = 0;
+			int n;
+			while((n = in.read(buffer)) != -1) {
+				bytes += n;
+				tail.append(new String(buffer, 0, n, StandardCharsets.UTF_8));
+				if(tail.length() > 256) {
+					tail.delete(0, tail.length() - 256);
+				}
+			}
+			if(tail.indexOf("GAME OVER") == -1) {
+				throw new IOException("The game did not end");
+			}
+			return bytes;
+		}
+	}
+
+}
@@ -0,0 +1,132 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+
+/**
+ * The input of one GameServer session. Like FlushOnReadInputStream it flushes the game's output before it waits for the player, and it also
+ * hands the player's input to the game's Scanner one line at a time. Anything the player types ahead stays here instead of in the Scanner,
+ * so once the game has read a whole line the Scanner holds nothing. That lets the server park the game (save it with GameSnapshot and throw
+ * the game and its Scanner away) while the player is idle, and pick it up again with a new Scanner when they type, without losing any input.
+ * @author Maddie Moyer
+ */
+public class SessionInputStream extends FlushOnReadInputStream {
+
+	private static final int BUFFER_SIZE = 512; //Bytes read from the connection at a time
+
+	private final Socket socket;
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+	private int start; //The bytes from start up to (not including) end have been read from the connection but not handed to the game yet
+	private int end;
+
+
+	/**
+	 * Constructor
+	 * @param socket the player's connection
+	 * @param out the game's output, flushed before each read
+	 * @throws IOException if the connection's input cannot be opened
+	 */
+	public SessionInputStream(Socket socket, PrintStream out) throws IOException {
+		super(socket.getInputStream(), out);
+		this.socket = socket;
+	}
+
+
+	//Methods
+
+	/**
+	 * Read one byte, waiting for the player if nothing is left.
+	 * @return the byte, or -1 at the end of the input
+	 * @throws IOException if the input cannot be read
+	 */
+	@Override
+	public int read() throws IOException {
+		if(!fill()) {
+			return -1;
+		}
+		return buffer[start++] & 0xFF;
+	}
+
+
+	/**
+	 * Read up to len bytes, but never past the end of a line, waiting for the player if nothing is left.
+	 * @param b where to put the bytes
+	 * @param off where in b to start putting them
+	 * @param len the most bytes to read
+	 * @return the number of bytes read, or -1 at the end of the input
+	 * @throws IOException if the input cannot be read
+	 */
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if(len == 0) {
+			return 0;
+		}
+		if(!fill()) {
+			return -1;
+		}
+		int n = 0;
+		while(n < len && start < end) {
+			byte next = buffer[start++];
+			b[off + n++] = next;
+			if(next == '\n') {
+				break; //The rest stays here until the game asks for another line
+			}
+		}
+		return n;
+	}
+
+
+	/**
+	 * @return 0, so a reader never reads ahead past the line it has (a reader only keeps reading while more is available)
+	 */
+	@Override
+	public int available() {
+		return 0;
+	}
+
+
+	/**
+	 * Wait a while for the player to type something.
+	 * @param millis the most milliseconds to wait (0 waits for as long as it takes)
+	 * @return true if there is input to read, or the input has ended or failed (the game finds out when it reads), or false if nothing came in time
+	 */
+	public boolean waitForInput(long millis) {
+		if(start < end) {
+			return true;
+		}
+		try {
+			socket.setSoTimeout((int) Math.min(millis, Integer.MAX_VALUE));
+			try {
+				fill();
+			}finally {
+				socket.setSoTimeout(0);
+			}
+			return true;
+		}catch(SocketTimeoutException e) {
+			return false; //The connection can still be read after a timeout
+		}catch(IOException e) {
+			return true;
+		}
+	}
+
+
+	/**
+	 * Make sure there are bytes to hand out, reading more from the connection if there are none left.
+	 * @return true if there are bytes, false at the end of the input
+	 * @throws IOException if the input cannot be read
+	 */
+	private boolean fill() throws IOException {
+		if(start < end) {
+			return true;
+		}
+		int n = super.read(buffer, 0, buffer.length);
+		if(n <= 0) {
+			return false;
+		}
+		start = 0;
+		end = n;
+		return true;
+	}
+
+}
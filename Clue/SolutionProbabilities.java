@@ -0,0 +1,391 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+/**
+ * This class works out exactly how likely every possible murder solution (person, weapon, room) is, from what one seat knows.
+ * For every solution that fits the seat's KnowledgeMatrix, it counts every way the rest of the cards could have been dealt to the seats
+ * that also fits (hand sizes, cards seen, cards not held, and "has one of" constraints). Each solution's probability is its share of all those deals.
+ * The solutions are counted at the same time on every core, and each count remembers the partial deals it has already counted (memoization).
+ * <p>
+ * Each "has one of" constraint is kept as one bit of a long, so only the first MAX_CONSTRAINTS of them can be counted. A seat that has more
+ * open constraints than that (which takes a very long game) gets counts that ignore the rest, and isExact() is false so callers can tell.
+ * How many more cards each seat takes is kept in CAP_BITS bits, so if some seat has more than MAX_CAP cards it has not been seen to hold
+ * (a deck of hundreds of cards), nothing is counted and compute() returns null, the same as running out of time.
+ * @author Maddie Moyer
+ */
+public class SolutionProbabilities {
+
+	public static final int MAX_CONSTRAINTS = 63; //Open "has one of" constraints that can be counted (one bit of a long each)
+	private static final int CAP_BITS = 5; //Bits used to store how many more cards one seat can take
+	public static final int MAX_CAP = (1 << CAP_BITS) - 1; //The most unseen cards one seat can have for the deals to be counted (31)
+	private static final int MAX_MEMO_CONSTRAINTS = MAX_CONSTRAINTS - GameData.MAX_SEATS * CAP_BITS; //More open constraints than this are counted without memoization
+
+	private final CardRegistry registry;
+	private final double[] solutionProbability; //Indexed by (personIdx * weapons + weaponIdx) * rooms + roomIdx
+	private final double[] cardProbability; //For each card ID, the chance it is in the envelope
+	private final int mostLikely; //The solution with the highest probability
+	private final boolean exact; //False if some constraints had to be left out of the counts
+
+
+	/**
+	 * Constructor. Use compute() to make one.
+	 * @param registry the registry with the card IDs
+	 * @param counts the number of deals that fit each solution
+	 * @param exact false if some constraints were left out of the counts
+	 */
+	private SolutionProbabilities(CardRegistry registry, double[] counts, boolean exact) {
+		this.registry = registry;
+		this.exact = exact;
+		this.solutionProbability = new double[counts.length];
+		this.cardProbability = new double[registry.getCardCount()];
+		int weapons = registry.getWeapons().length;
+		int rooms = registry.getRooms().length;
+
+		double total = 0;
+		for(double count : counts) {
+			total += count;
+		}
+		int best = 0;
+		for(int s = 0; s < counts.length; s++) {
+			double probability = (total == 0) ? 0 : counts[s] / total;
+			solutionProbability[s] = probability;
+			cardProbability[registry.personId(s / (weapons * rooms))] += probability;
+			cardProbability[registry.weaponId((s / rooms) % weapons)] += probability;
+			cardProbability[registry.roomId(s % rooms)] += probability;
+			if(probability > solutionProbability[best]) {
+				best = s;
+			}
+		}
+		this.mostLikely = best;
+	}
+
+
+	/**
+	 * Count every deal that fits a seat's knowledge and turn the counts into probabilities.
+	 * @param registry the registry with the card IDs
+	 * @param knowledge what the seat knows
+	 * @param budgetNanos the most time to spend, in nanoseconds
+	 * @return the probabilities, or null if they could not be worked out within the time budget or some seat has more than MAX_CAP cards it is
+	 * not known to hold. If the seat has more than MAX_CONSTRAINTS open constraints, the extra ones are left out and the probabilities are
+	 * only approximate (see isExact).
+	 * @throws IllegalArgumentException if the knowledge has more than GameData.MAX_SEATS seats
+	 */
+	public static SolutionProbabilities compute(CardRegistry registry, KnowledgeMatrix knowledge, long budgetNanos) {
+		int people = registry.getPeople().length;
+		int weapons = registry.getWeapons().length;
+		int rooms = registry.getRooms().length;
+		long deadline = System.nanoTime() + budgetNanos;
+		AtomicBoolean outOfTime = new AtomicBoolean(false);
+		CardSet possibleEnvelope = knowledge.getPossible(knowledge.getEnvelope());
+		CardSet unknown = CardSet.range(registry.getCardCount(), 0, registry.getCardCount()); //The cards nobody is known to have
+		if(knowledge.getEnvelope() > GameData.MAX_SEATS) {
+			throw new IllegalArgumentException("Deals can only be counted for up to " + GameData.MAX_SEATS + " seats, not " + knowledge.getEnvelope());
+		}
+		for(int h = 0; h < knowledge.getEnvelope(); h++) {
+			if(knowledge.getHandSize(h) - knowledge.getKnown(h).size() > MAX_CAP) {
+				return null; //The seat's cap does not fit in CAP_BITS bits, so it would spill into the next seat's
+			}
+		}
+		for(int h = 0; h <= knowledge.getEnvelope(); h++) {
+			unknown.removeAll(knowledge.getKnown(h));
+		}
+
+		double[] counts = new double[people * weapons * rooms];
+		IntStream.range(0, counts.length).parallel().forEach(s -> {
+			int[] envelope = {
+					registry.personId(s / (weapons * rooms)),
+					registry.weaponId((s / rooms) % weapons),
+					registry.roomId(s % rooms)};
+			if(!possibleEnvelope.contains(envelope[0]) || !possibleEnvelope.contains(envelope[1]) || !possibleEnvelope.contains(envelope[2]) || outOfTime.get()) {
+				return; //This solution is already ruled out (or there is no time left)
+			}
+			counts[s] = new DealCounter(knowledge, unknown, envelope, deadline, outOfTime).count();
+		});
+		if(outOfTime.get()) {
+			return null;
+		}
+		return new SolutionProbabilities(registry, counts, knowledge.getOneOfCount() <= MAX_CONSTRAINTS);
+	}
+
+
+	//Getters
+
+	/**
+	 * @return true if every constraint was counted, or false if the seat had more than MAX_CONSTRAINTS open constraints and the
+	 * probabilities only count the first MAX_CONSTRAINTS of them
+	 */
+	public boolean isExact() {
+		return exact;
+	}
+
+	/**
+	 * @param personIdx the index of a person in the people array
+	 * @param weaponIdx the index of a weapon in the weapons array
+	 * @param roomIdx the index of a room in the rooms array
+	 * @return the chance that this is the murder solution
+	 */
+	public double getSolutionProbability(int personIdx, int weaponIdx, int roomIdx) {
+		int weapons = registry.getWeapons().length;
+		int rooms = registry.getRooms().length;
+		return solutionProbability[(personIdx * weapons + weaponIdx) * rooms + roomIdx];
+	}
+
+	/**
+	 * @param cardId the ID of a card
+	 * @return the chance that the card is in the envelope
+	 */
+	public double getCardProbability(int cardId) {
+		return cardProbability[cardId];
+	}
+
+	/**
+	 * @return the chance that the most likely solution is the murder solution
+	 */
+	public double getMostLikelyProbability() {
+		return solutionProbability[mostLikely];
+	}
+
+	/**
+	 * @return the most likely solution as a String array {Person, Weapon, Room}
+	 */
+	public String[] getMostLikelySolution() {
+		int weapons = registry.getWeapons().length;
+		int rooms = registry.getRooms().length;
+		return new String[] {
+				registry.getPeople()[mostLikely / (weapons * rooms)].getName(),
+				registry.getWeapons()[(mostLikely / rooms) % weapons].getName(),
+				registry.getRooms()[mostLikely % rooms].getName()};
+	}
+
+
+	/**
+	 * This class counts the ways the cards outside one envelope could have been dealt to the seats. It goes through the cards that nobody is
+	 * known to have one at a time, trying each seat that could have the card and still has room in its hand.
+	 */
+	private static class DealCounter {
+
+		private final int seats;
+		private final int[] freeCards; //The IDs of the cards that still need a seat
+		private final int[] canHold; //For each free card, the seats that might have it, as bits
+		private final long[][] satisfies; //For each free card and seat, the constraints that are met if the seat has the card
+		private final long allSatisfied;
+		private final long startCaps; //How many more cards each seat takes, CAP_BITS bits per seat
+		private final long startSatisfied; //The constraints that are already met by known cards
+		private final boolean possibleDeal; //False if no deal can fit this envelope at all
+		private final MemoTable[] memo; //For each free card position, the counts already worked out (made the first time the position is reached)
+		private final long deadline;
+		private final AtomicBoolean outOfTime;
+		private int steps;
+
+
+		/**
+		 * Constructor
+		 * @param knowledge what the seat knows
+		 * @param unknown the cards nobody is known to have
+		 * @param envelope the IDs of the person, weapon, and room to count deals for
+		 * @param deadline System.nanoTime() value to stop at
+		 * @param outOfTime set to true if the deadline passes
+		 */
+		DealCounter(KnowledgeMatrix knowledge, CardSet unknown, int[] envelope, long deadline, AtomicBoolean outOfTime) {
+			this.seats = knowledge.getEnvelope();
+			this.deadline = deadline;
+			this.outOfTime = outOfTime;
+			CardSet envelopeCards = CardSet.of(knowledge.getCardCount(), envelope);
+
+			long caps = 0L;
+			CardSet knownEnvelope = knowledge.getKnown(seats);
+			boolean fits = knownEnvelope.countCommon(envelopeCards) == knownEnvelope.size(); //Every card known to be in the envelope must be in this one
+			for(int h = 0; h < seats; h++) {
+				int cap = knowledge.getHandSize(h) - knowledge.getKnown(h).size();
+				fits &= cap >= 0 && !knowledge.getKnown(h).intersects(envelopeCards);
+				caps |= (long) Math.max(cap, 0) << (h * CAP_BITS);
+			}
+
+			int[] freeIndex = new int[knowledge.getCardCount()]; //For each card ID, its position in freeCards, or -1 if it is not free
+			Arrays.fill(freeIndex, -1);
+			this.freeCards = new int[unknown.size() - unknown.countCommon(envelopeCards)];
+			this.canHold = new int[freeCards.length];
+			int n = 0;
+			for(int id = unknown.nextCard(0); id != -1; id = unknown.nextCard(id + 1)) {
+				if(!envelopeCards.contains(id)) {
+					freeIndex[id] = n;
+					freeCards[n] = id;
+					for(int h = 0; h < seats; h++) {
+						if(knowledge.getPossible(h).contains(id)) {
+							canHold[n] |= 1 << h;
+						}
+					}
+					n++;
+				}
+			}
+
+			//Each constraint gets one bit. Ones that known cards already meet start out set. (Past MAX_CONSTRAINTS the rest are left out, and the result says it is not exact.)
+			int constraints = Math.min(knowledge.getOneOfCount(), MAX_CONSTRAINTS);
+			this.satisfies = new long[freeCards.length][seats];
+			long satisfied = 0L;
+			for(int c = 0; c < constraints; c++) {
+				int holder = knowledge.getOneOfHolder(c);
+				CardSet cards = knowledge.getOneOfCards(c);
+				if(cards.intersects(knowledge.getKnown(holder))) {
+					satisfied |= 1L << c;
+					continue;
+				}
+				boolean couldBeMet = false;
+				for(int id = cards.nextCard(0); id != -1; id = cards.nextCard(id + 1)) {
+					int i = freeIndex[id];
+					if(i != -1 && (canHold[i] & (1 << holder)) != 0) {
+						satisfies[i][holder] |= 1L << c;
+						couldBeMet = true;
+					}
+				}
+				fits &= couldBeMet;
+			}
+			this.allSatisfied = (1L << constraints) - 1;
+			this.startSatisfied = satisfied;
+			this.startCaps = caps;
+			this.possibleDeal = fits;
+			this.memo = (constraints <= MAX_MEMO_CONSTRAINTS) ? new MemoTable[freeCards.length] : null;
+		}
+
+
+		/**
+		 * @return the number of deals that fit the envelope
+		 */
+		double count() {
+			if(!possibleDeal) {
+				return 0;
+			}
+			return count(0, startCaps, startSatisfied);
+		}
+
+
+		/**
+		 * Count the ways to deal the free cards from position i onwards.
+		 * @param i the position in freeCards of the next card to deal
+		 * @param caps how many more cards each seat takes
+		 * @param satisfied the constraints that have been met so far
+		 * @return the number of ways
+		 */
+		private double count(int i, long caps, long satisfied) {
+			if(i == freeCards.length) {
+				return (caps == 0 && satisfied == allSatisfied) ? 1 : 0;
+			}
+			if((++steps & 4095) == 0 && (outOfTime.get() || System.nanoTime() > deadline)) {
+				outOfTime.set(true);
+				return 0;
+			}
+			long key = (satisfied << (GameData.MAX_SEATS * CAP_BITS)) | caps;
+			if(memo != null) {
+				if(memo[i] == null) {
+					memo[i] = new MemoTable();
+				}
+				double known = memo[i].get(key);
+				if(!Double.isNaN(known)) {
+					return known;
+				}
+			}
+			double ways = 0;
+			long capMask = (1L << CAP_BITS) - 1;
+			for(int h = 0; h < seats; h++) {
+				if((canHold[i] & (1 << h)) != 0 && ((caps >>> (h * CAP_BITS)) & capMask) != 0) {
+					ways += count(i + 1, caps - (1L << (h * CAP_BITS)), satisfied | satisfies[i][h]);
+				}
+			}
+			if(memo != null) {
+				memo[i].put(key, ways);
+			}
+			return ways;
+		}
+	}
+
+
+	/**
+	 * This class is a hash table from a long key to a double count, kept in two plain arrays so looking up a count does not box anything.
+	 * Keys are placed by open addressing: a key goes in the slot its hash points to, or the next free slot after it.
+	 * The table doubles in size when it is half full. Keys are never negative (the top bit of a memo key is always 0), so -1 marks an empty slot.
+	 */
+	private static class MemoTable {
+
+		private static final long EMPTY = -1L; //The key of a slot that has nothing in it
+		private static final int START_SIZE = 16; //The number of slots in a new table (always a power of 2)
+
+		private long[] keys;
+		private double[] values;
+		private int size; //The number of keys in the table
+
+
+		/**
+		 * Constructor. Makes an empty table.
+		 */
+		MemoTable() {
+			this.keys = new long[START_SIZE];
+			this.values = new double[START_SIZE];
+			Arrays.fill(keys, EMPTY);
+		}
+
+
+		/**
+		 * @param key a key (not negative)
+		 * @return the count stored for the key, or Double.NaN if there is none (a count is never NaN)
+		 */
+		double get(long key) {
+			int slot = slotOf(keys, key);
+			return (keys[slot] == key) ? values[slot] : Double.NaN;
+		}
+
+
+		/**
+		 * @param key a key (not negative)
+		 * @param value the count to store for it
+		 */
+		void put(long key, double value) {
+			int slot = slotOf(keys, key);
+			if(keys[slot] != key) {
+				if(2 * (size + 1) > keys.length) {
+					grow();
+					slot = slotOf(keys, key);
+				}
+				keys[slot] = key;
+				size++;
+			}
+			values[slot] = value;
+		}
+
+
+		/**
+		 * Double the number of slots and put every key in its slot in the bigger table.
+		 */
+		private void grow() {
+			long[] oldKeys = keys;
+			double[] oldValues = values;
+			keys = new long[2 * oldKeys.length];
+			values = new double[2 * oldKeys.length];
+			Arrays.fill(keys, EMPTY);
+			for(int i = 0; i < oldKeys.length; i++) {
+				if(oldKeys[i] != EMPTY) {
+					int slot = slotOf(keys, oldKeys[i]);
+					keys[slot] = oldKeys[i];
+					values[slot] = oldValues[i];
+				}
+			}
+		}
+
+
+		/**
+		 * @param keys the key array of a table
+		 * @param key a key
+		 * @return the slot that has the key, or the empty slot where it would go
+		 */
+		private static int slotOf(long[] keys, long key) {
+			int mask = keys.length - 1;
+			long hash = key * 0x9E3779B97F4A7C15L; //Multiplying by 2^64 / the golden ratio spreads nearby keys over the table
+			int slot = (int) (hash >>> 32) & mask;
+			while(keys[slot] != key && keys[slot] != EMPTY) {
+				slot = (slot + 1) & mask;
+			}
+			return slot;
+		}
+	}
+
+}
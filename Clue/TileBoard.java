@@ -0,0 +1,333 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class is a Clue board made of square tiles, like the real board, instead of a list of distances between rooms. Pieces walk one
+ * tile at a time through the corridors (up, down, left, or right), cannot step on walls, and walk into a room through one of its doors.
+ * Walking into a room ends the move. A secret passage takes a piece to the other room instead of rolling. The distance between two rooms is
+ * worked out once, with a breadth-first search from every room, and given to Board, so every method of Board (and every caller, like
+ * ClueEngine's movement) works on a TileBoard too. Board keeps the rooms every room can reach with every roll in a table, so a move
+ * never searches the grid.
+ * <p>
+ * Every move starts and ends in a room, so no piece is ever standing on a corridor tile that another piece would have to walk around.
+ * <p>
+ * Grid files have "passage: Room A, Room B" lines, then a "grid:" line followed by one line per row of tiles:
+ * <ul>
+ * <li>. is a corridor tile, and # (or a space) is a wall</li>
+ * <li>a lowercase letter is inside a room (a is the first room of the game, b the second, and so on), and the same letter in
+ * uppercase is one of that room's doors. A piece walks in from a corridor tile next to the door.</li>
+ * </ul>
+ * @author Maddie Moyer
+ */
+public class TileBoard extends Board {
+
+	public static final int MAX_ROOMS = 26; //Rooms are letters on the grid
+
+	private final Grid grid;
+
+
+	/**
+	 * Constructor
+	 * @param rooms the rooms of the game. Room i is the letter 'a' + i on the grid.
+	 * @param rows the rows of the grid, top to bottom
+	 * @param passages pairs of room indexes joined by a secret passage, for example {{1, 6}, {3, 8}}
+	 * @throws IllegalArgumentException if the grid uses a letter that is not a room, or some room cannot be reached from another
+	 */
+	public TileBoard(Room[] rooms, String[] rows, int[][] passages) {
+		this(rooms, new Grid(rooms.length, rows, passages));
+	}
+
+
+	/**
+	 * Constructor
+	 * @param rooms the rooms of the game
+	 * @param grid the grid, already read
+	 */
+	private TileBoard(Room[] rooms, Grid grid) {
+		super(rooms, grid.roomDistances());
+		this.grid = grid;
+	}
+
+
+	/**
+	 * Read a grid file.
+	 * @param file the file
+	 * @param rooms the rooms of the game. Room i is the letter 'a' + i on the grid.
+	 * @return the board
+	 * @throws IOException if the file cannot be read or is not a valid grid
+	 */
+	public static TileBoard read(Path file, Room[] rooms) throws IOException {
+		List<int[]> passages = new ArrayList<int[]>();
+		List<String> rows = new ArrayList<String>();
+		boolean inGrid = false;
+		List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+		for(int n = 0; n < lines.size(); n++) {
+			String line = lines.get(n);
+			if(inGrid) {
+				if(!line.trim().isEmpty()) {
+					rows.add(line);
+				}
+			}else if(line.trim().equals("grid:")) {
+				inGrid = true;
+			}else if(line.startsWith("passage:")) {
+				String[] names = line.substring(line.indexOf(':') + 1).split(",");
+				int a = (names.length == 2) ? roomIndex(rooms, names[0].trim()) : -1;
+				int b = (names.length == 2) ? roomIndex(rooms, names[1].trim()) : -1;
+				if(a == -1 || b == -1) {
+					throw new IOException(file + " line " + (n + 1) + ": a passage needs two rooms of the game");
+				}
+				passages.add(new int[] {a, b});
+			}else if(!line.trim().isEmpty() && !line.startsWith("#")) {
+				throw new IOException(file + " line " + (n + 1) + ": expected \"passage: Room A, Room B\" or \"grid:\"");
+			}
+		}
+		try {
+			return new TileBoard(rooms, rows.toArray(new String[0]), passages.toArray(new int[0][]));
+		}catch(IllegalArgumentException e) {
+			throw new IOException(file + ": " + e.getMessage());
+		}
+	}
+
+
+	//Getters
+
+	/**
+	 * @return the number of corridor tiles. Tiles are numbered from 0, row by row.
+	 */
+	public int getTileCount() {
+		return grid.tileCount;
+	}
+
+	/**
+	 * @param row a row of the grid
+	 * @param column a column of the grid
+	 * @return the number of the corridor tile there, or -1 if it is not a corridor tile
+	 */
+	public int getTile(int row, int column) {
+		if(row < 0 || column < 0 || column >= grid.width || row * grid.width + column >= grid.tileAt.length) {
+			return -1;
+		}
+		return grid.tileAt[row * grid.width + column];
+	}
+
+
+	//Methods
+
+	/**
+	 * @param rooms the rooms of the game
+	 * @param name the name of a room
+	 * @return the index of the room, or -1 if it is not one of the rooms
+	 */
+	private static int roomIndex(Room[] rooms, String name) {
+		for(int i = 0; i < rooms.length; i++) {
+			if(rooms[i].getName().equals(name)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+
+	/**
+	 * The tiles of a grid and how they are connected, read once when the board is made.
+	 */
+	private static final class Grid {
+
+		private final int roomCount;
+		private final int width;
+		private final int tileCount;
+		private final int[] tileAt; //For each square (row * width + column), its tile number, or -1 if it is not a corridor tile
+		private final int[] neighborStart; //The tiles next to tile t are neighbors[neighborStart[t]] to neighbors[neighborStart[t + 1] - 1]
+		private final int[] neighbors;
+		private final int[] exitStart; //The tiles a piece steps onto leaving room r are exits[exitStart[r]] to exits[exitStart[r + 1] - 1]
+		private final int[] exits;
+		private final long[] entrances; //For each tile, the rooms (as bits) it has a door into
+		private final long[] passages; //For each room, the rooms (as bits) joined to it by a secret passage
+
+		/**
+		 * Constructor. Reads the grid.
+		 * @param roomCount the number of rooms in the game
+		 * @param rows the rows of the grid
+		 * @param passagePairs pairs of room indexes joined by a secret passage
+		 * @throws IllegalArgumentException if the grid uses a letter that is not a room
+		 */
+		Grid(int roomCount, String[] rows, int[][] passagePairs) {
+			if(roomCount > MAX_ROOMS) {
+				throw new IllegalArgumentException("A tile grid can have at most " + MAX_ROOMS + " rooms");
+			}
+			this.roomCount = roomCount;
+			int longest = 0;
+			for(String row : rows) {
+				longest = Math.max(longest, row.length());
+			}
+			this.width = longest;
+			this.tileAt = new int[rows.length * width];
+			int tiles = 0;
+			for(int r = 0; r < rows.length; r++) {
+				for(int c = 0; c < width; c++) {
+					char square = cell(rows, r, c);
+					if(square != '.' && square != '#' && square != ' ' && roomOf(square) == -1) {
+						throw new IllegalArgumentException("Row " + (r + 1) + " uses '" + square + "', which is not a room of this game");
+					}
+					tileAt[r * width + c] = (square == '.') ? tiles++ : -1;
+				}
+			}
+			this.tileCount = tiles;
+
+			this.neighborStart = new int[tileCount + 1];
+			int[] found = new int[tileCount * 4];
+			int[][] steps = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+			this.entrances = new long[tileCount];
+			List<List<Integer>> roomExits = new ArrayList<List<Integer>>();
+			for(int i = 0; i < roomCount; i++) {
+				roomExits.add(new ArrayList<Integer>());
+			}
+			int n = 0;
+			for(int r = 0; r < rows.length; r++) {
+				for(int c = 0; c < width; c++) {
+					int tile = tileAt[r * width + c];
+					if(tile == -1) {
+						continue;
+					}
+					neighborStart[tile] = n;
+					for(int[] step : steps) {
+						int nr = r + step[0];
+						int nc = c + step[1];
+						char square = cell(rows, nr, nc);
+						if(square == '.') {
+							found[n++] = tileAt[nr * width + nc];
+						}else if(Character.isUpperCase(square)) { //A door
+							int room = roomOf(square);
+							if((entrances[tile] & (1L << room)) == 0) {
+								entrances[tile] |= 1L << room;
+								roomExits.get(room).add(tile);
+							}
+						}
+					}
+				}
+			}
+			neighborStart[tileCount] = n;
+			this.neighbors = Arrays.copyOf(found, n);
+
+			this.exitStart = new int[roomCount + 1];
+			int exitCount = 0;
+			for(List<Integer> list : roomExits) {
+				exitCount += list.size();
+			}
+			this.exits = new int[exitCount];
+			int e = 0;
+			for(int i = 0; i < roomCount; i++) {
+				exitStart[i] = e;
+				for(int tile : roomExits.get(i)) {
+					exits[e++] = tile;
+				}
+			}
+			exitStart[roomCount] = e;
+
+			this.passages = new long[roomCount];
+			for(int[] pair : passagePairs) {
+				passages[pair[0]] |= 1L << pair[1];
+				passages[pair[1]] |= 1L << pair[0];
+			}
+		}
+
+		/**
+		 * Work out the distance between every pair of rooms: the fewest tiles walked from one room's door into the other room, or 0 if a
+		 * secret passage joins them.
+		 * @return the distance from room i to room j at i * rooms + j
+		 * @throws IllegalArgumentException if some room cannot be reached from another
+		 */
+		int[] roomDistances() {
+			int[] distances = new int[roomCount * roomCount];
+			int[] queue = new int[tileCount];
+			int[] visited = new int[tileCount];
+			int[] steps = new int[roomCount];
+			for(int a = 0; a < roomCount; a++) {
+				Arrays.fill(steps, NO_PATH);
+				steps[a] = 0;
+				for(long bits = passages[a]; bits != 0; bits &= bits - 1) {
+					steps[Long.numberOfTrailingZeros(bits)] = 0;
+				}
+				int mark = a + 1;
+				int count = 0;
+				for(int e = exitStart[a]; e < exitStart[a + 1]; e++) {
+					int tile = exits[e];
+					if(visited[tile] != mark) {
+						visited[tile] = mark;
+						queue[count++] = tile;
+					}
+				}
+				search(queue, count, 1, visited, mark, steps);
+				for(int b = 0; b < roomCount; b++) {
+					if(steps[b] == NO_PATH) {
+						throw new IllegalArgumentException("Every room needs a path to every other room");
+					}
+					distances[a * roomCount + b] = steps[b];
+				}
+			}
+			return distances;
+		}
+
+		/**
+		 * Breadth-first search through the corridor tiles, one step at a time, until every tile it can get to has been reached.
+		 * @param queue the tiles the search starts from (already marked in visited), with room for every tile
+		 * @param count how many tiles the search starts from
+		 * @param depth the number of steps it took to reach the starting tiles
+		 * @param visited for each tile, the mark of the last search that reached it. Every tile this search reaches is marked.
+		 * @param mark this search's mark
+		 * @param roomSteps the fewest steps to walk into each room is written here (if it is fewer than what is there)
+		 */
+		void search(int[] queue, int count, int depth, int[] visited, int mark, int[] roomSteps) {
+			long rooms = 0L; //The rooms already walked into, which a longer walk cannot get to any sooner
+			int head = 0;
+			while(head < count) {
+				int levelEnd = count; //The tiles depth steps away
+				for(; head < levelEnd; head++) {
+					int tile = queue[head];
+					for(long entered = entrances[tile] & ~rooms; entered != 0; entered &= entered - 1) {
+						int room = Long.numberOfTrailingZeros(entered);
+						roomSteps[room] = Math.min(roomSteps[room], depth + 1);
+					}
+					rooms |= entrances[tile];
+					for(int i = neighborStart[tile]; i < neighborStart[tile + 1]; i++) {
+						int next = neighbors[i];
+						if(visited[next] != mark) {
+							visited[next] = mark;
+							queue[count++] = next;
+						}
+					}
+				}
+				depth++;
+			}
+		}
+
+		/**
+		 * @param rows the rows of the grid
+		 * @param r a row
+		 * @param c a column
+		 * @return the character at the row and column, or '#' if it is off the grid
+		 */
+		private static char cell(String[] rows, int r, int c) {
+			if(r < 0 || r >= rows.length || c < 0 || c >= rows[r].length()) {
+				return '#';
+			}
+			return rows[r].charAt(c);
+		}
+
+		/**
+		 * @param square a character of the grid
+		 * @return the index of the room the letter stands for, or -1 if it is not a room of this game
+		 */
+		private int roomOf(char square) {
+			int room = Character.toLowerCase(square) - 'a';
+			return (room >= 0 && room < roomCount) ? room : -1;
+		}
+
+	}
+
+}
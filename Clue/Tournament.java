@@ -0,0 +1,278 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * This class plays many computer-vs-computer games of Clue at the same time on every core, and adds up the results.
+ * Every seat plays with the computer's turn logic in ClueEngine (playAutoTurn), so nobody has to press ENTER. Seats use BasicStrategy
+ * unless they are given another ComputerStrategy, which makes it easy to play two strategies against each other.
+ * Game number i is always dealt from the seed baseSeed + i, so any single game can be played again.
+ * For example, java Tournament 1000 1 -strategy ismcts -budget 5 plays 1,000 games of IsmctsStrategy (the computer seat) against BasicStrategy.
+ * @author Maddie Moyer
+ */
+public class Tournament {
+
+	public static final int MAX_TURNS = 1000; //A game with no accusation after this many turns is counted as unfinished
+	private static final long GAMES_PER_TASK = 1024; //Ranges smaller than this are played on one thread instead of being split again
+
+	private final Board board; //Every game is played on the same board
+	private final long baseSeed;
+	private double accusationThreshold; //Passed on to every game's ClueEngine
+	private int seats; //Number of seats in every game
+	private GameLog gameLog; //Every game is recorded here if it is not null
+	private Metrics metrics; //Every game's phase timings and turn counts are recorded here if it is not null
+	private final Supplier<?>[] strategies = new Supplier<?>[GameData.MAX_SEATS]; //Makes each game's strategy for a seat, or null for BasicStrategy
+	private long gamesPerTask = GAMES_PER_TASK;
+
+
+	/**
+	 * Constructor
+	 * @param baseSeed the seed for the first game. Game number i uses baseSeed + i.
+	 */
+	public Tournament(long baseSeed) {
+		this(baseSeed, new Board(GameDefinition.classic()));
+	}
+
+
+	/**
+	 * Constructor
+	 * @param baseSeed the seed for the first game. Game number i uses baseSeed + i.
+	 * @param board the board every game is played on (for example, a TileBoard)
+	 */
+	public Tournament(long baseSeed, Board board) {
+		this.board = board;
+		this.baseSeed = baseSeed;
+		this.accusationThreshold = 1.0;
+		this.seats = 2;
+	}
+
+
+	/**
+	 * @param accusationThreshold how likely the most likely solution has to be before a seat accuses (1.0 means only when certain)
+	 */
+	public void setAccusationThreshold(double accusationThreshold) {
+		this.accusationThreshold = accusationThreshold;
+	}
+
+
+	/**
+	 * @param seats the number of seats in every game (2 to GameData.MAX_SEATS)
+	 */
+	public void setSeats(int seats) {
+		this.seats = seats;
+	}
+
+
+	/**
+	 * @param gameLog a log to record every game to, or null to not record them
+	 */
+	public void setGameLog(GameLog gameLog) {
+		this.gameLog = gameLog;
+	}
+
+
+	/**
+	 * @param metrics where to record how long each phase of every turn takes and how many turns each game lasts, or null to not record them
+	 */
+	public void setMetrics(Metrics metrics) {
+		this.metrics = metrics;
+	}
+
+
+	/**
+	 * Give a seat a different strategy in every game. Strategies that search (like IsmctsStrategy) make games much slower, so each game is then
+	 * played as its own task to keep every core busy.
+	 * @param seat the seat
+	 * @param strategy makes a new strategy for each game (a strategy can remember things between turns, so games do not share one), or null for BasicStrategy
+	 */
+	public void setStrategy(int seat, Supplier<? extends ComputerStrategy> strategy) {
+		strategies[seat] = strategy;
+		gamesPerTask = 1;
+	}
+
+
+	/**
+	 * Play a tournament from the command line.
+	 * @param args optional: the number of games (default 1,000,000), the base seed (default the current time), the accusation threshold (default 1.0),
+	 * the number of seats (default 2), a tile grid file to play on (see TileBoard, or "-" for the normal board), and a file to write
+	 * the metrics to (see Metrics). With a metrics file, a summary of where the time went is printed too.
+	 * Anywhere among them: -strategy name for the computer seat's strategy and -opponent name for every other seat's (see ComputerStrategy.NAMES,
+	 * both default basic), and -budget ms for how long IsmctsStrategy searches each move (default 5, on one thread, since the games already use every core).
+	 * @throws IOException if the tile grid file cannot be read or the metrics file cannot be written
+	 */
+	public static void main(String[] args) throws IOException {
+		String strategy = "basic";
+		String opponent = "basic";
+		long budgetNanos = 5_000_000L;
+		List<String> rest = new ArrayList<String>(); //The arguments that are not options, in order
+		for(int i = 0; i < args.length; i++) {
+			boolean hasValue = i + 1 < args.length;
+			if((args[i].equals("-strategy") || args[i].equals("-opponent")) && hasValue) {
+				String name = args[i + 1];
+				if(!ComputerStrategy.NAMES.contains(name)) {
+					printUsage("There is no strategy called " + name);
+					return;
+				}
+				if(args[i++].equals("-strategy")) {
+					strategy = name;
+				}else {
+					opponent = name;
+				}
+			}else if(args[i].equals("-budget") && hasValue) {
+				budgetNanos = (long) (Double.parseDouble(args[++i]) * 1_000_000L);
+			}else if(args[i].startsWith("-") && args[i].length() > 1 && !Character.isDigit(args[i].charAt(1))) {
+				printUsage("Unknown option " + args[i] + (hasValue ? "" : " (or it is missing its value)"));
+				return;
+			}else {
+				rest.add(args[i]);
+			}
+		}
+		args = rest.toArray(new String[0]);
+		long games = (args.length > 0) ? Long.parseLong(args[0]) : 1_000_000L;
+		long seed = (args.length > 1) ? Long.parseLong(args[1]) : System.nanoTime();
+
+		boolean tiles = args.length > 4 && !args[4].equals("-");
+		Tournament tournament = tiles ? new Tournament(seed, TileBoard.read(Path.of(args[4]), GameDefinition.classic().getRooms())) : new Tournament(seed);
+		if(args.length > 2) {
+			tournament.setAccusationThreshold(Double.parseDouble(args[2]));
+		}
+		if(args.length > 3) {
+			tournament.setSeats(Integer.parseInt(args[3]));
+		}
+		if(!strategy.equals("basic") || !opponent.equals("basic")) {
+			long budget = budgetNanos;
+			String computer = strategy;
+			String others = opponent;
+			tournament.setStrategy(ClueEngine.COMPUTER, () -> strategyNamed(computer, budget));
+			for(int seat = 0; seat < GameData.MAX_SEATS; seat++) {
+				if(seat != ClueEngine.COMPUTER) {
+					tournament.setStrategy(seat, () -> strategyNamed(others, budget));
+				}
+			}
+			System.out.println(strategy + " (computer seat) against " + opponent + " (every other seat)");
+		}
+		Metrics metrics = (args.length > 5) ? new Metrics() : null;
+		tournament.setMetrics(metrics);
+		System.out.println("Playing " + games + " games on " + ForkJoinPool.commonPool().getParallelism() + " worker threads (seed " + seed + ")...");
+		long start = System.nanoTime();
+		TournamentResult result = tournament.run(games);
+		double seconds = (System.nanoTime() - start) / 1e9;
+		result.printResults(seconds);
+		if(metrics != null) {
+			metrics.printSummary(System.out);
+			metrics.writeText(Path.of(args[5]));
+		}
+	}
+
+
+	/**
+	 * @param name the name of a strategy (see ComputerStrategy.named)
+	 * @param budgetNanos how long IsmctsStrategy searches each move
+	 * @return the strategy, with IsmctsStrategy searching on one thread
+	 */
+	private static ComputerStrategy strategyNamed(String name, long budgetNanos) {
+		return name.equals("ismcts") ? new IsmctsStrategy(budgetNanos, 1) : ComputerStrategy.named(name);
+	}
+
+
+	/**
+	 * @param problem what was wrong with the arguments
+	 */
+	private static void printUsage(String problem) {
+		System.out.println(problem);
+		System.out.println("Usage: java Tournament [games] [seed] [accusation threshold] [seats] [tile grid file or -] [metrics file]"
+				+ " [-strategy name] [-opponent name] [-budget ms], where a name is " + String.join(" | ", ComputerStrategy.NAMES));
+	}
+
+
+	/**
+	 * Play a number of games, split up across every core.
+	 * @param games the number of games to play
+	 * @return the combined results of all of the games
+	 */
+	public TournamentResult run(long games) {
+		if(seats < 2 || seats > GameData.MAX_SEATS) {
+			throw new IllegalArgumentException("A game needs 2 to " + GameData.MAX_SEATS + " seats");
+		}
+		return ForkJoinPool.commonPool().invoke(new GameRange(0, games));
+	}
+
+
+	/**
+	 * Play one game from start to finish and add it to a result. The seats still in the game take turns clockwise, and game number i lets
+	 * seat i % seats go first, so each seat goes first equally often and the seat advantage can be measured.
+	 * @param gameNum the number of the game (decides its seed and which seat goes first)
+	 * @param result the results to add the game to
+	 */
+	public void playGame(long gameNum, TournamentResult result) {
+		GameListener listener = (gameLog == null) ? new GameListener() {} : gameLog.newRecorder();
+		ClueEngine engine = new ClueEngine(new GameData(GameDefinition.classic(), seats, new SplittableRandom(baseSeed + gameNum)), board, listener);
+		engine.setAccusationThreshold(accusationThreshold);
+		engine.setMetrics(metrics);
+		for(int s = 0; s < seats; s++) {
+			if(strategies[s] != null) {
+				engine.setStrategy(s, (ComputerStrategy) strategies[s].get());
+			}
+		}
+		int firstSeat = (int) (gameNum % seats);
+		int seat = firstSeat;
+		int turns = 0;
+		while(!engine.isGameOver() && turns < MAX_TURNS) {
+			engine.playAutoTurn(seat);
+			turns++;
+			seat = engine.nextActiveSeat(seat);
+		}
+		if(metrics != null && engine.isGameOver()) {
+			metrics.gameFinished(turns);
+		}
+		engine.stopGame(); //If the game hit the turn limit without an accusation, nobody wins
+		result.addGame(engine.getWinner(), firstSeat, turns, engine.wasLastAccusationCorrect());
+	}
+
+
+	/**
+	 * A range of game numbers that splits itself in half until it is small enough to play on one thread.
+	 */
+	private class GameRange extends RecursiveTask<TournamentResult> {
+
+		private static final long serialVersionUID = 1L; //RecursiveTask is Serializable, but ranges are never written out
+		private final long from; //First game number (included)
+		private final long to; //Last game number (not included)
+
+		/**
+		 * Constructor
+		 * @param from the first game number in the range
+		 * @param to one past the last game number in the range
+		 */
+		GameRange(long from, long to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		/**
+		 * Play the games in the range, or split it in half and play both halves at the same time.
+		 * @return the results of the games in the range
+		 */
+		@Override
+		protected TournamentResult compute() {
+			if(to - from <= gamesPerTask) {
+				TournamentResult result = new TournamentResult(seats);
+				for(long gameNum = from; gameNum < to; gameNum++) {
+					playGame(gameNum, result);
+				}
+				return result;
+			}
+			long middle = (from + to) >>> 1;
+			GameRange secondHalf = new GameRange(middle, to);
+			secondHalf.fork(); //Another thread can pick up the second half
+			TournamentResult result = new GameRange(from, middle).compute();
+			return result.merge(secondHalf.join());
+		}
+	}
+
+}
@@ -0,0 +1,41 @@
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * This class checks that every game of a tournament ends with an accusation, on the normal board and on a tile board, with the fewest and the most seats.
+ * A game that hits Tournament.MAX_TURNS means some seat got stuck (for example a computer that never moves toward the rooms it still needs to see).
+ * It prints the results of each tournament and exits with status 1 if any game was unfinished, so it can be run after a change to a strategy or a board.
+ * Run it with: java TournamentCheck [games] [tile board file]
+ * @author Maddie Moyer
+ */
+public class TournamentCheck {
+
+	/**
+	 * Run the check.
+	 * @param args optional: the number of games in each tournament (default 20,000) and the tile board file (default classic-tiles.txt)
+	 * @throws IOException if the tile board cannot be read
+	 */
+	public static void main(String[] args) throws IOException {
+		long games = (args.length > 0) ? Long.parseLong(args[0]) : 20_000L;
+		Path tiles = Path.of((args.length > 1) ? args[1] : "classic-tiles.txt");
+
+		long unfinished = 0;
+		for(boolean tileBoard : new boolean[] {false, true}) {
+			for(int seats : new int[] {2, GameData.MAX_SEATS}) {
+				Tournament tournament = tileBoard ? new Tournament(1L, TileBoard.read(tiles, GameDefinition.classic().getRooms())) : new Tournament(1L);
+				tournament.setSeats(seats);
+				System.out.println((tileBoard ? "Tile board" : "Normal board") + ", " + seats + " seats:");
+				long start = System.nanoTime();
+				TournamentResult result = tournament.run(games);
+				result.printResults((System.nanoTime() - start) / 1e9);
+				unfinished += result.getUnfinished();
+			}
+		}
+		if(unfinished > 0) {
+			System.out.println("FAILED: " + unfinished + " games were unfinished");
+			System.exit(1);
+		}
+		System.out.println("OK: every game ended with an accusation");
+	}
+
+}
@@ -0,0 +1,162 @@
+/**
+ * This class adds up the results of many computer-vs-computer games of Clue played by a Tournament.
+ * Each thread fills in its own TournamentResult, and they are combined with merge() at the end.
+ * @author Maddie Moyer
+ */
+public class TournamentResult {
+
+	private long games; //Number of games played
+	private long[] winsBySeat; //Number of games won by each seat
+	private long firstSeatWins; //Number of games won by the seat that took the first turn
+	private long correctAccusations; //Number of games that ended with a correct accusation
+	private long unfinished; //Number of games that hit the turn limit without an accusation
+	private long totalTurns; //Turns played in all of the finished games added together
+
+
+	/**
+	 * Constructor. Adds up two-seat games.
+	 */
+	public TournamentResult() {
+		this(2);
+	}
+
+
+	/**
+	 * Constructor
+	 * @param seats the number of seats in each game
+	 */
+	public TournamentResult(int seats) {
+		this.winsBySeat = new long[seats];
+	}
+
+
+	//Getters
+
+	/**
+	 * @return the number of games played
+	 */
+	public long getGames() {
+		return games;
+	}
+
+	/**
+	 * @param seat a seat
+	 * @return the number of games that seat won
+	 */
+	public long getWins(int seat) {
+		return winsBySeat[seat];
+	}
+
+	/**
+	 * @return the number of games that hit the turn limit without an accusation
+	 */
+	public long getUnfinished() {
+		return unfinished;
+	}
+
+
+	//Methods
+
+	/**
+	 * Add one finished (or unfinished) game to the results.
+	 * @param winner the seat that won, or -1 if nobody accused before the turn limit
+	 * @param firstSeat the seat that took the first turn
+	 * @param turns the number of turns played (every seat's turns counted)
+	 * @param correct true if the game ended with a correct accusation
+	 */
+	public void addGame(int winner, int firstSeat, int turns, boolean correct) {
+		games++;
+		if(winner == -1) {
+			unfinished++;
+			return;
+		}
+		winsBySeat[winner]++;
+		if(winner == firstSeat) {
+			firstSeatWins++;
+		}
+		if(correct) {
+			correctAccusations++;
+		}
+		totalTurns += turns;
+	}
+
+
+	/**
+	 * Add another TournamentResult's games to this one.
+	 * @param other the results to add
+	 * @return this TournamentResult
+	 */
+	public TournamentResult merge(TournamentResult other) {
+		games += other.games;
+		for(int seat = 0; seat < winsBySeat.length; seat++) {
+			winsBySeat[seat] += other.winsBySeat[seat];
+		}
+		firstSeatWins += other.firstSeatWins;
+		correctAccusations += other.correctAccusations;
+		unfinished += other.unfinished;
+		totalTurns += other.totalTurns;
+		return this;
+	}
+
+
+	/**
+	 * @param seat a seat
+	 * @return the fraction of all games that seat won
+	 */
+	public double winRate(int seat) {
+		return (games == 0) ? 0 : (double) winsBySeat[seat] / games;
+	}
+
+
+	/**
+	 * @return how much more often the seat that went first won than each of the other seats did on average (0 means going first is no advantage)
+	 */
+	public double seatAdvantage() {
+		long finished = games - unfinished;
+		if(finished == 0) {
+			return 0;
+		}
+		return (double) firstSeatWins / finished - (double) (finished - firstSeatWins) / finished / (winsBySeat.length - 1);
+	}
+
+
+	/**
+	 * @return the average number of turns (every seat's turns counted) before the game ended
+	 */
+	public double averageTurnsToAccusation() {
+		long finished = games - unfinished;
+		return (finished == 0) ? 0 : (double) totalTurns / finished;
+	}
+
+
+	/**
+	 * @return the fraction of finished games that ended with a correct accusation
+	 */
+	public double correctAccusationRate() {
+		long finished = games - unfinished;
+		return (finished == 0) ? 0 : (double) correctAccusations / finished;
+	}
+
+
+	/**
+	 * Print out the results.
+	 * @param seconds how long the games took to play, used to work out games per second
+	 */
+	public void printResults(double seconds) {
+		System.out.println("Games played:            " + games);
+		if(winsBySeat.length == 2) {
+			System.out.printf("Player seat win rate:    %.4f%n", winRate(ClueEngine.PLAYER));
+			System.out.printf("Computer seat win rate:  %.4f%n", winRate(ClueEngine.COMPUTER));
+		}else {
+			for(int seat = 0; seat < winsBySeat.length; seat++) {
+				System.out.printf("Seat %d win rate:         %.4f%n", seat, winRate(seat));
+			}
+		}
+		System.out.printf("First seat advantage:    %+.4f%n", seatAdvantage());
+		System.out.printf("Correct accusations:     %.4f%n", correctAccusationRate());
+		System.out.printf("Avg turns to accusation: %.3f%n", averageTurnsToAccusation());
+		System.out.println("Unfinished games:        " + unfinished);
+		System.out.printf("Time: %.3f s  (%.0f games/s)%n", seconds, games / seconds);
+	}
+
+}
@@ -4,7 +4,7 @@
  */
 public class Weapon {
 
-	private String name;
+	private final String name; //Never changes, so the same Weapon can be shared by many games
 
 	/**
 	 * Constructor
@@ -15,7 +15,7 @@ public class Weapon {
 	}
 
 	
-	//Getter and Setter
+	//Getter
 	
 	/**
 	 * @return the name
@@ -23,13 +23,6 @@ public class Weapon {
 	public String getName() {
 		return name;
 	}
-
-	/**
-	 * @param name the name to set
-	 */
-	public void setName(String name) {
-		this.name = name;
-	}
 	
     
 	//Methods
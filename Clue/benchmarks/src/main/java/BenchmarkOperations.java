@@ -0,0 +1,178 @@
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import benchmarks.Operation;
+
+/**
+ * The operations that benchmarks.GameBenchmarks measures. This class is in the default package so it can use the game's classes, which the
+ * benchmarks themselves cannot (see benchmarks.Operation). Rooms and rolls are picked at random from the game's own rooms, so a definition
+ * with more rooms is measured the same way.
+ * @author Maddie Moyer
+ */
+public class BenchmarkOperations implements Function<String, Operation> {
+
+	private static final int MAX_STOP_TURN = 40; //Engines are stopped after a random number of turns up to this
+
+	private final Room[] rooms = GameDefinition.classic().getRooms();
+	private final Board board = new Board(GameDefinition.classic());
+
+
+	/**
+	 * @param name the name of an operation
+	 * @return the operation
+	 * @throws IllegalArgumentException if there is no operation with that name
+	 */
+	@Override
+	public Operation apply(String name) {
+		switch(name) {
+			case "Board.new":
+				return operation(random -> GameDefinition.classic(), definition -> new Board(definition).getDistance(0, 1));
+			case "Board.getDistance(String)":
+				return operation(random -> new String[] {randomRoom(random).getName(), randomRoom(random).getName()},
+						pair -> board.getDistance(pair[0], pair[1]));
+			case "Board.getDistance(int)":
+				return operation(random -> new int[] {random.nextInt(rooms.length), random.nextInt(rooms.length)}, pair -> board.getDistance(pair[0], pair[1]));
+			case "Board.getReachableRooms":
+				return operation(random -> new int[] {random.nextInt(rooms.length), rollDice(random)}, pair -> board.getReachableRooms(pair[0], pair[1]));
+			case "GameData.new":
+				return operation(random -> new long[] {random.nextLong()}, seed -> new GameData(seed[0]).getPlayerHand().getWord(0));
+			case "GameData.findMark":
+				return operation(random -> new MarkState(new GameData(random.nextLong()), randomRoom(random).getName()),
+						state -> state.gameData.findMark(state.gameCard, state.name).length());
+			case "GameData.markCard":
+				return operation(random -> new MarkState(new GameData(random.nextLong()), randomRoom(random).getName()),
+						state -> {
+							state.gameData.markCard(state.gameCard, state.name);
+							return state.gameCard.length;
+						});
+			case "ClueEngine.isComputerReadyToAccuse":
+				return operation(random -> startedGame(random.nextLong(), random.nextInt(MAX_STOP_TURN + 1)), engine -> engine.isComputerReadyToAccuse().length);
+			case "ClueEngine.computerPossibleRoomsToMoveTo":
+				return operation(random -> new EngineState(startedGame(random.nextLong(), random.nextInt(MAX_STOP_TURN + 1)), rollDice(random)),
+						state -> state.engine.computerPossibleRoomsToMoveTo(state.diceRoll).length);
+			case "Full game":
+				return operation(random -> new long[] {random.nextLong()}, seed -> playGame(seed[0]));
+			default:
+				throw new IllegalArgumentException("No benchmark operation named " + name);
+		}
+	}
+
+
+	/**
+	 * @param <S> the kind of state the operation works on
+	 * @param setup makes a state
+	 * @param run the work to measure
+	 * @return the operation
+	 */
+	private static <S> Operation operation(Function<SplittableRandom, S> setup, ToLongFunction<S> run) {
+		return new Operation() {
+			@Override
+			public Object newState(SplittableRandom random) {
+				return setup.apply(random);
+			}
+
+			@Override
+			@SuppressWarnings("unchecked") //Every state was made by setup
+			public long run(Object state) {
+				return run.applyAsLong((S) state);
+			}
+		};
+	}
+
+
+	/**
+	 * @param random where to get random numbers
+	 * @return a random room of the game
+	 */
+	private Room randomRoom(SplittableRandom random) {
+		return rooms[random.nextInt(rooms.length)];
+	}
+
+
+	/**
+	 * @param random where to get random numbers
+	 * @return the total of two dice
+	 */
+	private static int rollDice(SplittableRandom random) {
+		return 2 + random.nextInt(6) + random.nextInt(6);
+	}
+
+
+	/**
+	 * Set up a computer-vs-computer game and play part of it.
+	 * @param seed the seed for the game
+	 * @param turns how many turns to play (fewer if the game ends first)
+	 * @return the engine, stopped after the turns
+	 */
+	private ClueEngine startedGame(long seed, int turns) {
+		ClueEngine engine = new ClueEngine(new GameData(seed), board, new GameListener() {});
+		int seat = ClueEngine.PLAYER;
+		for(int turn = 0; turn < turns && !engine.isGameOver(); turn++) {
+			engine.playAutoTurn(seat);
+			seat = ClueEngine.otherSeat(seat);
+		}
+		return engine;
+	}
+
+
+	/**
+	 * Play one computer-vs-computer game from start to finish.
+	 * @param seed the seed for the game
+	 * @return the number of turns the game took
+	 */
+	private long playGame(long seed) {
+		ClueEngine engine = new ClueEngine(new GameData(seed), board, new GameListener() {});
+		int seat = ClueEngine.PLAYER;
+		int turns = 0;
+		while(!engine.isGameOver() && turns < Tournament.MAX_TURNS) {
+			engine.playAutoTurn(seat);
+			seat = ClueEngine.otherSeat(seat);
+			turns++;
+		}
+		return turns;
+	}
+
+
+	/**
+	 * The state of a findMark or markCard call: a game, the computer's game card, and the name to look up or cross off.
+	 */
+	private static class MarkState {
+
+		private final GameData gameData;
+		private final String[][] gameCard;
+		private final String name;
+
+		/**
+		 * Constructor
+		 * @param gameData a newly dealt game
+		 * @param name the name to look up or cross off
+		 */
+		MarkState(GameData gameData, String name) {
+			this.gameData = gameData;
+			this.gameCard = gameData.getComputerGameCard();
+			this.name = name;
+		}
+	}
+
+
+	/**
+	 * The state of a computerPossibleRoomsToMoveTo call: a game part of the way through, and a dice roll.
+	 */
+	private static class EngineState {
+
+		private final ClueEngine engine;
+		private final int diceRoll;
+
+		/**
+		 * Constructor
+		 * @param engine a game part of the way through
+		 * @param diceRoll the dice roll
+		 */
+		EngineState(ClueEngine engine, int diceRoll) {
+			this.engine = engine;
+			this.diceRoll = diceRoll;
+		}
+	}
+
+}
@@ -0,0 +1,136 @@
+package benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks for the busiest parts of the game (see BenchmarkOperations for what each operation does). Each one reports throughput,
+ * and running with -prof gc adds how much each operation allocates.
+ * <ul>
+ * <li>readOnly is for operations that only read their state. They go through a pool of states made once per trial, so they do not keep
+ * asking about the same game (which the CPU would learn to predict). The engines in the pool are stopped at random points in different games.</li>
+ * <li>changesState is for operations that change their state (like markCard, which would have nothing left to cross off after a few calls).
+ * Every call gets a new state. The states for a batch of BATCH calls are made before each invocation, which JMH does not time, and the
+ * invocation counts as BATCH operations, so JMH's own timing around each invocation is spread over the whole batch. The gc profiler counts
+ * everything allocated during an iteration, so its bytes per operation here include making the new states too (readOnly with GameData.new
+ * shows how much that is).</li>
+ * </ul>
+ * Pick operations with -p operation=name (for readOnly) or -p changingOperation=name (for changesState).
+ * @author Maddie Moyer
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmarks {
+
+	public static final int POOL = 4096; //States in the pool of an operation that only reads them (a power of 2)
+	public static final int BATCH = 256; //Fresh states made before each invocation of an operation that changes them
+
+
+	/**
+	 * The pooled states of an operation that only reads them.
+	 */
+	@State(Scope.Thread)
+	public static class Pooled {
+
+		@Param({"Board.new", "Board.getDistance(String)", "Board.getDistance(int)", "Board.getReachableRooms", "GameData.new", "GameData.findMark",
+				"ClueEngine.isComputerReadyToAccuse", "ClueEngine.computerPossibleRoomsToMoveTo", "Full game"})
+		public String operation;
+
+		private Operation op;
+		private final Object[] states = new Object[POOL];
+		private int next;
+
+		/**
+		 * Make the pool of states.
+		 */
+		@Setup(Level.Trial)
+		public void setup() {
+			op = Operation.named(operation);
+			SplittableRandom random = new SplittableRandom(1L);
+			for(int i = 0; i < POOL; i++) {
+				states[i] = op.newState(random);
+			}
+		}
+	}
+
+
+	/**
+	 * The fresh states of an operation that changes them.
+	 */
+	@State(Scope.Thread)
+	public static class Fresh {
+
+		@Param({"GameData.markCard"})
+		public String changingOperation; //Named differently from Pooled.operation, so -p can pick one without the other
+
+		private Operation op;
+		private SplittableRandom random;
+		private final Object[] states = new Object[BATCH];
+
+		/**
+		 * Find the operation.
+		 */
+		@Setup(Level.Trial)
+		public void setup() {
+			op = Operation.named(changingOperation);
+			random = new SplittableRandom(1L);
+		}
+
+		/**
+		 * Make a new state for every call in the next batch.
+		 */
+		@Setup(Level.Invocation)
+		public void newBatch() {
+			for(int i = 0; i < BATCH; i++) {
+				states[i] = op.newState(random);
+			}
+		}
+	}
+
+
+	/**
+	 * Run an operation on the next state in the pool.
+	 * @param pooled the pool of states
+	 * @return the operation's result
+	 */
+	@Benchmark
+	public long readOnly(Pooled pooled) {
+		Object state = pooled.states[pooled.next];
+		pooled.next = (pooled.next + 1) & (POOL - 1);
+		return pooled.op.run(state);
+	}
+
+
+	/**
+	 * Run an operation once on every state of a fresh batch.
+	 * @param fresh the batch of new states
+	 * @return the total of the operation's results
+	 */
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public long changesState(Fresh fresh) {
+		long total = 0;
+		for(Object state : fresh.states) {
+			total += fresh.op.run(state);
+		}
+		return total;
+	}
+
+}
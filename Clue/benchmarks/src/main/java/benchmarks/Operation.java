@@ -0,0 +1,46 @@
+package benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * One operation of the game to benchmark, and how to make the state it works on.
+ * JMH does not allow benchmarks in the default package, and classes in a package cannot name classes in the default package, which is
+ * where the game is. So the operations are written in BenchmarkOperations (in the default package, next to the game) and the
+ * benchmarks in this package only see them through this interface. The class is looked up by name once, while the benchmark is set up,
+ * and never while it is timed.
+ * @author Maddie Moyer
+ */
+public interface Operation {
+
+	/**
+	 * Make a state for the operation to work on. This is never timed.
+	 * @param random where to get random numbers (rooms, rolls, seeds)
+	 * @return the state
+	 */
+	Object newState(SplittableRandom random);
+
+	/**
+	 * Run the operation once. This is what is timed.
+	 * @param state a state made by newState
+	 * @return a number that depends on the work, so the JIT compiler cannot skip it
+	 */
+	long run(Object state);
+
+
+	/**
+	 * @param name the name of an operation (see BenchmarkOperations)
+	 * @return the operation
+	 * @throws IllegalArgumentException if there is no operation with that name
+	 */
+	static Operation named(String name) {
+		try {
+			@SuppressWarnings("unchecked") //BenchmarkOperations is a Function<String, Operation>
+			Function<String, Operation> operations = (Function<String, Operation>) Class.forName("BenchmarkOperations").getDeclaredConstructor().newInstance();
+			return operations.apply(name);
+		}catch(ReflectiveOperationException e) {
+			throw new IllegalStateException("Could not load BenchmarkOperations", e);
+		}
+	}
+
+}
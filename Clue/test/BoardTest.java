@@ -0,0 +1,107 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the distances between rooms are the shortest paths through the corridors and secret passages (Board.shortestPaths, Floyd-Warshall),
+ * on a small made up board and on the classic board.
+ * @author Maddie Moyer
+ */
+public class BoardTest {
+
+	private static final int X = Board.NO_PATH; //No corridor
+
+
+	/**
+	 * On a line of four rooms (A-B-C-D) with a long corridor from A to D, going along the line is shorter.
+	 */
+	@Test
+	public void shortestPathsGoThroughOtherRooms() {
+		int[] distances = {
+				0, 2, X, 9,
+				2, 0, 3, X,
+				X, 3, 0, 1,
+				9, X, 1, 0};
+		Board.shortestPaths(distances, 4);
+		assertArrayEquals(new int[] {
+				0, 2, 5, 6,
+				2, 0, 3, 4,
+				5, 3, 0, 1,
+				6, 4, 1, 0}, distances);
+	}
+
+
+	/**
+	 * A secret passage (length 0) makes the rooms at both ends as far from everywhere as each other.
+	 */
+	@Test
+	public void passageJoinsTwoRooms() {
+		int[] distances = {
+				0, 0, X,
+				0, 0, 7,
+				X, 7, 0};
+		Board.shortestPaths(distances, 3);
+		assertEquals(7, distances[0 * 3 + 2]);
+		assertEquals(7, distances[2 * 3 + 0]);
+	}
+
+
+	/**
+	 * A room with no way in is turned down.
+	 */
+	@Test
+	public void unreachableRoomIsTurnedDown() {
+		int[] distances = {
+				0, 4, X,
+				4, 0, X,
+				X, X, 0};
+		assertThrows(IllegalArgumentException.class, () -> Board.shortestPaths(distances, 3));
+	}
+
+
+	/**
+	 * The classic board's passages (Garage-Kitchen and Bedroom-Living Room) are free, and the distances through them are shorter than the
+	 * corridors. Courtyard to Kitchen used to be its 8 space corridor, but going through the Garage it is 5.
+	 */
+	@Test
+	public void classicDistancesUseThePassages() {
+		Board board = new Board(GameDefinition.classic());
+		assertEquals(0, board.getDistance("Garage", "Kitchen"));
+		assertEquals(0, board.getDistance("Bedroom", "Living Room"));
+		assertEquals(5, board.getDistance("Courtyard", "Kitchen")); //Courtyard to Garage (5), then the passage
+		assertEquals(5, board.getDistance("Kitchen", "Courtyard"));
+		assertEquals(4, board.getDistance("Game Room", "Kitchen")); //Game Room to Garage (4), then the passage
+		assertEquals(5, board.getDistance("Courtyard", "Bedroom")); //Courtyard to Living Room (5), then the passage
+		assertEquals(3, board.getDistance("Bathroom", "Office")); //No shorter way than the corridor
+		assertEquals(4, board.getDistance("Kitchen", "Dining Room"));
+	}
+
+
+	/**
+	 * Every classic distance is the same both ways, no longer than going through any other room, and the same as the text definition gives.
+	 * @throws IOException if classic.txt cannot be read
+	 */
+	@Test
+	public void classicDistancesAreShortestPaths() throws IOException {
+		GameDefinition classic = GameDefinition.classic();
+		GameDefinition text = GameDefinition.parse(Paths.get("classic.txt"));
+		int rooms = classic.getRooms().length;
+		for(int i = 0; i < rooms; i++) {
+			assertEquals(0, classic.getDistance(i, i));
+			for(int j = 0; j < rooms; j++) {
+				assertEquals(classic.getDistance(i, j), classic.getDistance(j, i), i + " to " + j);
+				assertEquals(classic.getDistance(i, j), text.getDistance(i, j), i + " to " + j);
+				for(int k = 0; k < rooms; k++) {
+					assertTrue(classic.getDistance(i, j) <= classic.getDistance(i, k) + classic.getDistance(k, j), i + " to " + j + " through " + k);
+				}
+			}
+		}
+	}
+
+}
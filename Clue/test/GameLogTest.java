@@ -0,0 +1,111 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests that a game written to a GameLog replays (with GameLogReader) to exactly the game that was played: the same cards, rooms, game cards,
+ * knowledge, and result.
+ * @author Maddie Moyer
+ */
+public class GameLogTest {
+
+	private static final int GAMES = 200;
+
+	@TempDir
+	Path folder;
+
+
+	/**
+	 * Play games of two and three seats into a log, then replay every one and compare it with the game that was played.
+	 * @throws IOException if the log cannot be written or read
+	 */
+	@Test
+	public void replayedGamesMatchThePlayedGames() throws IOException {
+		Path file = folder.resolve("games.log");
+		Board board = new Board(GameDefinition.classic());
+		HashMap<Long, ClueEngine> played = new HashMap<Long, ClueEngine>();
+		try(GameLog log = new GameLog(file)) {
+			for(int game = 0; game < GAMES; game++) {
+				GameLog.Recorder recorder = log.newRecorder();
+				GameData gameData = new GameData(GameDefinition.classic(), 2 + game % 2, new SplittableRandom(game));
+				ClueEngine engine = new ClueEngine(gameData, board, recorder);
+				int seat = ClueEngine.PLAYER;
+				for(int turn = 0; turn < Tournament.MAX_TURNS && !engine.isGameOver(); turn++) {
+					engine.playAutoTurn(seat);
+					seat = engine.nextActiveSeat(seat);
+				}
+				assertTrue(engine.isGameOver());
+				played.put(recorder.getGameId(), engine);
+			}
+		}
+
+		GameLogReader reader = new GameLogReader(file);
+		assertEquals(GAMES, reader.getGameCount());
+		for(int i = 0; i < reader.getGameCount(); i++) {
+			long gameId = reader.getGameId(i);
+			assertSameGame(played.get(gameId), reader.replay(gameId, Integer.MAX_VALUE), "Game " + gameId);
+		}
+	}
+
+
+	/**
+	 * A game that is stopped before anybody accuses is still written out, without anybody having to flush it.
+	 * @throws IOException if the log cannot be written or read
+	 */
+	@Test
+	public void stoppedGameIsWrittenOut() throws IOException {
+		Path file = folder.resolve("stopped.log");
+		long gameId;
+		try(GameLog log = new GameLog(file)) {
+			GameLog.Recorder recorder = log.newRecorder();
+			gameId = recorder.getGameId();
+			ClueEngine engine = new ClueEngine(new GameData(5L), new Board(GameDefinition.classic()), recorder);
+			engine.playAutoTurn(ClueEngine.PLAYER);
+			engine.playAutoTurn(ClueEngine.COMPUTER);
+			engine.stopGame();
+			assertEquals(-1, engine.getWinner());
+		}
+		GameLogReader reader = new GameLogReader(file);
+		assertEquals(1, reader.getGameCount());
+		assertEquals(2, reader.getTurnCount(gameId));
+	}
+
+
+	/**
+	 * Check that a replayed game is the same as the game that was played.
+	 * @param expected the game that was played
+	 * @param actual the game replayed from the log
+	 * @param game which game it is, for the failure message
+	 */
+	private static void assertSameGame(ClueEngine expected, ClueEngine actual, String game) {
+		GameData expectedData = expected.getGameData();
+		GameData actualData = actual.getGameData();
+		assertEquals(expectedData.getMurderPerson().getName(), actualData.getMurderPerson().getName(), game);
+		assertEquals(expectedData.getMurderWeapon().getName(), actualData.getMurderWeapon().getName(), game);
+		assertEquals(expectedData.getMurderRoom().getName(), actualData.getMurderRoom().getName(), game);
+		assertEquals(expected.isGameOver(), actual.isGameOver(), game);
+		assertEquals(expected.getWinner(), actual.getWinner(), game);
+		assertEquals(expected.wasLastAccusationCorrect(), actual.wasLastAccusationCorrect(), game);
+		int seats = expectedData.getSeatCount();
+		assertEquals(seats, actualData.getSeatCount(), game);
+		for(int seat = 0; seat < seats; seat++) {
+			String where = game + ", seat " + seat;
+			assertEquals(expectedData.getHand(seat), actualData.getHand(seat), where);
+			assertEquals(expectedData.getLocation(seat).getName(), actualData.getLocation(seat).getName(), where);
+			assertEquals(expectedData.getGameCard(seat).getMarks(), actualData.getGameCard(seat).getMarks(), where);
+			assertEquals(expected.isEliminated(seat), actual.isEliminated(seat), where);
+			for(int holder = 0; holder <= seats; holder++) {
+				assertEquals(expected.getKnowledge(seat).getPossible(holder), actual.getKnowledge(seat).getPossible(holder), where + ", holder " + holder);
+				assertEquals(expected.getKnowledge(seat).getKnown(holder), actual.getKnowledge(seat).getKnown(holder), where + ", holder " + holder);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,135 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that a game saved with GameSnapshot comes back exactly as it was: cards, rooms, game cards, knowledge (open constraints too),
+ * opponent models, strategies, and how the game stands.
+ * @author Maddie Moyer
+ */
+public class GameSnapshotTest {
+
+	private static final Board BOARD = new Board(GameDefinition.classic());
+	private static final int SEED_START = 32; //Where the seed is in a snapshot. A new seed is drawn every time one is written.
+	private static final int SEED_END = 40;
+
+
+	/**
+	 * Games saved part way through (and at the end) are restored as they were, and saving a restored game gives the same snapshot.
+	 */
+	@Test
+	public void restoredGamesMatchTheSavedGames() {
+		for(int game = 0; game < 100; game++) {
+			int seats = 2 + game % 3;
+			ClueEngine engine = new ClueEngine(new GameData(GameDefinition.classic(), seats, new SplittableRandom(game)), BOARD, new GameListener() {});
+			engine.setAccusationThreshold(0.9);
+			int stopAt = game % 12; //Some games are saved part way through, the rest once they are over
+			int seat = ClueEngine.PLAYER;
+			for(int turn = 0; turn < Tournament.MAX_TURNS && !engine.isGameOver() && (game < 50 || turn < stopAt); turn++) {
+				engine.playAutoTurn(seat);
+				seat = engine.nextActiveSeat(seat);
+			}
+			engine.setStrategy(ClueEngine.COMPUTER, new IsmctsStrategy(7_000_000L, 2));
+
+			ByteBuffer saved = ByteBuffer.allocate(GameSnapshot.size(engine));
+			GameSnapshot.write(engine, game, saved);
+			assertEquals(saved.capacity(), saved.position());
+			saved.flip();
+			assertEquals(game, GameSnapshot.turnOf(saved));
+			ClueEngine restored = GameSnapshot.restore(saved, BOARD, new GameListener() {});
+			assertEquals(saved.limit(), saved.position());
+			assertSameGame(engine, restored, "Game " + game);
+
+			ByteBuffer again = ByteBuffer.allocate(GameSnapshot.size(restored));
+			GameSnapshot.write(restored, game, again);
+			assertEquals(saved.capacity(), again.capacity(), "Game " + game);
+			for(int i = 0; i < saved.capacity(); i++) {
+				if(i < SEED_START || i >= SEED_END) {
+					assertEquals(saved.get(i), again.get(i), "Game " + game + ", byte " + i);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * A console game comes back at the turn it was saved at.
+	 */
+	@Test
+	public void restoredClueKeepsItsTurn() {
+		ClueEngine engine = new ClueEngine(new GameData(3L), BOARD, new GameListener() {});
+		engine.playAutoTurn(ClueEngine.PLAYER);
+		engine.playAutoTurn(ClueEngine.COMPUTER);
+		Clue clue = new Clue(engine, System.out);
+		clue.setTurn(1);
+		Clue restored = GameSnapshot.restoreClue(GameSnapshot.snapshot(clue), BOARD, System.out);
+		assertEquals(1, restored.getTurn());
+		assertSameGame(engine, restored.getEngine(), "Clue");
+	}
+
+
+	/**
+	 * Check that a restored game is the same as the game that was saved.
+	 * @param expected the game that was saved
+	 * @param actual the restored game
+	 * @param game which game it is, for the failure message
+	 */
+	private static void assertSameGame(ClueEngine expected, ClueEngine actual, String game) {
+		GameData expectedData = expected.getGameData();
+		GameData actualData = actual.getGameData();
+		assertEquals(expectedData.getMurderPerson().getName(), actualData.getMurderPerson().getName(), game);
+		assertEquals(expectedData.getMurderWeapon().getName(), actualData.getMurderWeapon().getName(), game);
+		assertEquals(expectedData.getMurderRoom().getName(), actualData.getMurderRoom().getName(), game);
+		assertEquals(expectedData.isComputerGuessedCorrectly(), actualData.isComputerGuessedCorrectly(), game);
+		assertEquals(expectedData.getDidComputerAccuse(), actualData.getDidComputerAccuse(), game);
+		assertEquals(expected.isGameOver(), actual.isGameOver(), game);
+		assertEquals(expected.getWinner(), actual.getWinner(), game);
+		assertEquals(expected.wasLastAccusationCorrect(), actual.wasLastAccusationCorrect(), game);
+		assertEquals(expected.getAccusationThreshold(), actual.getAccusationThreshold(), game);
+
+		int seats = expectedData.getSeatCount();
+		int cards = expectedData.getRegistry().getCardCount();
+		assertEquals(seats, actualData.getSeatCount(), game);
+		for(int seat = 0; seat < seats; seat++) {
+			String where = game + ", seat " + seat;
+			assertEquals(expectedData.getHand(seat), actualData.getHand(seat), where);
+			assertEquals(expectedData.getLocation(seat).getName(), actualData.getLocation(seat).getName(), where);
+			assertEquals(expectedData.getGameCard(seat).getMarks(), actualData.getGameCard(seat).getMarks(), where);
+			assertEquals(expected.isEliminated(seat), actual.isEliminated(seat), where);
+
+			ComputerStrategy strategy = expected.getStrategy(seat);
+			if(strategy instanceof IsmctsStrategy) {
+				assertTrue(actual.getStrategy(seat) instanceof IsmctsStrategy, where);
+				assertEquals(((IsmctsStrategy) strategy).getBudgetNanos(), ((IsmctsStrategy) actual.getStrategy(seat)).getBudgetNanos(), where);
+				assertEquals(((IsmctsStrategy) strategy).getThreads(), ((IsmctsStrategy) actual.getStrategy(seat)).getThreads(), where);
+			}else {
+				assertSame(strategy, actual.getStrategy(seat), where);
+			}
+
+			KnowledgeMatrix expectedKnowledge = expected.getKnowledge(seat);
+			KnowledgeMatrix actualKnowledge = actual.getKnowledge(seat);
+			for(int holder = 0; holder <= seats; holder++) {
+				assertEquals(expectedKnowledge.getPossible(holder), actualKnowledge.getPossible(holder), where + ", holder " + holder);
+				assertEquals(expectedKnowledge.getKnown(holder), actualKnowledge.getKnown(holder), where + ", holder " + holder);
+			}
+			assertEquals(expectedKnowledge.getOneOfCount(), actualKnowledge.getOneOfCount(), where);
+			for(int i = 0; i < expectedKnowledge.getOneOfCount(); i++) {
+				assertEquals(expectedKnowledge.getOneOfHolder(i), actualKnowledge.getOneOfHolder(i), where + ", constraint " + i);
+				assertEquals(expectedKnowledge.getOneOfCards(i), actualKnowledge.getOneOfCards(i), where + ", constraint " + i);
+			}
+
+			for(int other = 0; other < seats; other++) {
+				for(int card = 0; card < cards; card++) {
+					assertEquals(expected.getOpponentModel(seat).getLogOdds(other, card), actual.getOpponentModel(seat).getLogOdds(other, card),
+							where + ", model of seat " + other + ", card " + card);
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,125 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that KnowledgeMatrix works out everything that follows from what a seat learns. The games are classic Clue with two seats of 9 cards:
+ * people are card IDs 0 to 5, weapons 6 to 11, and rooms 12 to 20. Seat 0 (whose knowledge it is) has SEAT_0_HAND, so the other 12 cards are
+ * split between seat 1 (9 cards) and the envelope (3 cards).
+ * @author Maddie Moyer
+ */
+public class KnowledgeMatrixTest {
+
+	private static final int[] SEAT_0_HAND = {1, 2, 7, 8, 13, 14, 15, 16, 17};
+	private static final int CARDS = 21;
+
+	private KnowledgeMatrix knowledge;
+
+
+	/**
+	 * Start every test with only seat 0's own hand known.
+	 */
+	@BeforeEach
+	public void setUp() {
+		CardRegistry registry = GameDefinition.classic().getRegistry();
+		knowledge = new KnowledgeMatrix(registry, new int[] {9, 9}, 0, CardSet.of(CARDS, SEAT_0_HAND));
+	}
+
+
+	/**
+	 * A seat knows its own cards, and nobody else can have them.
+	 */
+	@Test
+	public void ownHandIsKnownAndRuledOutForEveryoneElse() {
+		assertEquals(CardSet.of(CARDS, SEAT_0_HAND), knowledge.getKnown(0));
+		assertEquals(CardSet.of(CARDS, SEAT_0_HAND), knowledge.getPossible(0)); //Its whole hand is known, so it has nothing else
+		for(int card : SEAT_0_HAND) {
+			assertFalse(knowledge.getPossible(1).contains(card));
+			assertFalse(knowledge.getPossible(knowledge.getEnvelope()).contains(card));
+		}
+	}
+
+
+	/**
+	 * A card seen in one hand is not in any other.
+	 */
+	@Test
+	public void shownCardIsRuledOutForOtherHolders() {
+		knowledge.holds(1, 0);
+		assertTrue(knowledge.getKnown(1).contains(0));
+		assertFalse(knowledge.getPossible(knowledge.getEnvelope()).contains(0));
+		assertEquals(3, knowledge.possibleEnvelopePeopleCount()); //People 3, 4, and 5 are left
+	}
+
+
+	/**
+	 * A card that only one holder could have is with that holder.
+	 */
+	@Test
+	public void cardOnlyOneHolderCouldHaveIsWithThatHolder() {
+		knowledge.doesNotHold(1, CardSet.of(CARDS, 0));
+		assertTrue(knowledge.getEnvelopeCards().contains(0)); //Seat 0's hand is full, so only the envelope is left
+	}
+
+
+	/**
+	 * Once the other seats hold every person but one, that person is in the envelope.
+	 */
+	@Test
+	public void lastPossiblePersonIsInTheEnvelope() {
+		knowledge.holds(1, 3);
+		knowledge.holds(1, 4);
+		knowledge.holds(1, 5);
+		assertEquals(1, knowledge.possibleEnvelopePeopleCount());
+		assertTrue(knowledge.getEnvelopeCards().contains(0));
+	}
+
+
+	/**
+	 * Once seat 1's whole hand is known, the three cards left over are the murder details.
+	 */
+	@Test
+	public void fullHandsSolveTheEnvelope() {
+		for(int card : new int[] {3, 4, 5, 9, 10, 11, 18, 19, 20}) {
+			knowledge.holds(1, card);
+		}
+		assertTrue(knowledge.isEnvelopeSolved());
+		assertEquals(CardSet.of(CARDS, 0, 6, 12), knowledge.getEnvelopeCards());
+		assertEquals(CardSet.of(CARDS, 3, 4, 5, 9, 10, 11, 18, 19, 20), knowledge.getPossible(1));
+	}
+
+
+	/**
+	 * "Has one of these cards" turns into "has this card" once the others are ruled out, and the constraint is closed.
+	 */
+	@Test
+	public void oneOfConstraintResolvesToTheLastPossibleCard() {
+		knowledge.holdsOneOf(1, CardSet.of(CARDS, 0, 6, 12));
+		assertEquals(1, knowledge.getOneOfCount());
+		assertFalse(knowledge.getKnown(1).contains(12));
+
+		knowledge.doesNotHold(1, CardSet.of(CARDS, 0, 6));
+		assertTrue(knowledge.getKnown(1).contains(12));
+		assertFalse(knowledge.getPossible(knowledge.getEnvelope()).contains(12));
+		assertEquals(0, knowledge.getOneOfCount());
+	}
+
+
+	/**
+	 * The version goes up when something is learned, and a copy learns on its own.
+	 */
+	@Test
+	public void copyLearnsWithoutChangingTheOriginal() {
+		int version = knowledge.getVersion();
+		KnowledgeMatrix copy = new KnowledgeMatrix(knowledge);
+		copy.holds(1, 0);
+		assertTrue(copy.getVersion() > version);
+		assertEquals(version, knowledge.getVersion());
+		assertFalse(knowledge.getKnown(1).contains(0));
+		assertTrue(knowledge.getPossible(knowledge.getEnvelope()).contains(0));
+	}
+
+}
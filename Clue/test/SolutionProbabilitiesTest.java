@@ -0,0 +1,113 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that SolutionProbabilities counts deals exactly, by checking its answers against random deals. The game is classic Clue with three
+ * seats of 6 cards (people are card IDs 0 to 5, weapons 6 to 11, rooms 12 to 20), seen by seat 0, which has learned a few things about
+ * the other seats. Deals are drawn at random, the ones that do not fit what seat 0 knows are thrown away, and how often each solution
+ * comes up in the rest should match its exact probability.
+ * @author Maddie Moyer
+ */
+public class SolutionProbabilitiesTest {
+
+	private static final int CARDS = 21;
+	private static final int[] SEAT_0_HAND = {0, 6, 12, 13, 14, 15};
+	private static final int[] UNKNOWN = {1, 2, 3, 4, 5, 7, 8, 9, 10, 11, 16, 17, 18, 19, 20}; //Everything seat 0 does not have
+	private static final long BUDGET_NANOS = 10_000_000_000L;
+	private static final int SAMPLES = 400_000;
+
+
+	/**
+	 * The exact probabilities match how often each solution comes up in random deals that fit what seat 0 knows.
+	 */
+	@Test
+	public void exactProbabilitiesMatchSampledDeals() {
+		CardRegistry registry = GameDefinition.classic().getRegistry();
+		KnowledgeMatrix knowledge = new KnowledgeMatrix(registry, new int[] {6, 6, 6}, 0, CardSet.of(CARDS, SEAT_0_HAND));
+		knowledge.holds(1, 1);
+		knowledge.doesNotHold(1, CardSet.of(CARDS, 9));
+		knowledge.doesNotHold(2, CardSet.of(CARDS, 2));
+		knowledge.holdsOneOf(2, CardSet.of(CARDS, 3, 8, 17));
+
+		SolutionProbabilities exact = SolutionProbabilities.compute(registry, knowledge, BUDGET_NANOS);
+		assertNotNull(exact);
+		assertTrue(exact.isExact());
+
+		double[] sampled = new double[6 * 6 * 9]; //Indexed like SolutionProbabilities: (person * 6 + weapon) * 9 + room
+		int fits = 0;
+		SplittableRandom random = new SplittableRandom(1);
+		int[] deck = UNKNOWN.clone();
+		for(int sample = 0; sample < SAMPLES; sample++) {
+			//Pick the envelope's person, weapon, and room from the unknown cards, then deal the other 12 to seats 1 and 2 (6 each)
+			int person = 1 + random.nextInt(5);
+			int weapon = 7 + random.nextInt(5);
+			int room = 16 + random.nextInt(5);
+			CardSet seat1 = new CardSet(CARDS);
+			CardSet seat2 = new CardSet(CARDS);
+			int dealt = 0;
+			for(int i = deck.length - 1; i > 0; i--) { //Shuffle (Fisher-Yates)
+				int j = random.nextInt(i + 1);
+				int swap = deck[i];
+				deck[i] = deck[j];
+				deck[j] = swap;
+			}
+			for(int card : deck) {
+				if(card != person && card != weapon && card != room) {
+					(dealt++ < 6 ? seat1 : seat2).add(card);
+				}
+			}
+			boolean fitsKnowledge = seat1.contains(1) && !seat1.contains(9) && !seat2.contains(2)
+					&& (seat2.contains(3) || seat2.contains(8) || seat2.contains(17));
+			if(fitsKnowledge) {
+				sampled[(person * 6 + (weapon - 6)) * 9 + (room - 12)]++;
+				fits++;
+			}
+		}
+		assertTrue(fits > SAMPLES / 20, "Too few deals fit to compare");
+
+		double total = 0;
+		for(int person = 0; person < 6; person++) {
+			for(int weapon = 0; weapon < 6; weapon++) {
+				for(int room = 0; room < 9; room++) {
+					double probability = exact.getSolutionProbability(person, weapon, room);
+					total += probability;
+					assertEquals(sampled[(person * 6 + weapon) * 9 + room] / fits, probability, 0.005,
+							"Solution " + person + ", " + weapon + ", " + room);
+				}
+			}
+		}
+		assertEquals(1.0, total, 1e-9);
+		assertEquals(0.0, exact.getCardProbability(1), 1e-12); //Seat 1 was seen to have person 1
+		assertEquals(0.0, exact.getCardProbability(0), 1e-12); //Seat 0's own card
+	}
+
+
+	/**
+	 * A seat with more unseen cards than fit in its count (MAX_CAP) is not counted at all, instead of giving wrong answers.
+	 */
+	@Test
+	public void tooManyUnseenCardsGivesNoAnswer() {
+		String[] people = new String[40];
+		String[] weapons = new String[40];
+		for(int i = 0; i < 40; i++) {
+			people[i] = "Person " + i;
+			weapons[i] = "Weapon " + i;
+		}
+		String[] rooms = {"Hall", "Study", "Library"};
+		int[][] distances = {{0, 4, 4}, {4, 0, 4}, {4, 4, 0}};
+		GameDefinition definition = new GameDefinition(people, weapons, rooms, distances);
+		CardRegistry registry = definition.getRegistry();
+		int cards = registry.getCardCount();
+		int handSize = (cards - 3) / 2; //40 cards each, more than MAX_CAP
+		assertTrue(handSize > SolutionProbabilities.MAX_CAP);
+		KnowledgeMatrix knowledge = new KnowledgeMatrix(registry, new int[] {handSize, handSize}, 0, CardSet.range(cards, 0, handSize));
+		assertNull(SolutionProbabilities.compute(registry, knowledge, BUDGET_NANOS));
+	}
+
+}